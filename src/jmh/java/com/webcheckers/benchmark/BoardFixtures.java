@@ -0,0 +1,173 @@
+package com.webcheckers.benchmark;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Position;
+import com.webcheckers.model.Turn;
+import com.webcheckers.util.LegalMoves;
+import com.webcheckers.util.MoveGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.webcheckers.model.Piece.PieceColor.RED;
+import static com.webcheckers.model.Piece.PieceColor.WHITE;
+
+/**
+ * Boards the benchmarks are measured on, each with the colour to move.
+ *
+ * <p>
+ * The opening is the starting board and the midgame is reached from it
+ * by playing legal turns, so both are positions a real game goes through.
+ * The endgame is mostly kings, which move in every direction, and the
+ * multi-jump position forces a capture chain that branches.
+ * </p>
+ */
+final class BoardFixtures {
+
+	// Names of the fixtures, as given to the @Param of the benchmarks.
+	static final String OPENING = "opening";
+	static final String MIDGAME = "midgame";
+	static final String KING_ENDGAME = "kingEndgame";
+	static final String MULTI_JUMP = "multiJump";
+
+	// Turns played from the opening to reach the midgame.
+	private static final int MIDGAME_TURNS = 16;
+
+	// Most turns played by a recorded game.
+	private static final int MAX_GAME_TURNS = 200;
+
+	private final Board board;
+	private final Piece.PieceColor toMove;
+
+
+	private BoardFixtures(Board board, Piece.PieceColor toMove) {
+		this.board = board;
+		this.toMove = toMove;
+	}
+
+
+	/**
+	 * Builds a fixture by name.
+	 * @param name One of the fixture names.
+	 * @return New fixture, its board not shared with any other.
+	 * @throws IllegalArgumentException If no fixture has the name.
+	 */
+	static BoardFixtures of(String name) {
+		switch (name) {
+			case OPENING:
+				return new BoardFixtures(new Board(), RED);
+			case MIDGAME:
+				return midgame();
+			case KING_ENDGAME:
+				return kingEndgame();
+			case MULTI_JUMP:
+				return multiJump();
+			default:
+				throw new IllegalArgumentException("Unknown board fixture: " + name);
+		}
+	}
+
+
+	Board getBoard() {
+		return board;
+	}
+
+
+	Piece.PieceColor getToMove() {
+		return toMove;
+	}
+
+
+	/**
+	 * Fetches the first move of the first legal turn of the colour to move.
+	 * @return Move, a jump whenever a capture is required.
+	 */
+	Move firstLegalMove() {
+		return MoveGenerator.generate(board, toMove).getTurn(0).get(0);
+	}
+
+
+	/**
+	 * Plays a whole game from the starting board, each side picking
+	 * its legal turns in a fixed pattern, until a side cannot move.
+	 * @return Turns of the game, in order.
+	 */
+	static List<Turn> recordedGame() {
+		List<Turn> turns = new ArrayList<>();
+		play(new Board(), MAX_GAME_TURNS, turns);
+		return turns;
+	}
+
+
+	private static BoardFixtures midgame() {
+		Board board = new Board();
+		int played = play(board, MIDGAME_TURNS, new ArrayList<>());
+		return new BoardFixtures(board, played % 2 == 0 ? RED : WHITE);
+	}
+
+
+	private static BoardFixtures kingEndgame() {
+		Board board = empty();
+		place(board, 1, 1, RED, true);
+		place(board, 4, 4, RED, true);
+		place(board, 6, 2, RED, true);
+		place(board, 2, 6, WHITE, true);
+		place(board, 7, 5, WHITE, true);
+		place(board, 0, 4, WHITE, false);
+		return new BoardFixtures(board, RED);
+	}
+
+
+	private static BoardFixtures multiJump() {
+		Board board = empty();
+		place(board, 2, 2, RED, false);
+		place(board, 0, 0, RED, false);
+		place(board, 6, 0, RED, false);
+		place(board, 3, 3, WHITE, false);
+		place(board, 3, 5, WHITE, false);
+		place(board, 5, 5, WHITE, false);
+		place(board, 7, 7, WHITE, false);
+		return new BoardFixtures(board, RED);
+	}
+
+
+	/**
+	 * Plays legal turns on a board, red first.
+	 * @return Number of turns played, fewer than asked if a side could not move.
+	 */
+	private static int play(Board board, int maxTurns, List<Turn> turns) {
+		for (int played = 0; played < maxTurns; played++) {
+			LegalMoves legalMoves = MoveGenerator.generate(board, played % 2 == 0 ? RED : WHITE);
+			if (legalMoves.size() == 0) {
+				return played;
+			}
+			Turn turn = new Turn();
+			for (Move move : legalMoves.getTurn((played * 7) % legalMoves.size())) {
+				turn.addMove(move);
+			}
+			board.playTurn(turn);
+			turns.add(turn);
+		}
+		return maxTurns;
+	}
+
+
+	private static Board empty() {
+		Board board = new Board();
+		for (int row = 0; row < 8; row++) {
+			for (int cell = 0; cell < 8; cell++) {
+				board.getPosition(new Position(cell, row)).moveFrom();
+			}
+		}
+		return board;
+	}
+
+
+	private static void place(Board board, int cell, int row, Piece.PieceColor color, boolean king) {
+		Piece piece = new Piece(color);
+		piece.setKing(king);
+		board.getPosition(new Position(cell, row)).moveTo(piece);
+	}
+}
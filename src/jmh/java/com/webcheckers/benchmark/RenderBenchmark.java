@@ -0,0 +1,77 @@
+package com.webcheckers.benchmark;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.BoardDraft;
+import com.webcheckers.model.Game;
+import com.webcheckers.model.Player;
+import com.webcheckers.ui.GameRoute;
+import com.webcheckers.util.GameRegistry;
+import com.webcheckers.util.GameSession;
+import com.webcheckers.view.BoardView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.webcheckers.model.Piece.PieceColor.RED;
+
+/**
+ * Throughput of rendering the board of a game page, on each board fixture.
+ *
+ * <p>
+ * The game page asks GameRoute.createBoardView for the board, which is
+ * fetched on the game's mailbox and rendered once until the board
+ * changes; renderBoardView measures the rendering itself, which every
+ * change of the board costs.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+	@Param({BoardFixtures.OPENING, BoardFixtures.MIDGAME, BoardFixtures.KING_ENDGAME, BoardFixtures.MULTI_JUMP})
+	public String position;
+
+	private Board board;
+	private GameSession gameSession;
+
+
+	@Setup
+	public void setUp() {
+		board = BoardFixtures.of(position).getBoard();
+
+		BoardDraft boardDraft = new BoardDraft();
+		boardDraft.getLive().copyFrom(board);
+		boardDraft.getDraft().copyFrom(board);
+		Game game = new Game(new Player("red"), new Player("white"));
+		gameSession = new GameRegistry().create("0", game, boardDraft);
+	}
+
+
+	/**
+	 * Fetches the board of the red player's page, as GameRoute does on every refresh.
+	 */
+	@Benchmark
+	public BoardView createBoardView() {
+		return GameRoute.createBoardView(RED, gameSession, true);
+	}
+
+
+	@Benchmark
+	public BoardView renderBoardView() {
+		return BoardView.of(board, true, true);
+	}
+}
@@ -0,0 +1,69 @@
+package com.webcheckers.benchmark;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Turn;
+import com.webcheckers.util.Replay;
+import com.webcheckers.util.ReplayRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of stepping through the replay of a whole game, one turn
+ * and the board after it at a time, as the replay page does.
+ *
+ * <p>
+ * A viewer usually steps through a record other viewers have already
+ * stepped through, whose boards are kept; the first viewer of a record
+ * plays every turn instead. Both are measured, starting over at the
+ * end of the game.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark {
+
+	private List<Turn> turns;
+	private Replay replay;
+	private Replay firstViewer;
+
+
+	@Setup
+	public void setUp() {
+		turns = BoardFixtures.recordedGame();
+		replay = new Replay(new ReplayRecord(turns));
+		firstViewer = new Replay(new ReplayRecord(turns));
+	}
+
+
+	@Benchmark
+	public Board takeTurnNext() {
+		if (!replay.takeTurnNext()) {
+			replay.resetReplay();
+		}
+		return replay.getBoard();
+	}
+
+
+	@Benchmark
+	public Board takeTurnNextFirstViewer() {
+		if (!firstViewer.takeTurnNext()) {
+			firstViewer = new Replay(new ReplayRecord(turns));
+		}
+		return firstViewer.getBoard();
+	}
+}
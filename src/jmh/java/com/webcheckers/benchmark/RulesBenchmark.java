@@ -0,0 +1,84 @@
+package com.webcheckers.benchmark;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Piece;
+import com.webcheckers.util.LegalMoves;
+import com.webcheckers.util.MoveGenerator;
+import com.webcheckers.util.MoveValidation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the rules engine and of the board operations every
+ * submitted move goes through, on each board fixture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RulesBenchmark {
+
+	@Param({BoardFixtures.OPENING, BoardFixtures.MIDGAME, BoardFixtures.KING_ENDGAME, BoardFixtures.MULTI_JUMP})
+	public String position;
+
+	private Board board;
+	// equal to the board, but a different object
+	private Board copy;
+	private Piece.PieceColor toMove;
+	private Move move;
+
+
+	@Setup
+	public void setUp() {
+		BoardFixtures fixture = BoardFixtures.of(position);
+		board = fixture.getBoard();
+		copy = BoardFixtures.of(position).getBoard();
+		toMove = fixture.getToMove();
+		move = fixture.firstLegalMove();
+	}
+
+
+	/**
+	 * Checks a move the player submits, as ValidateMoveRoute does.
+	 */
+	@Benchmark
+	public MoveValidation.MoveType determineMoveType() {
+		return MoveValidation.determineMoveType(board, move);
+	}
+
+
+	/**
+	 * Finds every legal turn of the colour to move, which is how the
+	 * server now answers whether a jump is available and where.
+	 */
+	@Benchmark
+	public LegalMoves generateLegalMoves() {
+		return MoveGenerator.generate(board, toMove);
+	}
+
+
+	@Benchmark
+	public Board copyAndRotateBoard() {
+		return board.copyAndRotateBoard();
+	}
+
+
+	@Benchmark
+	public boolean boardEquals() {
+		return board.equals(copy);
+	}
+}
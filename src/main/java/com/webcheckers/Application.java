@@ -1,12 +1,22 @@
 package com.webcheckers;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 
 import com.google.gson.Gson;
+import com.webcheckers.ui.CheckTurnRoute;
 import com.webcheckers.ui.WebServer;
+import com.webcheckers.util.GameJournal;
+import com.webcheckers.util.IdleSweeper;
+import com.webcheckers.util.ReplayArchive;
+import com.webcheckers.util.ReplayModule;
+import com.webcheckers.util.ReplayStore;
 
 import spark.TemplateEngine;
 import spark.template.freemarker.FreeMarkerEngine;
@@ -41,6 +51,35 @@ public final class Application {
   private static final String DEMO_MODE_PROPERTY = "demoMode";
   private static Boolean inDemoMode = null;
 
+  /**
+   * The directory games are journaled in, so that they survive a restart;
+   * games are only kept in memory if the 'journalDir' property is not set.
+   */
+  private static final String JOURNAL_DIR_PROPERTY = "journalDir";
+
+  /**
+   * The estimated bytes of memory the replays of finished games may take
+   * ('replayBudget') and the directory every replay is archived in
+   * ('replayDir'); the archive is temporary if the latter is not set.
+   */
+  private static final String REPLAY_BUDGET_PROPERTY = "replayBudget";
+  private static final String REPLAY_DIR_PROPERTY = "replayDir";
+
+  /**
+   * The minutes a game may go unplayed ('gameTtlMinutes') and a signed-in
+   * player may go unseen ('sessionTtlMinutes') before they are expired.
+   */
+  private static final String GAME_TTL_PROPERTY = "gameTtlMinutes";
+  private static final String SESSION_TTL_PROPERTY = "sessionTtlMinutes";
+
+  /**
+   * The threads of the embedded Jetty ('maxThreads') and how many of them
+   * /checkTurn long polls may hold at once ('maxLongPolls'); the latter
+   * defaults to a share of the former.
+   */
+  private static final String MAX_THREADS_PROPERTY = "maxThreads";
+  private static final String MAX_LONG_POLLS_PROPERTY = "maxLongPolls";
+
   /**
    * The explicit, private property lookup method.
    */
@@ -129,6 +168,41 @@ public final class Application {
   private void initialize() {
     LOG.config("WebCheckers is initializing.");
 
+    // keep the replays within their budget, reading the rest from the archive
+    final long replayBudget = Long.getLong(REPLAY_BUDGET_PROPERTY, ReplayStore.DEFAULT_BUDGET);
+    final String replayDir = System.getProperty(REPLAY_DIR_PROPERTY);
+    if (replayDir == null) {
+      ReplayModule.useStore(new ReplayStore(replayBudget));
+    } else {
+      try {
+        ReplayModule.useStore(new ReplayStore(replayBudget, ReplayArchive.open(Paths.get(replayDir))));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not open the replay archive in " + replayDir, e);
+      }
+    }
+
+    // restore the games of the last run before any request can arrive
+    final String journalDir = System.getProperty(JOURNAL_DIR_PROPERTY);
+    if (journalDir != null) {
+      try {
+        webServer.recover(GameJournal.open(Paths.get(journalDir), ReplayModule::isArchived));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not open the game journal in " + journalDir, e);
+      }
+    }
+
+    // end abandoned games and free the usernames of players who left
+    final Long gameTtl = Long.getLong(GAME_TTL_PROPERTY);
+    final Long sessionTtl = Long.getLong(SESSION_TTL_PROPERTY);
+    webServer.expireIdle(new IdleSweeper(WebServer.lobby,
+        gameTtl == null ? IdleSweeper.DEFAULT_GAME_TTL : TimeUnit.MINUTES.toMillis(gameTtl),
+        sessionTtl == null ? IdleSweeper.DEFAULT_SESSION_TTL : TimeUnit.MINUTES.toMillis(sessionTtl)));
+
+    // size the Jetty threads, keeping some free of long polls
+    final int maxThreads = Integer.getInteger(MAX_THREADS_PROPERTY, WebServer.DEFAULT_MAX_THREADS);
+    webServer.limitThreads(maxThreads,
+        Integer.getInteger(MAX_LONG_POLLS_PROPERTY, CheckTurnRoute.maxLongPollsFor(maxThreads)));
+
     // configure Spark and startup the Jetty web server
     webServer.initialize();
 
@@ -1,16 +1,57 @@
 package com.webcheckers.model;
 
+import java.util.Random;
+
 /**
  * This Class is to represent the board being played on by the two players.
  * The board has two different sets of pieces on different parts of the board
  * and the board being played on.
  *
+ * <p>
+ * Only the 32 dark spots of the board can ever hold a piece, so the board is
+ * stored as bitboards: one bit per dark spot in each of the red, white and
+ * king masks. Spot and Piece objects handed out by the board are views onto
+ * these masks rather than stored objects.
+ * </p>
+ *
  * @author <a href='mailto:cjn9414@rit.edu'>Carter Nesbitt</a>
  */
 public class Board {
 
-    //2D array representing the board
-    private Spot[][] board;
+    // Number of dark (playable) spots on the board.
+    public static final int SQUARES = 32;
+
+    // Masks of the spots holding the starting pieces for each color.
+    private static final int RED_START = 0x00000FFF;
+    private static final int WHITE_START = 0xFFF00000;
+
+    // bitboards of the red pieces, white pieces and kings of either color
+    private int red, white, kings;
+
+    // spots whose piece reached its final row since the flag was last read
+    private int newKings;
+
+    // true if the board is seen from the opposite side (see copyAndRotateBoard)
+    private boolean rotated;
+
+    // Zobrist keys: one random number per spot for each kind of piece
+    // (red single, red king, white single, white king), and one for the
+    // rotated orientation. Seeded so fingerprints are the same every run.
+    private static final long[] PIECE_KEYS = new long[SQUARES * 4];
+    private static final long ROTATED_KEY;
+    private static final long START_HASH;
+
+    static {
+        Random random = new Random(0x5EED_C0FFEEL);
+        for (int i = 0; i < PIECE_KEYS.length; i++) {
+            PIECE_KEYS[i] = random.nextLong();
+        }
+        ROTATED_KEY = random.nextLong();
+        START_HASH = hashOf(RED_START, WHITE_START, 0, false);
+    }
+
+    // Zobrist hash of the pieces on the board, kept up to date by every change
+    private long hash;
 
 
     /**
@@ -19,47 +60,74 @@ public class Board {
      * in control of the white pieces.
      */
     public Board(){
-        //set up board
-        board = new Spot[8][8];
-        // stores if the spot is a final spot for the red piece to reach to be king
-        boolean redsFinal;
-
-        // stores if the spot is a final spot for the white piece to reach to be king
-        boolean whitesFinal;
-        Spot.Color color;
-        Piece piece;
-        for(int row=0; row<board.length; row++){
-            redsFinal = false;
-            whitesFinal = false;
-            for(int col=0; col<board[0].length; col++){
-                if ((row+col)%2==1) {
-                    color = Spot.Color.LIGHT;
-                    piece = null;
-                }
-                else {
-                    color = Spot.Color.DARK;
-                    if (row<3){
-                        piece = new Piece(Piece.PieceColor.RED); //Red
-                    }
-                    else if (row>4){
-                        piece = new Piece(Piece.PieceColor.WHITE); //White
-                    }
-                    else {
-                        piece = null;
-                    }
-                }
+        this.red = RED_START;
+        this.white = WHITE_START;
+        this.kings = 0;
+        this.newKings = 0;
+        this.rotated = false;
+        this.hash = START_HASH;
+    }
 
 
-                // checks rows to see if they are the corresponding final rows
-                if (row == 7){
-                    redsFinal = true;
-                }
-                if (row == 0 ){
-                    whitesFinal = true;
-                }
-                board[col][row] = new Spot(color, piece, redsFinal ,whitesFinal);
-            }
+    /**
+     * Converts a cell and row into the index of a dark spot on the board.
+     * @param cell Cell (column) of the spot, 0 - 7.
+     * @param row Row of the spot, 0 - 7.
+     * @return Index (0 - 31) of the dark spot, or -1 if the spot is light
+     *         or not on the board.
+     */
+    public static int squareOf(int cell, int row) {
+        if (cell < 0 || cell > 7 || row < 0 || row > 7 || ((cell + row) & 1) != 0) {
+            return -1;
         }
+        return (row << 2) | (cell >> 1);
+    }
+
+
+    /**
+     * Converts a position into the index of a dark spot on the board.
+     * @param pos Position on the checkers board.
+     * @return Index (0 - 31) of the dark spot, or -1 if there is none.
+     */
+    public static int squareOf(Position pos) {
+        return squareOf(pos.getCell(), pos.getRow());
+    }
+
+
+    /**
+     * Fetches the row of a dark spot index.
+     * @param square Index (0 - 31) of a dark spot.
+     * @return Row of the spot.
+     */
+    public static int rowOf(int square) {
+        return square >> 2;
+    }
+
+
+    /**
+     * Fetches the cell of a dark spot index.
+     * @param square Index (0 - 31) of a dark spot.
+     * @return Cell of the spot within its row.
+     */
+    public static int cellOf(int square) {
+        return ((square & 3) << 1) | ((square >> 2) & 1);
+    }
+
+
+    /**
+     * Finds the spot jumped over by a move.
+     * @param move Move made by a piece.
+     * @return Index of the jumped spot, or -1 if the move is not a jump.
+     */
+    public static int jumpedSquare(Move move) {
+        int xStart = move.getStart().getCell();
+        int yStart = move.getStart().getRow();
+        int xEnd = move.getEnd().getCell();
+        int yEnd = move.getEnd().getRow();
+        if (Math.abs(xStart - xEnd) < 2 && Math.abs(yStart - yEnd) < 2) {
+            return -1;
+        }
+        return squareOf(xStart - (xStart - xEnd) / 2, yStart - (yStart - yEnd) / 2);
     }
 
 
@@ -69,29 +137,56 @@ public class Board {
      * @return Space object contained within the spot.
      */
     public Spot getPosition(Position pos){
-        return board[pos.getCell()][pos.getRow()];
+        return new Spot(this, pos.getCell(), pos.getRow());
     }
 
     /**
      * Fetches the piece contained at the provided row and column.
-     * Prerequisite: Piece exists at row and column specified.
      * @param pos Position in which the piece is contained.
-     * @return Piece contained within the row and column.
+     * @return Piece contained within the row and column, null if empty.
      */
     public Piece getPieceAt(Position pos) {
-        return board[pos.getCell()][pos.getRow()].getPiece();
+        return pieceAt(squareOf(pos));
     }
 
 
     /**
      * Fetches the color of the piece contained within a space.
-     * Prerequisite: A piece must exist within the spot.
      * @param pos Position in which the piece is contained.
-     * @return Color of the piece contained within the spot.
+     * @return Color of the piece contained within the spot,
+     *         null if the spot is empty.
      */
 
     public Piece.PieceColor getColorAt(Position pos) {
-        return getPieceAt(pos).getColor();
+        return colorAt(squareOf(pos));
+    }
+
+
+    /**
+     * Fetches the bitboard of all pieces of one color.
+     * @param color Color of the pieces.
+     * @return Mask with one bit set per occupied dark spot.
+     */
+    public int getPieces(Piece.PieceColor color) {
+        return color == Piece.PieceColor.RED ? red : white;
+    }
+
+
+    /**
+     * Fetches the bitboard of all king pieces of either color.
+     * @return Mask with one bit set per king.
+     */
+    public int getKings() {
+        return kings;
+    }
+
+
+    /**
+     * Fetches the bitboard of all occupied spots.
+     * @return Mask with one bit set per piece on the board.
+     */
+    public int getOccupied() {
+        return red | white;
     }
 
 
@@ -101,15 +196,51 @@ public class Board {
      *             that is currently being reverted.
      */
     public void updateBoard(Move move, boolean reverse){
-        int xStart, yStart, xEnd, yEnd;
+        int from, to;
         if (reverse) {
-           move = move.reverseMove();
+            from = squareOf(move.getEnd());
+            to = squareOf(move.getStart());
+        } else {
+            from = squareOf(move.getStart());
+            to = squareOf(move.getEnd());
+        }
+        if (from < 0 || to < 0) {
+            return;
+        }
+        Piece.PieceColor color = colorAt(from);
+        if (color != null && colorAt(to) == null) {
+            boolean king = (kings & (1 << from)) != 0;
+            clear(from);
+            place(to, color, king);
+        }
+    }
+
+
+    /**
+     * Removes the piece jumped over by a move, if the move is a jump.
+     * @param move Move object that may represent a jump.
+     * @return Piece that was removed, null if nothing was jumped.
+     */
+    public Piece removeJumpedPiece(Move move) {
+        return take(jumpedSquare(move));
+    }
+
+
+    /**
+     * Plays a committed turn forward: every move is made, the pieces
+     * jumped are removed and pieces reaching their final row are crowned.
+     * @param turn Turn of a game, as recorded for its replay.
+     */
+    public void playTurn(Turn turn) {
+        for (int i = 0; i < turn.getMoveCount(); i++) {
+            Move move = turn.getMove(i);
+            removeJumpedPiece(move);
+            updateBoard(move, false);
+            int end = squareOf(move.getEnd());
+            if (end >= 0 && takeNewKing(end)) {
+                setKing(end, colorAt(end), true);
+            }
         }
-        xStart = move.getStart().getCell();
-        yStart = move.getStart().getRow();
-        xEnd = move.getEnd().getCell();
-        yEnd = move.getEnd().getRow();
-        this.board[xEnd][yEnd].moveTo(this.board[xStart][yStart].moveFrom());
     }
 
   /**
@@ -126,17 +257,44 @@ public class Board {
 
 
     /**
-     * Copies the 2-dimensional Space array from one board
+     * Copies the bitboards from one board
      * model and instantiates it onto another.
+     * Spot i seen from the other side of the board is spot 31 - i,
+     * so a rotation is a bit reversal of every mask.
      * @param rotated: Board that is to have the rotated
      *                 referenced board instantiated onto it.
      */
     void reverseBoard(Board rotated) {
-        for (int row = 0; row < 8; row++) {
-            for (int col = 0; col < 8; col++) {
-                rotated.board[7 - col][7 - row] = this.board[col][row];
-            }
-        }
+        rotated.red = Integer.reverse(this.red);
+        rotated.white = Integer.reverse(this.white);
+        rotated.kings = Integer.reverse(this.kings);
+        rotated.newKings = Integer.reverse(this.newKings);
+        rotated.rotated = !this.rotated;
+        rotated.hash = hashOf(rotated.red, rotated.white, rotated.kings, rotated.rotated);
+    }
+
+
+    /**
+     * Overwrites this board with the contents of another board.
+     * @param other Board being copied.
+     */
+    public void copyFrom(Board other) {
+        this.red = other.red;
+        this.white = other.white;
+        this.kings = other.kings;
+        this.newKings = other.newKings;
+        this.rotated = other.rotated;
+        this.hash = other.hash;
+    }
+
+
+    /**
+     * Fetches the fingerprint of the board: a 64-bit Zobrist hash of every
+     * piece on it. Boards holding the same pieces have the same fingerprint.
+     * @return Hash of the board position.
+     */
+    public long getHash() {
+        return hash;
     }
 
 
@@ -147,7 +305,7 @@ public class Board {
      * @return Spot.Color object representing color of the spot.
      */
     public Spot.Color getSpotColorAt(Position pos) {
-        return board[pos.getCell()][pos.getRow()].getColor();
+        return ((pos.getCell() + pos.getRow()) & 1) == 0 ? Spot.Color.DARK : Spot.Color.LIGHT;
     }
 
 
@@ -157,11 +315,11 @@ public class Board {
     public void debugPrint() {
         for (int i = 7; i >= 0; i--) {
             for (int j = 0; j <= 7; j++) {
-                Piece piece = board[j][i].getPiece();
-                if (piece == null) {
+                Piece.PieceColor color = colorAt(squareOf(j, i));
+                if (color == null) {
                     System.out.print("[ ] ");
                 } else {
-                    System.out.print((piece.getColor() == Piece.PieceColor.RED) ? "[R] " : "[W] ");
+                    System.out.print((color == Piece.PieceColor.RED) ? "[R] " : "[W] ");
                 }
             }
             System.out.println();
@@ -176,25 +334,210 @@ public class Board {
 	 * 		   False otherwise.
 	 */
 	public boolean spotEmpty(Position position) {
-        Spot spot = board[position.getCell()][position.getRow()];
-        return spot.getPiece() == null;
+        int square = squareOf(position);
+        return square < 0 || ((red | white) & (1 << square)) == 0;
+    }
+
+
+    /**
+     * Determines if the piece on a spot has reached its final row
+     * since this was last asked, and clears the flag.
+     * @param square Index of the dark spot.
+     * @return True if the piece on the spot is newly eligible to be a king.
+     */
+    boolean takeNewKing(int square) {
+        int bit = 1 << square;
+        boolean isKing = (newKings & bit) != 0;
+        newKings &= ~bit;
+        return isKing;
+    }
+
+
+    /**
+     * Determines if a row is the final row for the pieces of a color,
+     * taking the orientation of the board into account.
+     * @param row Row of the board.
+     * @param color Color of the piece.
+     * @return True if the piece is kinged upon reaching the row.
+     */
+    boolean isFinalRow(int row, Piece.PieceColor color) {
+        int finalRow = (color == Piece.PieceColor.RED) ? 7 : 0;
+        return row == (rotated ? 7 - finalRow : finalRow);
+    }
+
+
+    /**
+     * Builds a Piece view for a spot, bound to this board so that
+     * setting the piece as a king updates the board.
+     * @param square Index of the dark spot, or -1.
+     * @return Piece on the spot, null if empty.
+     */
+    Piece pieceAt(int square) {
+        Piece.PieceColor color = colorAt(square);
+        if (color == null) {
+            return null;
+        }
+        return new Piece(color, (kings & (1 << square)) != 0, this, square);
+    }
+
+
+    /**
+     * Fetches the color of the piece on a spot.
+     * @param square Index of the dark spot, or -1.
+     * @return Color of the piece, null if the spot is empty.
+     */
+    Piece.PieceColor colorAt(int square) {
+        if (square < 0) {
+            return null;
+        }
+        int bit = 1 << square;
+        if ((red & bit) != 0) {
+            return Piece.PieceColor.RED;
+        } else if ((white & bit) != 0) {
+            return Piece.PieceColor.WHITE;
+        }
+        return null;
+    }
+
+
+    /**
+     * Removes the piece from a spot.
+     * @param square Index of the dark spot.
+     */
+    void clear(int square) {
+        Piece.PieceColor color = colorAt(square);
+        if (color != null) {
+            hash ^= keyOf(square, color, (kings & (1 << square)) != 0);
+        }
+        int mask = ~(1 << square);
+        red &= mask;
+        white &= mask;
+        kings &= mask;
+        newKings &= mask;
+    }
+
+
+    /**
+     * Places a piece on an empty spot and flags it if it has
+     * reached the final row for its color.
+     * @param square Index of the dark spot.
+     * @param color Color of the piece.
+     * @param king True if the piece is a king.
+     */
+    void place(int square, Piece.PieceColor color, boolean king) {
+        int bit = 1 << square;
+        if (color == Piece.PieceColor.RED) {
+            red |= bit;
+        } else {
+            white |= bit;
+        }
+        if (king) {
+            kings |= bit;
+        }
+        hash ^= keyOf(square, color, king);
+        if (isFinalRow(rowOf(square), color)) {
+            newKings |= bit;
+        }
+    }
+
+
+    /**
+     * Sets or clears the king status of the piece on a spot.
+     * @param square Index of the dark spot.
+     * @param color Color the piece is expected to have.
+     * @param king True to make the piece a king.
+     */
+    void setKing(int square, Piece.PieceColor color, boolean king) {
+        if (square < 0 || colorAt(square) != color ||
+                ((kings & (1 << square)) != 0) == king) {
+            return;
+        }
+        // swap the key of the single piece for the key of the king, or back
+        hash ^= keyOf(square, color, true) ^ keyOf(square, color, false);
+        if (king) {
+            kings |= 1 << square;
+        } else {
+            kings &= ~(1 << square);
+        }
+    }
+
+
+    /**
+     * Builds a Piece for a spot that is not bound to this board,
+     * used for pieces taken off the board.
+     * @param square Index of the dark spot.
+     * @return Piece on the spot, null if empty.
+     */
+    private Piece detachedPieceAt(int square) {
+        Piece.PieceColor color = colorAt(square);
+        if (color == null) {
+            return null;
+        }
+        Piece piece = new Piece(color);
+        piece.setKing((kings & (1 << square)) != 0);
+        return piece;
+    }
+
+
+    /**
+     * Removes and returns the piece on a spot.
+     * @param square Index of the dark spot, or -1.
+     * @return Piece that was on the spot, null if empty.
+     */
+    Piece take(int square) {
+        if (square < 0) {
+            return null;
+        }
+        Piece removed = detachedPieceAt(square);
+        if (removed != null) {
+            clear(square);
+        }
+        return removed;
+    }
+
+    /**
+     * Fetches the Zobrist key of a piece on a spot.
+     * @param square Index of the dark spot.
+     * @param color Color of the piece.
+     * @param king True if the piece is a king.
+     * @return Random key for the piece on the spot.
+     */
+    private static long keyOf(int square, Piece.PieceColor color, boolean king) {
+        int kind = (color == Piece.PieceColor.RED ? 0 : 2) + (king ? 1 : 0);
+        return PIECE_KEYS[square * 4 + kind];
+    }
+
+
+    /**
+     * Computes the Zobrist hash of a board from scratch.
+     * @return Hash of every piece and the orientation of the board.
+     */
+    private static long hashOf(int red, int white, int kings, boolean rotated) {
+        long hash = rotated ? ROTATED_KEY : 0L;
+        for (int pieces = red | white; pieces != 0; pieces &= pieces - 1) {
+            int square = Integer.numberOfTrailingZeros(pieces);
+            Piece.PieceColor color = (red & (1 << square)) != 0 ?
+                    Piece.PieceColor.RED : Piece.PieceColor.WHITE;
+            hash ^= keyOf(square, color, (kings & (1 << square)) != 0);
+        }
+        return hash;
     }
 
     @Override
     public boolean equals(Object obj) {
         if (obj instanceof Board) {
             Board board = (Board) obj;
-            for (int row = 0; row < 8; row++) {
-                for (int col = 0; col < 8; col++) {
-                    if (!board.getPosition(new Position(col, row)).equals
-                            (this.getPosition(new Position(col, row)))) {
-                        return false;
-                    }
-                }
-            }
-            return true;
+            // differing hashes settle almost every comparison
+            return this.hash == board.hash && this.red == board.red &&
+                    this.white == board.white && this.kings == board.kings &&
+                    this.rotated == board.rotated;
         } else {
             return false;
         }
     }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
 }
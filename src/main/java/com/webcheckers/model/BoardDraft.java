@@ -1,11 +1,5 @@
 package com.webcheckers.model;
 
-import com.webcheckers.util.GameHelper;
-
-import java.util.ArrayList;
-import java.util.List;
-
-
 /**
  * Maintains the model for both the active and waiting players.
  */
@@ -14,20 +8,14 @@ public class BoardDraft {
 	private Board live;
 	// current model for the active player
 	private Board draft;
-	// list of moves made by
-	private List<Move> moves;
-
-	public static boolean spectateBoardUpdate;
 
 
 	/**
-	 * Creates new live and draft Board objects, as well as a
-	 * list to maintain all moves made during a given turn.
+	 * Creates new live and draft Board objects.
 	 */
 	public BoardDraft() {
 		live = new Board();
 		draft = new Board();
-		moves = new ArrayList<>();
 	}
 
 
@@ -55,38 +43,22 @@ public class BoardDraft {
 	 * @param reverse Boolean denoting that a backup has occurred.
 	 */
 	public void updateDraft(Move move, boolean reverse) {
-		if (reverse) {
-			moves.remove(moves.size()-1);
-		} else {
-			moves.add(move);
-		}
 		draft.updateBoard(move, reverse);
 	}
 
 
 	/**
 	 * Updates a board with changes or reversions of the other board.
+	 * The draft holds the finished turn (captures removed, kings crowned)
+	 * when it is committed, so both directions are a copy of the bitboards.
+	 * @param revert True to discard the draft, false to commit it to the live board.
 	 */
-	public void hardBoardUpdate(boolean kingMe, boolean revert) {
-		Move lastMove;
-		for (Move move : moves) {
-			lastMove = move;
-			if (revert) {
-				draft.updateBoard(move, true);
-			} else {
-				live.updateBoard(move, false);
-				GameHelper.helperRemovePiece(move, this, true);
-
-				if (kingMe) {
-					Piece kingPiece = live.getPieceAt(lastMove.getEnd());
-					kingPiece.setKing(true);
-				}
-			}
+	public void hardBoardUpdate(boolean revert) {
+		if (revert) {
+			draft.copyFrom(live);
+		} else {
+			live.copyFrom(draft);
 		}
-
-		spectateBoardUpdate = true;
-
-		moves = new ArrayList<>();
 	}
 
 }
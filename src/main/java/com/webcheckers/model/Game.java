@@ -17,6 +17,7 @@ public class Game {
 	}
 
 	private Player activePlayer, idlePlayer, resignedPlayer;
+	private final Player redPlayer, whitePlayer;
 	private Piece.PieceColor activeColor;
 	private int piecesRed, piecesWhite;
 
@@ -30,12 +31,24 @@ public class Game {
 	public Game(Player activePlayer, Player idlePlayer) {
 		this.activePlayer = activePlayer;
 		this.idlePlayer = idlePlayer;
+		this.redPlayer = activePlayer;
+		this.whitePlayer = idlePlayer;
 		this.activeColor = RED;
 		this.piecesRed = 12;
 		this.piecesWhite = 12;
 	}
 
 
+	public Player getRedPlayer() {
+		return redPlayer;
+	}
+
+
+	public Player getWhitePlayer() {
+		return whitePlayer;
+	}
+
+
 	public int numberOfPieces(Piece.PieceColor pieceColor) {
 		return (pieceColor == RED ? piecesRed : piecesWhite);
 	}
@@ -4,10 +4,40 @@ package com.webcheckers.model;
  * Represents a move made by a user,
  * and contains both the starting and
  * ending position of said move.
+ *
+ * <p>
+ * Moves are immutable. Move.of hands out one shared instance
+ * for every step and jump along a diagonal of the board.
+ * </p>
  */
 public class Move {
 
-	private Position start, end;
+	// Number of spots on the board.
+	private static final int SPOTS = 64;
+
+	// MOVES[start * 64 + end]: shared instance of every diagonal step and jump,
+	// indexed by the hash codes of its positions.
+	private static final Move[] MOVES = new Move[SPOTS * SPOTS];
+
+	static {
+		for (int row = 0; row < 8; row++) {
+			for (int cell = 0; cell < 8; cell++) {
+				Position start = Position.of(cell, row);
+				for (int distance = 1; distance <= 2; distance++) {
+					for (int dirRow = -1; dirRow <= 1; dirRow += 2) {
+						for (int dirCell = -1; dirCell <= 1; dirCell += 2) {
+							Position end = Position.of(cell + distance * dirCell, row + distance * dirRow);
+							if (Position.inBounds(end)) {
+								MOVES[index(start, end)] = new Move(start, end);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private final Position start, end;
 
 	/**
 	 * Creates a new Move object
@@ -22,6 +52,40 @@ public class Move {
 	}
 
 
+	/**
+	 * Fetches the Move between two positions, reusing the shared
+	 * instance for a diagonal step or jump on the board.
+	 * @param startPosition Starting position of a move.
+	 * @param endingPosition Ending position of a move.
+	 * @return Shared Move if one exists, a new Move otherwise.
+	 */
+	public static Move of(Position startPosition, Position endingPosition) {
+		if (Position.inBounds(startPosition) && Position.inBounds(endingPosition)) {
+			Move move = MOVES[index(startPosition, endingPosition)];
+			if (move != null) {
+				return move;
+			}
+		}
+		return new Move(Position.of(startPosition), Position.of(endingPosition));
+	}
+
+
+	/**
+	 * Fetches the shared instance equal to a move.
+	 * @param move Move to look up, e.g. one parsed from JSON.
+	 * @return Shared Move equal to move if one exists, a Move over
+	 * 		   shared positions otherwise.
+	 */
+	public static Move of(Move move) {
+		return of(move.start, move.end);
+	}
+
+	// Index of a move between two in-bounds positions in MOVES.
+	private static int index(Position start, Position end) {
+		return start.hashCode() * SPOTS + end.hashCode();
+	}
+
+
 	/**
 	 * Fetches the starting position of a checkers move.
 	 * @return A Position object outlining the location
@@ -46,7 +110,7 @@ public class Move {
 	 * Prepares a revert from a previous move. Returns opposite of a move made
 	 */
 	public Move reverseMove() {
-		return (new Move(this.end,this.start));
+		return Move.of(this.end, this.start);
 	}
 
 
@@ -57,9 +121,9 @@ public class Move {
 	 * 		   made by the red player.
 	 */
 	public Move invertMove() {
-		Position start = new Position(7-this.start.getCell(), 7-this.start.getRow());
-		Position end = new Position(7-this.end.getCell(), 7-this.end.getRow());
-		return new Move(start, end);
+		Position start = Position.of(7-this.start.getCell(), 7-this.start.getRow());
+		Position end = Position.of(7-this.end.getCell(), 7-this.end.getRow());
+		return Move.of(start, end);
 	}
 
 	@Override
@@ -72,6 +136,11 @@ public class Move {
 		return false;
 	}
 
+	@Override
+	public int hashCode() {
+		return 31 * start.hashCode() + end.hashCode();
+	}
+
 	@Override
 	public String toString(){
 		return "The piece was moved from " + this.start+" to " + this.end;
@@ -0,0 +1,105 @@
+package com.webcheckers.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Packs moves into single bytes for the turns kept by games and replays.
+ *
+ * <p>
+ * Every move of a turn is a step or a jump along a diagonal from a dark
+ * spot, so one byte holds it: the low 5 bits hold the index (0 - 31) of
+ * the starting spot, bit 5 is set if the move heads to a higher row,
+ * bit 6 if it heads to a higher cell and bit 7 if it is a jump.
+ * Decoding hands out the shared Move instances of Move.of.
+ * </p>
+ */
+public final class MoveCodec {
+
+	private static final int SQUARE_MASK = 0x1F;
+	private static final int UP = 1 << 5;
+	private static final int RIGHT = 1 << 6;
+	private static final int JUMP = 1 << 7;
+
+	// DECODED[hop & 0xFF]: move packed into each byte, null if the move leaves the board.
+	private static final Move[] DECODED = new Move[256];
+
+	static {
+		for (int hop = 0; hop < DECODED.length; hop++) {
+			int square = hop & SQUARE_MASK;
+			int distance = (hop & JUMP) != 0 ? 2 : 1;
+			int cell = Board.cellOf(square) + ((hop & RIGHT) != 0 ? distance : -distance);
+			int row = Board.rowOf(square) + ((hop & UP) != 0 ? distance : -distance);
+			if (Board.squareOf(cell, row) >= 0) {
+				DECODED[hop] = Move.of(Position.of(Board.cellOf(square), Board.rowOf(square)),
+						Position.of(cell, row));
+			}
+		}
+	}
+
+	private MoveCodec() {
+	}
+
+
+	/**
+	 * Packs a move into a byte.
+	 * @param move Step or jump along a diagonal from a dark spot.
+	 * @return Byte holding the move.
+	 * @throws IllegalArgumentException If the move is not a step or jump on the board.
+	 */
+	public static byte encode(Move move) {
+		int square = Board.squareOf(move.getStart());
+		int rows = move.getEnd().getRow() - move.getStart().getRow();
+		int cells = move.getEnd().getCell() - move.getStart().getCell();
+		int distance = Math.abs(rows);
+		if (square < 0 || Board.squareOf(move.getEnd()) < 0
+				|| distance != Math.abs(cells) || distance < 1 || distance > 2) {
+			throw new IllegalArgumentException("Not a step or jump on the board: " + move);
+		}
+		return (byte) (square | (rows > 0 ? UP : 0) | (cells > 0 ? RIGHT : 0) | (distance == 2 ? JUMP : 0));
+	}
+
+
+	/**
+	 * Unpacks a move from a byte.
+	 * @param hop Byte holding a move, as made by encode.
+	 * @return Shared Move object.
+	 * @throws IllegalArgumentException If the byte does not hold a move on the board.
+	 */
+	public static Move decode(byte hop) {
+		Move move = DECODED[hop & 0xFF];
+		if (move == null) {
+			throw new IllegalArgumentException("Not a packed move: " + (hop & 0xFF));
+		}
+		return move;
+	}
+
+
+	/**
+	 * Packs a list of moves, one byte each.
+	 * @param moves Moves in order.
+	 * @return Bytes holding the moves in the same order.
+	 */
+	public static byte[] encode(List<Move> moves) {
+		byte[] hops = new byte[moves.size()];
+		for (int i = 0; i < hops.length; i++) {
+			hops[i] = encode(moves.get(i));
+		}
+		return hops;
+	}
+
+
+	/**
+	 * Unpacks a list of moves.
+	 * @param hops Bytes holding moves, as made by encode.
+	 * @return Read-only list of the moves in the same order.
+	 */
+	public static List<Move> decode(byte[] hops) {
+		List<Move> moves = new ArrayList<>(hops.length);
+		for (byte hop : hops) {
+			moves.add(decode(hop));
+		}
+		return Collections.unmodifiableList(moves);
+	}
+}
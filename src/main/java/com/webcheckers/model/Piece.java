@@ -23,6 +23,10 @@ public class Piece {
 	private PieceColor color;
 	private Type type;
 
+	// Board and spot this piece was read from, null if not on a board.
+	private final Board board;
+	private final int square;
+
 	/**
 	 * Constructs a standard single piece object with a provided color.
 	 * @param color Color of the piece.
@@ -30,6 +34,22 @@ public class Piece {
 	public Piece(PieceColor color) {
 		this.color = color;
 		this.type = Type.SINGLE;
+		this.board = null;
+		this.square = -1;
+	}
+
+	/**
+	 * Constructs a view of a piece sitting on a spot of a board.
+	 * @param color Color of the piece.
+	 * @param king True if the piece is a king.
+	 * @param board Board the piece was read from.
+	 * @param square Index of the dark spot holding the piece.
+	 */
+	Piece(PieceColor color, boolean king, Board board, int square) {
+		this.color = color;
+		this.type = (king ? Type.KING : Type.SINGLE);
+		this.board = board;
+		this.square = square;
 	}
 
 	/**
@@ -49,6 +69,9 @@ public class Piece {
 	 */
 	public void setKing(boolean king) {
 		this.type = (king ? Type.KING : Type.SINGLE);
+		if (board != null) {
+			board.setKing(square, color, king);
+		}
 	}
 
 	@Override
@@ -1,7 +1,5 @@
 package com.webcheckers.model;
 
-import com.webcheckers.util.Replay;
-
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,7 +23,6 @@ public class Player {
      */
     private int wins, losses;
     public boolean inMatch, spectating;
-    public Replay replay;
     public boolean inReplay;
 
     /**
@@ -38,7 +35,6 @@ public class Player {
         this.losses = 0;
         this.inMatch = false;
         this.inReplay = false;
-        this.replay = null;
     }
 
     /**
@@ -76,4 +72,14 @@ public class Player {
             return false;
         }
     }
+
+    /**
+     * Hashes the username, the only thing equals compares, so that
+     * players can be keys of hash maps.
+     * @return Hash code of the username.
+     */
+    @Override
+    public int hashCode() {
+        return this.name.hashCode();
+    }
 }
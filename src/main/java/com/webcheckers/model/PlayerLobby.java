@@ -1,6 +1,14 @@
 package com.webcheckers.model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
 
 /**
  * Maintains a record of all Player objects signed in to the webpage.
@@ -8,27 +16,194 @@ import java.util.ArrayList;
  * start a game with another player given that they are not yet in
  * a game.
  *
+ * <p>
+ * The lobby is also the directory of every player known to the server,
+ * indexed by username, and of the usernames signed in. Every lookup is
+ * a single hash lookup in a concurrent map, so requests of different
+ * players never wait on each other.
+ * </p>
+ *
+ * <p>
+ * The lobby remembers when each signed-in player was last seen, so the
+ * usernames of players who closed their browser without signing out
+ * can be released. It also remembers who signed in, such as the HTTP
+ * session, so a browser coming back after its username was released
+ * and taken by someone else is not mistaken for the new owner.
+ * </p>
+ *
  * @author <cjn9414@rit.edu> Carter Nesbitt
  */
 public class PlayerLobby {
-    // Maintains a list of all players in the lobby.
-    private ArrayList<Player> players;
+    // Every player known to the server, by username; players keep their record after signing out.
+    private final ConcurrentMap<String, Player> directory;
+
+    // Usernames of the players signed in, with who signed in and when each was last seen.
+    private final ConcurrentMap<String, SignIn> signedIn;
+
+    // Maintains all players in the lobby, by username.
+    private final ConcurrentMap<String, Player> players;
 
     /**
      * Creates a new instance of a player lobby and
      * instantiates the structure to maintain all players in the lobby.
      */
     public PlayerLobby() {
-        this.players = new ArrayList<>();
+        this.directory = new ConcurrentHashMap<>();
+        this.signedIn = new ConcurrentHashMap<>();
+        this.players = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Signs in a player for no one in particular, unless the username is already signed in.
+     * @param username: Username the user signs in with.
+     * @return The player signed in, null if the username is taken.
+     */
+    public Player signIn(String username) {
+        return signIn(username, null);
+    }
+
+    /**
+     * Signs in a player, unless the username is already signed in.
+     * A player seen for the first time joins the lobby; a returning
+     * player keeps their record and joins once they reach the home page.
+     * @param username: Username the user signs in with.
+     * @param owner: Who signs in, such as the ID of the HTTP session.
+     * @return The player signed in, null if the username is taken.
+     */
+    public Player signIn(String username, String owner) {
+        if (signedIn.putIfAbsent(username, new SignIn(owner, System.currentTimeMillis())) != null) {
+            return null;
+        }
+        Player player = directory.get(username);
+        if (player == null) {
+            Player created = new Player(username);
+            player = directory.putIfAbsent(username, created);
+            if (player == null) {
+                player = created;
+                players.put(username, player);
+            }
+        }
+        return player;
+    }
+
+    /**
+     * Signs out a player, freeing their username and removing them from the lobby.
+     * @param player: Player signing out.
+     */
+    public void signOut(Player player) {
+        players.remove(player.getUsername(), player);
+        signedIn.remove(player.getUsername());
+    }
+
+    /**
+     * Determines if a username is signed in.
+     * @param username: Username to check.
+     * @return True if a player is signed in with the username.
+     */
+    public boolean isSignedIn(String username) {
+        return username != null && signedIn.containsKey(username);
+    }
+
+    /**
+     * Determines if a player is still signed in by the same owner with
+     * the same record, rather than signed out or replaced by someone
+     * who signed in with the username since.
+     * @param player: Player as remembered by the owner.
+     * @param owner: Who signed in, as given to signIn.
+     * @return True if the owner's sign in still holds.
+     */
+    public boolean isSignedIn(Player player, String owner) {
+        String username = player.getUsername();
+        SignIn signIn = signedIn.get(username);
+        return signIn != null && Objects.equals(signIn.owner, owner) && directory.get(username) == player;
+    }
+
+    /**
+     * Records that a signed-in player was just seen, such as on a request.
+     * @param player: Player seen.
+     */
+    public void touch(Player player) {
+        signedIn.computeIfPresent(player.getUsername(),
+                (username, signIn) -> new SignIn(signIn.owner, System.currentTimeMillis()));
     }
 
     /**
-     * Adds a new player to the game lobby.
+     * Signs out every player not seen since a time, freeing their usernames.
+     * A player seen while being signed out stays signed in.
+     * @param idleSince: Time in milliseconds; players last seen before it are signed out.
+     * @return The players signed out.
+     */
+    public List<Player> signOutIdle(long idleSince) {
+        List<Player> signedOut = new ArrayList<>();
+        for (Map.Entry<String, SignIn> entry : signedIn.entrySet()) {
+            if (entry.getValue().lastSeen < idleSince && signedIn.remove(entry.getKey(), entry.getValue())) {
+                Player player = directory.get(entry.getKey());
+                if (player != null) {
+                    players.remove(entry.getKey(), player);
+                    signedOut.add(player);
+                }
+            }
+        }
+        return signedOut;
+    }
+
+    /**
+     * Forgets every player that is signed out, except the ones to keep,
+     * such as the players still in a game.
+     * @param keep: Determines if a signed-out player must stay known.
+     * @return The number of players forgotten.
+     */
+    public int forgetSignedOut(Predicate<Player> keep) {
+        int forgotten = 0;
+        for (Player player : directory.values()) {
+            String username = player.getUsername();
+            if (!signedIn.containsKey(username) && !keep.test(player)
+                    && directory.remove(username, player)) {
+                players.remove(username, player);
+                forgotten++;
+            }
+        }
+        return forgotten;
+    }
+
+    /**
+     * Makes a player known to the server without signing them in,
+     * such as the players of the games restored at startup.
+     * @param player: Player to remember.
+     * @return The player known under the username, which is the given
+     *         player unless one was already known.
+     */
+    public Player register(Player player) {
+        Player known = directory.putIfAbsent(player.getUsername(), player);
+        return known == null ? player : known;
+    }
+
+    /**
+     * Fetches any player known to the server, in the lobby or not.
+     * @param username: Username of the player.
+     * @return The player, null if no player has used the username.
+     */
+    public Player fetchKnownPlayer(String username) {
+        return username == null ? null : directory.get(username);
+    }
+
+    /**
+     * Adds a player to the game lobby, signing them in if their username
+     * is free. A player whose username is known under another record
+     * does not join, nor take the username from who signed in with it.
      * @param player: Player object that is
      *             entering the game lobby.
+     * @return True if the player joined the lobby.
      */
-    public void playerJoin(Player player) {
-        players.add(player);
+    public boolean playerJoin(Player player) {
+        String username = player.getUsername();
+        Player known = directory.putIfAbsent(username, player);
+        if (known != null && known != player) {
+            return false;
+        }
+        signedIn.putIfAbsent(username, new SignIn(null, System.currentTimeMillis()));
+        players.put(username, player);
+        return true;
     }
 
 
@@ -42,19 +217,14 @@ public class PlayerLobby {
 
     /**
      * Fetches all players in the lobby.
-     * @return ArrayList object of all players in the lobby.
+     * @return Read-only view of all players in the lobby, in no particular order.
      */
-    public ArrayList<Player> fetchPlayers() {
-        return players;
+    public Collection<Player> fetchPlayers() {
+        return Collections.unmodifiableCollection(players.values());
     }
 
     public Player fetchByUsername(String username) {
-        for (Player player : players) {
-            if (player.getUsername().equals(username)) {
-                return player;
-            }
-        }
-        return null;
+        return username == null ? null : players.get(username);
     }
 
     /**
@@ -65,11 +235,7 @@ public class PlayerLobby {
      *         False if Player object not found in lobby.
      */
     public boolean removePlayer(Player player) {
-        if (playerExists(player)) {
-            players.remove(player);
-            return true;
-        }
-        return false;
+        return player != null && removePlayer(player.getUsername());
     }
 
 
@@ -80,13 +246,7 @@ public class PlayerLobby {
      *          False if player not found.
      */
     public boolean removePlayer(String username) {
-        for (Player playerInLobby : players) {
-            if (playerInLobby.getUsername().equals(username)) {
-                players.remove(playerInLobby);
-                return true;
-            }
-        }
-        return false;
+        return username != null && players.remove(username) != null;
     }
 
     /**
@@ -96,11 +256,18 @@ public class PlayerLobby {
      *         False if player is not in the lobby.
      */
     public boolean playerExists(Player player) {
-        for (Player playerInLobby : players) {
-            if (playerInLobby.equals(player)) {
-                return true;
-            }
+        return player != null && players.containsKey(player.getUsername());
+    }
+
+    // Who signed in with a username and when they were last seen in milliseconds;
+    // replaced rather than changed, so a sign out can tell if it was seen since.
+    private static final class SignIn {
+        private final String owner;
+        private final long lastSeen;
+
+        private SignIn(String owner, long lastSeen) {
+            this.owner = owner;
+            this.lastSeen = lastSeen;
         }
-        return false;
     }
 }
@@ -5,10 +5,31 @@ package com.webcheckers.model;
  * on a checkerboard. It is used to recognize
  * the starting and ending positions of a movement
  * made by a user during their turn.
+ *
+ * <p>
+ * Positions are immutable. Position.of hands out one shared
+ * instance for each of the 64 spots on the board, so the
+ * request path does not allocate a new Position per spot.
+ * </p>
  */
 public class Position {
-	private int row;
-	private int cell;
+
+	// Number of rows and cells on the board.
+	private static final int SIZE = 8;
+
+	// POSITIONS[row * 8 + cell]: shared instance of every spot on the board.
+	private static final Position[] POSITIONS = new Position[SIZE * SIZE];
+
+	static {
+		for (int row = 0; row < SIZE; row++) {
+			for (int cell = 0; cell < SIZE; cell++) {
+				POSITIONS[row * SIZE + cell] = new Position(cell, row);
+			}
+		}
+	}
+
+	private final int row;
+	private final int cell;
 
 	/**
 	 * Creates a new Position object.
@@ -21,6 +42,33 @@ public class Position {
 		this.cell = cell;
 	}
 
+
+	/**
+	 * Fetches the Position of a spot, reusing the shared instance
+	 * when the spot is on the board.
+	 * @param cell The cell of a position within a row.
+	 * @param row The row of a position.
+	 * @return Shared Position for a spot on the board, or a new
+	 * 		   Position if the coordinates are out of bounds.
+	 */
+	public static Position of(int cell, int row) {
+		if (inBounds(cell, row)) {
+			return POSITIONS[row * SIZE + cell];
+		}
+		return new Position(cell, row);
+	}
+
+
+	/**
+	 * Fetches the shared instance equal to a position.
+	 * @param pos Position to look up, e.g. one parsed from JSON.
+	 * @return Shared Position equal to pos, or pos itself if it is
+	 * 		   out of bounds.
+	 */
+	public static Position of(Position pos) {
+		return inBounds(pos) ? POSITIONS[pos.row * SIZE + pos.cell] : pos;
+	}
+
 	/**
 	 * Fetches the current row of a position.
 	 * @return An integer (0 - 7) representing
@@ -53,9 +101,12 @@ public class Position {
 	 * 		   False otherwise.
 	 */
 	public static boolean inBounds(Position pos) {
-		int row = pos.getRow();
-		int col = pos.getCell();
-		return row >= 0 && row <= 7 && col >= 0 && col <= 7;
+		return inBounds(pos.getCell(), pos.getRow());
+	}
+
+	// True if the coordinates are a spot on the board.
+	private static boolean inBounds(int cell, int row) {
+		return row >= 0 && row < SIZE && cell >= 0 && cell < SIZE;
 	}
 
 	@Override
@@ -68,4 +119,9 @@ public class Position {
 		return false;
 	}
 
+	@Override
+	public int hashCode() {
+		return row * SIZE + cell;
+	}
 }
+
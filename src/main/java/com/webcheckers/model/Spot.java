@@ -2,26 +2,20 @@ package com.webcheckers.model;
 
 /**
  * Maintains state for a specific spot within a row of the checkerboard.
+ * A Spot is a view onto one spot of a Board; moving pieces in or out
+ * of the spot updates the board itself.
  *
  * @author <a href='mailto:csc9411@rit.edu>Christopher Curtice</a>
  * @author <a href='mailto:cjn9414@rit.edu>Carter Nesbitt</a>
  */
 public class Spot{
     /**
-     * Color color: Is square light or dark
-     * Piece piece: Piece (if any) on square
-     * Boolean finalRow: Is spot on the last row of board?
+     * Board board: Board the spot belongs to
+     * int cell, row: Location of the spot on the board
      */
-    private Color color;
-    private Piece piece;
-
-    // stores if it is the final row for a red piece (end row on white's side of board)
-    private boolean redfinalRow;
-
-    // stores if it is the final row for a white piece (end row on red's side of the board)
-    private boolean whiteFinalRow;
-
-    private Boolean kingFlag;
+    private final Board board;
+    private final int cell;
+    private final int row;
 
     // Enum class representing whether a spot is dark (playable) light (non-playable)
     public enum Color {
@@ -30,17 +24,14 @@ public class Spot{
 
     /**
      * Spot object constructor that collects the data stored in the object.
-     * @param color: Color of the spot on the checkerboard.
-     * @param piece: Piece occupying the spot on the board.
-     * @param redfinalRow: Boolean to represent that the spot is on the
-     *                  final row of the checkerboard.
+     * @param board: Board the spot belongs to.
+     * @param cell: Cell of the spot within its row.
+     * @param row: Row of the spot on the checkerboard.
      */
-    Spot(Color color, Piece piece, boolean redfinalRow, boolean whiteFinalRow){
-        this.color = color;
-        this.piece = piece;
-        this.redfinalRow = redfinalRow;
-        this.whiteFinalRow = whiteFinalRow;
-        this.kingFlag = false;
+    Spot(Board board, int cell, int row){
+        this.board = board;
+        this.cell = cell;
+        this.row = row;
     }
 
 
@@ -49,7 +40,7 @@ public class Spot{
      * @return Piece oject within a spot.
      */
     public Piece getPiece() {
-        return this.piece;
+        return board.pieceAt(Board.squareOf(cell, row));
     }
 
 
@@ -59,26 +50,21 @@ public class Spot{
      */
     public void moveTo(Piece piece){
         // Move a given piece (taken using moveFrom()) to this spot
-        if(isValidMove()) {
-            this.piece = piece;
-        }
-
-        // checks to see if the piece is on row it needs to reach to be king
-        if ((piece.getColor() == Piece.PieceColor.RED) && this.redfinalRow){
-            this.kingFlag = true;
-        }
-        if ((piece.getColor() == Piece.PieceColor.WHITE && this.whiteFinalRow)){
-            this.kingFlag = true;
+        // the board flags the piece if it reached the row it needs to be king
+        if(piece != null && isValidMove()) {
+            board.place(Board.squareOf(cell, row), piece.getColor(),
+                    piece.getType() == Piece.Type.KING);
         }
     }
 
 
     /**
-     * Move a piece from this spot to another spot, by removing the piece before returning it
-     * @return Piece object being moved from this spot.
+     * Determines if a piece may be moved into this spot.
+     * @return True if the spot is dark and empty.
      */
     boolean isValidMove(){
-        return this.piece==null && this.color.equals(Color.DARK);
+        int square = Board.squareOf(cell, row);
+        return square >= 0 && board.colorAt(square) == null;
     }
 
 
@@ -87,12 +73,7 @@ public class Spot{
      */
     public Piece moveFrom(){
         // Move a piece from this spot to another spot, by removing the piece before returning it
-        if(!(this.piece==null)) {
-            Piece moved = this.piece;
-            this.piece = null;
-            return moved;
-        }
-        return null;
+        return board.take(Board.squareOf(cell, row));
         //TODO: Throw error rather than returning null
     }
 
@@ -102,7 +83,7 @@ public class Spot{
      * @return Spot.Color enumerated object representing the spot color.
      */
     public Color getColor() {
-        return this.color;
+        return ((cell + row) & 1) == 0 ? Color.DARK : Color.LIGHT;
     }
 
     @Override
@@ -115,19 +96,30 @@ public class Spot{
                 }
             }
             else {
-                if (!spot.getPiece().equals(this.piece)) {
+                if (!spot.getPiece().equals(this.getPiece())) {
                     return false;
                 }
             }
-            return (spot.getColor().equals(this.color) && spot.redfinalRow == this.redfinalRow &&
-                    spot.whiteFinalRow == this.whiteFinalRow);
+            return (spot.getColor().equals(this.getColor()) &&
+                    spot.isFinalRow(Piece.PieceColor.RED) == this.isFinalRow(Piece.PieceColor.RED) &&
+                    spot.isFinalRow(Piece.PieceColor.WHITE) == this.isFinalRow(Piece.PieceColor.WHITE));
         } else {
             return false;
         }
     }
+
+    /**
+     * Determines if the piece in this spot has just reached its final
+     * row, clearing the flag so it is only reported once.
+     * @return True if the piece should become a king.
+     */
     public boolean isNewKing() {
-        boolean isKing = this.kingFlag;
-        this.kingFlag = false;
-        return isKing;
+        int square = Board.squareOf(cell, row);
+        return square >= 0 && board.takeNewKing(square);
+    }
+
+    // Determines if this spot is the final row for pieces of a color.
+    private boolean isFinalRow(Piece.PieceColor color) {
+        return board.isFinalRow(row, color);
     }
 }
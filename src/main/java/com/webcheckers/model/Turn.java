@@ -1,19 +1,37 @@
 package com.webcheckers.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Class to hold a number of move objects to allow for easier implementation
  * by the Replay class
+ *
+ * <p>
+ * The moves are kept packed by the MoveCodec, one byte per move, since
+ * every turn of a game is kept for its replay.
+ * </p>
  */
 public class Turn {
-    private List<Move> Moves;
+    private static final byte[] NO_MOVES = new byte[0];
+
+    private byte[] hops;
     private int movecount;
 
     public Turn(){
         movecount = 0;
-        this.Moves = new ArrayList<>();
+        this.hops = NO_MOVES;
+    }
+
+    /**
+     * Creates a turn from its packed moves.
+     * @param hops moves packed by the MoveCodec, in order
+     * @return Turn holding a copy of the moves
+     */
+    public static Turn fromBytes(byte[] hops) {
+        Turn turn = new Turn();
+        turn.hops = hops.length == 0 ? NO_MOVES : hops.clone();
+        turn.movecount = hops.length;
+        return turn;
     }
 
     /**
@@ -21,7 +39,9 @@ public class Turn {
      * @param move move to add to the turn
      */
     public void addMove(Move move){
-        Moves.add(move);
+        // turns are a few moves long, so the array grows one move at a time
+        hops = Arrays.copyOf(hops, movecount + 1);
+        hops[movecount] = MoveCodec.encode(move);
         movecount++;
     }
 
@@ -31,14 +51,15 @@ public class Turn {
      * @return True if successful removal false if not
      */
     public boolean removeMove(Move move){
-        if (Moves.contains(move)){
-            Moves.remove(move);
-            return true;
-        }
-        else{
-            return false;
+        for (int i = 0; i < movecount; i++) {
+            if (MoveCodec.decode(hops[i]).equals(move)) {
+                System.arraycopy(hops, i + 1, hops, i, movecount - i - 1);
+                movecount--;
+                hops = Arrays.copyOf(hops, movecount);
+                return true;
+            }
         }
-
+        return false;
     }
     /**
      * Get the total number of moves made during this turn
@@ -49,7 +70,18 @@ public class Turn {
     }
 
     public Move getMove(int index) {
-        return Moves.get(index);
+        if (index < 0 || index >= movecount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + movecount);
+        }
+        return MoveCodec.decode(hops[index]);
+    }
+
+    /**
+     * Fetches the moves of the turn, packed by the MoveCodec
+     * @return copy of the packed moves, one byte per move
+     */
+    public byte[] toBytes() {
+        return Arrays.copyOf(hops, movecount);
     }
 
 }
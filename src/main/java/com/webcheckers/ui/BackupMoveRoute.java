@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.webcheckers.model.BoardDraft;
 import com.webcheckers.model.Move;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
 import com.webcheckers.util.Message;
 import spark.*;
 
@@ -41,18 +42,30 @@ public class BackupMoveRoute implements Route {
     @Override
     public Object handle(Request request, Response response){
         LOG.finer("BackupMove is invoked");
-        Message message;
 
         // fetching the gameID
         String gameID = request.queryParams(GameRoute.GAME_ID_ATTR);
-        // fetching the moves played by the player from the server by providing the gameID as the key
-        Move move = GameHelper.popMove(gameID);
+        GameSession gameSession = GameRoute.fetchGameSession(request.session(), gameID);
+        // backups are run on the game's mailbox, in order with the moves they undo
+        return GameHelper.execute(gameSession, () -> backupMove(gameSession));
+    }
+
+
+    /**
+     * Undoes the most recent move of the current turn on the draft board.
+     * @param gameSession State of the game the move is undone in.
+     * @return JSON message describing the move that was undone.
+     */
+    private String backupMove(GameSession gameSession) {
+        Message message;
+        // fetching the moves played by the player in the game
+        Move move = gameSession.popMove();
 
         if(move != null){ // if there is no previous move
-            BoardDraft boardDraft = GameHelper.fetchBoard(gameID);
+            BoardDraft boardDraft = gameSession.getBoardDraft();
             boardDraft.updateDraft(move, true);
             message = Message.info(move.toString());
-            GameHelper.updateBoard(gameID, boardDraft);
+            gameSession.setBoardDraft(boardDraft);
             // The message is String in the form "The piece was moved from
             // ROW:'' and COLUMN:'' to ROW:'' and COLUMN:'' "
         }
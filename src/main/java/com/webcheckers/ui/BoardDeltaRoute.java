@@ -0,0 +1,85 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.model.Player;
+import com.webcheckers.util.BoardDelta;
+import com.webcheckers.util.GameHelper;
+import spark.*;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * The UI Controller to fetch the squares of a game's board that changed
+ * since the version a viewer has seen.
+ *
+ * <p>
+ * The answer is a JSON BoardDelta holding only the squares moved from,
+ * moved to or captured by the turns the viewer missed, so the board can
+ * be updated in place instead of rendering the whole Game View again.
+ * The squares are given as the viewer sees the board: turned around for
+ * everyone but the white player.
+ * </p>
+ */
+public class BoardDeltaRoute implements Route {
+    private static final Logger LOG = Logger.getLogger(BoardDeltaRoute.class.getName());
+
+    // Attribute holding the version the viewer has seen.
+    public static final String ACTION_ATTR = "actionData";
+
+    private final TemplateEngine templateEngine;
+
+    private final Gson gson;
+
+    /**
+     * Create the Spark Route (UI controller) to handle all {@code POST /game/delta} HTTP requests.
+     *
+     * @param templateEngine
+     *
+     * the HTML template rendering engine
+     */
+    public BoardDeltaRoute(final TemplateEngine templateEngine) {
+        this.templateEngine = Objects.requireNonNull(templateEngine, "templateEngine is required");
+        LOG.config("BoardDeltaRoute is initialized.");
+        gson = new Gson();
+    }
+
+    @Override
+    public Object handle(Request request, Response response) throws Exception {
+        LOG.finer("BoardDeltaRoute is invoked.");
+        Session session = request.session();
+
+        String gameID = request.queryParams(GameRoute.GAME_ID_ATTR);
+        long since;
+        try {
+            since = Long.parseLong(request.queryParams(ACTION_ATTR));
+        } catch (NumberFormatException e) {
+            since = -1;
+        }
+
+        BoardDelta delta = GameHelper.fetchBoardDelta(gameID, since, !isWhitePlayer(session, gameID));
+        if (delta == null) {
+            // the game is over and torn down; the viewer reloads to see how it ended
+            delta = new BoardDelta(since, since, false, null, true, Collections.emptyList());
+        } else if (delta.isComplete() && gameID.equals(session.attribute(GetSpectatorGame.SPECTATE_GAME_ID))) {
+            // the spectator is now up to date, as if the page had been rendered again
+            session.attribute(GetSpectatorGame.SPECTATE_VERSION_ATTR, delta.getVersion());
+        }
+        return gson.toJson(delta);
+    }
+
+    /**
+     * Checks whether the user of a session plays white in a game,
+     * the only viewer who sees the board the right way around.
+     * @param session Session of the viewer.
+     * @param gameID Unique game identification.
+     * @return True if the viewer is the white player of the game.
+     */
+    private static boolean isWhitePlayer(Session session, String gameID) {
+        Player self = session.attribute(GameRoute.CURRENT_USER_ATTR);
+        Player whitePlayer = session.attribute(GameRoute.WHITE_PLAYER_ATTR);
+        return self != null && self.equals(whitePlayer)
+                && Objects.equals(gameID, session.attribute(GameRoute.GAME_ID_ATTR));
+    }
+}
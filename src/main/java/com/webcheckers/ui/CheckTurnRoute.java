@@ -2,16 +2,32 @@ package com.webcheckers.ui;
 
 import com.google.gson.Gson;
 import com.webcheckers.model.Game;
-import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
 import com.webcheckers.util.Message;
 import spark.*;
 
 import java.util.Objects;
+import java.util.concurrent.Semaphore;
 import java.util.logging.Logger;
 
 /**
  * The UI controller to the CheckTurn page.
  *
+ * <p>
+ * A request sent with the long-poll action data is held until the
+ * opponent submits a turn or resigns, or until LONG_POLL_TIMEOUT
+ * passes, instead of answering "false" straight away.
+ * </p>
+ *
+ * <p>
+ * A held request keeps its Jetty thread, and the embedded Jetty runs a
+ * bounded pool of them. Only part of the pool is held by long polls at
+ * once, so the other routes, including the submits that end the waits,
+ * always have threads left. Past that a check is answered LATER straight
+ * away, and the client checks again no sooner than the timer used before
+ * long polls did.
+ * </p>
+ *
  * @author <a href='mailto:cjn9414@rit.edu>Carter Nesbitt</a>
  */
 public class CheckTurnRoute implements Route {
@@ -20,12 +36,36 @@ public class CheckTurnRoute implements Route {
 	private static final Logger LOG=Logger.getLogger(CheckTurnRoute.class.getName());
 	private Gson gson;
 
+	// Action data asking the server to hold the request until the turn changes.
+	public static final String LONG_POLL = "longPoll";
+
+	// Longest time a long-poll request is held, kept under common proxy timeouts.
+	public static final long LONG_POLL_TIMEOUT = 25000;
+
+	// Answer to a long poll that cannot be held, asking the client to check again later.
+	public static final String LATER = "later";
+
+	// Permits of the requests that may be held.
+	private final Semaphore longPolls;
+
+	private static final String ACTION_ATTR = "actionData";
+
 	/**
 	 * Creates Spark Route for all CheckTurn HTTP requests.
 	 * @param templateEngine The HTML template rendering engine.
 	 */
 	public CheckTurnRoute(TemplateEngine templateEngine) {
+		this(templateEngine, maxLongPollsFor(WebServer.DEFAULT_MAX_THREADS));
+	}
+
+	/**
+	 * Creates Spark Route for all CheckTurn HTTP requests.
+	 * @param templateEngine The HTML template rendering engine.
+	 * @param maxLongPolls Most requests held at once.
+	 */
+	public CheckTurnRoute(TemplateEngine templateEngine, int maxLongPolls) {
 		this.templateEngine = Objects.requireNonNull(templateEngine, "templateEngine is required");
+		this.longPolls = new Semaphore(maxLongPolls);
 		LOG.config("Check turn route is initialized");
 		gson = new Gson();
 	}
@@ -44,18 +84,60 @@ public class CheckTurnRoute implements Route {
 		Message message;
 		Session session = request.session();
 
-		String gameID = session.attribute(GameRoute.GAME_ID_ATTR);
-
-		Game game = GameHelper.activeGames.get(gameID);
+		GameSession gameSession = GameRoute.fetchGameSession(session);
+		Game game = (gameSession == null ? null : gameSession.getGame());
+		// read before checking the turn, so a change made in between is not missed
+		long version = (gameSession == null ? 0 : gameSession.getVersion());
 
 		if (session.attribute(SubmitTurnRoute.SUBMIT_ATTR) != null) {
 			session.removeAttribute(SubmitTurnRoute.SUBMIT_ATTR);
 			message = Message.info("false");
 		} else if (game.isMyTurn(session.attribute(GameRoute.CURRENT_USER_ATTR))) {
 			message = Message.info("true");
+		} else if (LONG_POLL.equals(request.queryParams(ACTION_ATTR))) {
+			message = Message.info(awaitMyTurn(session, gameSession, version));
 		} else {
 			message = Message.info("false");
 		}
 		return gson.toJson(message);
 	}
+
+
+	/**
+	 * Fetches the most long polls to hold at once on a thread pool:
+	 * half of it, leaving the rest to Jetty and the other routes.
+	 * @param maxThreads Threads of the embedded Jetty.
+	 * @return Most requests held at once.
+	 */
+	public static int maxLongPollsFor(int maxThreads) {
+		return maxThreads / 2;
+	}
+
+	/**
+	 * Holds a request until the game changes or the long-poll timeout
+	 * passes, unless as many requests as allowed are already held.
+	 * @param session Session of the waiting player.
+	 * @param gameSession State of the game being waited on.
+	 * @param version Version of the game already seen by the player.
+	 * @return "true" if it is now the player's turn or the game has ended,
+	 *         LATER if the request could not be held, "false" otherwise.
+	 */
+	private String awaitMyTurn(Session session, GameSession gameSession, long version) {
+		if (!longPolls.tryAcquire()) {
+			return LATER;
+		}
+		try {
+			if (!gameSession.awaitChange(version, LONG_POLL_TIMEOUT)) {
+				return String.valueOf(false);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return String.valueOf(false);
+		} finally {
+			longPolls.release();
+		}
+		// the game may have been torn down while the request was held
+		return String.valueOf(gameSession.isClosed()
+				|| gameSession.getGame().isMyTurn(session.attribute(GameRoute.CURRENT_USER_ATTR)));
+	}
 }
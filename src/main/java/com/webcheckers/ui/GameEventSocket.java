@@ -0,0 +1,74 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.util.GameHelper;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
+import org.eclipse.jetty.websocket.api.annotations.OnWebSocketConnect;
+import org.eclipse.jetty.websocket.api.annotations.WebSocket;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * The WebSocket endpoint pushing the changes of a game to its players
+ * and spectators. A client connects with the gameID and token query
+ * parameters and is sent a JSON GameEvent every time a turn is
+ * committed, a player resigns or the game ends.
+ *
+ * <p>
+ * The token is handed out with the game page, so only the players and
+ * spectators shown the game subscribe to it; the WebSocket does not see
+ * their HTTP session. The connection is closed once the game is torn down.
+ * Spark creates one instance per connection.
+ * </p>
+ */
+@WebSocket
+public class GameEventSocket {
+	private static final Logger LOG = Logger.getLogger(GameEventSocket.class.getName());
+
+	private static final String GAME_ID_PARAM = "gameID";
+	private static final String TOKEN_PARAM = "token";
+
+	// Game this connection is subscribed to.
+	private String gameID;
+
+	// Pushes events to this connection.
+	private Consumer<String> subscriber;
+
+
+	/**
+	 * Subscribes a new connection to the game it asked for.
+	 * @param session WebSocket session of the connection.
+	 */
+	@OnWebSocketConnect
+	public void onConnect(Session session) {
+		gameID = parameterOf(session, GAME_ID_PARAM);
+		subscriber = event -> session.getRemote().sendStringByFuture(event);
+
+		if (!GameHelper.subscribe(gameID, parameterOf(session, TOKEN_PARAM), subscriber,
+				() -> session.close(StatusCode.NORMAL, "Game is over."))) {
+			LOG.finer("GameEventSocket refused a connection to game " + gameID);
+			session.close(StatusCode.POLICY_VIOLATION, "Game is not active or not yours to watch.");
+		}
+	}
+
+
+	// Fetches the first value of a query parameter of the connection, null if it has none.
+	private static String parameterOf(Session session, String name) {
+		List<String> values = session.getUpgradeRequest().getParameterMap().get(name);
+		return (values == null || values.isEmpty() ? null : values.get(0));
+	}
+
+
+	/**
+	 * Unsubscribes a connection once it is closed.
+	 * @param statusCode WebSocket close status.
+	 * @param reason Reason given for closing.
+	 */
+	@OnWebSocketClose
+	public void onClose(int statusCode, String reason) {
+		GameHelper.unsubscribe(gameID, subscriber);
+	}
+}
@@ -3,10 +3,9 @@ package com.webcheckers.ui;
 import com.google.gson.Gson;
 import com.webcheckers.model.*;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
 import com.webcheckers.util.Message;
 import com.webcheckers.view.BoardView;
-import com.webcheckers.view.Row;
-import com.webcheckers.view.Space;
 import spark.*;
 
 import java.util.*;
@@ -39,9 +38,11 @@ public class GameRoute implements Route {
 	public static final String COMPETITOR_ATTR = "competitor";
 	public static final String MESSAGE_ATTR = "message";
 	public static final String GAME_ID_ATTR = "gameID";
+	public static final String EVENTS_TOKEN_ATTR = "eventsToken";
+	// Handle on the GameSession of the user's game, kept in the HTTP session.
+	public static final String GAME_SESSION_ATTR = "gameSession";
 	private static final String LOBBY_ATTR = "players";
 	private static final String ERROR_PLAYER_IN_MATCH = "Player already in match";
-	private static final int BOARD_WIDTH = 8;
 	private static final String GAME_OVER_MSG_ATTR = "gameOverMessage";
 	private static final String MODE_OPTIONS_ATTR = "modeOptionsAsJSON";
 	private static final String GAME_OVER_ATTR = "isGameOver";
@@ -145,7 +146,9 @@ public class GameRoute implements Route {
 		vm.put(RED_PLAYER_ATTR, redPlayer);
 		vm.put(WHITE_PLAYER_ATTR, whitePlayer);
 
-		Game game = GameHelper.activeGames.get(gameID);
+		GameSession gameSession = fetchGameSession(session, gameID);
+		vm.put(EVENTS_TOKEN_ATTR, gameSession.getEventsToken());
+		Game game = gameSession.getGame();
 		boolean isActivePlayer = game.isMyTurn(selfReference);
 		if (game.isMyTurn(redPlayer)) {
 			vm.put(ACTIVE_COLOR_ATTR, RED);
@@ -163,9 +166,9 @@ public class GameRoute implements Route {
 		}
 
 		if (selfReference.equals(redPlayer)) {
-			vm.put(BOARD_ATTR, createBoardView(RED, gameID, isActivePlayer));
+			vm.put(BOARD_ATTR, createBoardView(RED, gameSession, isActivePlayer));
 		} else {
-			vm.put(BOARD_ATTR, createBoardView(WHITE, gameID, isActivePlayer));
+			vm.put(BOARD_ATTR, createBoardView(WHITE, gameSession, isActivePlayer));
 		}
 
 		boolean gameIsOver = game.isOver();
@@ -199,40 +202,39 @@ public class GameRoute implements Route {
 		Player competitor =
 				WebServer.lobby.fetchByUsername(competitorName);
 
-		gameID = String.valueOf(GameHelper.getGameID(selfReference));
-		Game game = GameHelper.activeGames.get(gameID);
+		GameSession gameSession;
+		if (competitor != null) {
+			// Not null if client is challenging a competitor
+			// Start the new game, with a new board, under a unique game ID.
+			WebServer.lobby.removePlayer(competitor);
+			WebServer.lobby.removePlayer(selfReference);
+			gameSession = GameHelper.addMatch(competitor, selfReference);
+		} else {
+			gameSession = GameHelper.fetchSession(selfReference);
+		}
 
-		if(game != null) {
-			game.resetResignFlag();
+		if (gameSession != null) {
+			gameSession.getGame().resetResignFlag();
+			gameID = gameSession.getGameID();
+			vm.put(EVENTS_TOKEN_ATTR, gameSession.getEventsToken());
+		} else {
+			gameID = null;
 		}
 
 		vm.put(GAME_ID_ATTR, gameID);
 
 		if (competitor != null) {
-			// Not null if client is challenging a competitor
-			// Create a new board for the game.
-
-			// Add the new game/board entity to the board map
-			BoardDraft newGameBoard = new BoardDraft();
-			GameHelper.updateBoard(gameID, newGameBoard);
-
-			// Create a unique identifier for a game ID.
-			WebServer.lobby.removePlayer(competitor);
-			WebServer.lobby.removePlayer(selfReference);
-			GameHelper.addMatch(competitor, selfReference);
 			vm.put(RED_PLAYER_ATTR, selfReference);
 			vm.put(WHITE_PLAYER_ATTR, competitor);
-			vm.put(BOARD_ATTR, createBoardView(RED, gameID, true));
+			vm.put(BOARD_ATTR, createBoardView(RED, gameSession, true));
 			//vm.put(GAME_REPLAY_KEY_ATTR,GameHelper.getReplayKey(selfReference,competitor));// putting the replayKey for the particular game in the vm
-			Game newGame = new Game(selfReference, competitor);
-			GameHelper.activeGames.put(gameID, newGame);
 		} else {
 			// Client was challenged to a match
 			if (GameHelper.wasChallenged(selfReference)) {
 				competitor = GameHelper.fetchChallenger(selfReference);
 				vm.put(RED_PLAYER_ATTR, competitor);
 				vm.put(WHITE_PLAYER_ATTR, selfReference);
-				vm.put(BOARD_ATTR, createBoardView(WHITE, gameID, false));
+				vm.put(BOARD_ATTR, createBoardView(WHITE, gameSession, false));
 			} else {
 				//Initialize the view
 				vm = new HashMap<>();
@@ -253,6 +255,7 @@ public class GameRoute implements Route {
 		session.attribute(WHITE_PLAYER_ATTR, vm.get(WHITE_PLAYER_ATTR));
 		session.attribute(ACTIVE_COLOR_ATTR, vm.get(ACTIVE_COLOR_ATTR));
 		session.attribute(GAME_ID_ATTR, gameID);
+		session.attribute(GAME_SESSION_ATTR, gameSession);
 		//session.attribute(GAME_REPLAY_KEY_ATTR,GameHelper.getReplayKey(selfReference,competitor));// assigning the replayKey for the new match
 	}
 
@@ -300,48 +303,13 @@ public class GameRoute implements Route {
 
 
 	/**
-	 * Helper function to generate a BoardView object.
-	 * @return A new BoardView object.
+	 * Helper function to fetch the BoardView object of a game.
+	 * The view is shared by every viewer until the board changes.
+	 * @return A shared, read-only BoardView object.
 	 */
-	public static BoardView createBoardView(Piece.PieceColor playerColor, String gameID, boolean isMyTurn) {
-		List<Row> boardRows = new ArrayList<>();
-		Board board;
-
-		// Board must be rotated if player color is red.
-		if (playerColor == RED) {
-			if (isMyTurn) {
-				board = GameHelper.fetchBoard(gameID).getDraft().copyAndRotateBoard();
-			} else {
-				board = GameHelper.fetchBoard(gameID).getLive().copyAndRotateBoard();
-			}
-		} else {
-			if (isMyTurn) {
-				board = GameHelper.fetchBoard(gameID).getDraft();
-			} else {
-				board = GameHelper.fetchBoard(gameID).getLive();
-			}
-		}
-
-
-		for (int rowIdx = 0; rowIdx < BOARD_WIDTH; rowIdx++) {
-			List<Space> spaces = new ArrayList<>();
-
-			for (int spaceIdx = BOARD_WIDTH - 1; spaceIdx >= 0; spaceIdx--) {
-				Position currPos = new Position(spaceIdx, rowIdx);
-				// Alternate every spot to a different color.
-				Spot.Color color = board.getSpotColorAt(currPos);
-
-				Piece piece = board.getPieceAt(currPos);
-
-				// Create new space and add it to the row of spaces.
-				Space space = new Space(spaceIdx, color, piece, rowIdx%7 == 0);
-				spaces.add(space);
-			}
-			// Create a new row and add it to the list of rows (board).
-			Row row = new Row(rowIdx, spaces);
-			boardRows.add(row);
-		}
-		return new BoardView(boardRows);
+	public static BoardView createBoardView(Piece.PieceColor playerColor, GameSession gameSession, boolean isMyTurn) {
+		// Board is shown turned around if player color is red.
+		return GameHelper.fetchBoardView(gameSession, playerColor == RED, isMyTurn);
 	}
 
 
@@ -352,22 +320,49 @@ public class GameRoute implements Route {
 	 * @param user Player object representing current user.
 	 */
 	public static void restoreSessionAttributes(Session session, Player user) {
-		Player competitor = GameHelper.fetchCompetitor(user);
-		Player redPlayer, whitePlayer;
-		String gameID = String.valueOf(GameHelper.getGameID(user));
-		Game game = GameHelper.activeGames.get(gameID);
-		if ( (game.isMyTurn(user) && game.getActiveColor() == RED) ||
-				(game.isMyTurn(competitor) && game.getActiveColor() == WHITE)) {
-			redPlayer = user;
-			whitePlayer = competitor;
-		} else {
-			redPlayer = competitor;
-			whitePlayer = user;
-		}
-		session.attribute(GAME_ID_ATTR, gameID);
-		session.attribute(RED_PLAYER_ATTR, redPlayer);
-		session.attribute(WHITE_PLAYER_ATTR, whitePlayer);
+		GameSession gameSession = GameHelper.fetchSession(user);
+		Game game = gameSession.getGame();
+		session.attribute(GAME_ID_ATTR, gameSession.getGameID());
+		session.attribute(GAME_SESSION_ATTR, gameSession);
+		session.attribute(RED_PLAYER_ATTR, gameSession.getRedPlayer());
+		session.attribute(WHITE_PLAYER_ATTR, gameSession.getWhitePlayer());
 		session.attribute(ACTIVE_COLOR_ATTR, game.getActiveColor());
 		session.attribute(CURRENT_USER_ATTR, user);
 	}
+
+
+	/**
+	 * Fetches the game of the current user through the handle kept in
+	 * their session, looking the game up by its ID only when the handle
+	 * is missing or its game was torn down.
+	 * @param session HTTP session of the user.
+	 * @return GameSession of the user's game, null if it is not active.
+	 */
+	public static GameSession fetchGameSession(Session session) {
+		return fetchGameSession(session, session.attribute(GAME_ID_ATTR));
+	}
+
+
+	/**
+	 * Fetches a game through the handle kept in the user's session
+	 * if it is the game asked for.
+	 * @param session HTTP session of the user.
+	 * @param gameID Unique identification of the game.
+	 * @return GameSession of the game, null if it is not active.
+	 */
+	public static GameSession fetchGameSession(Session session, String gameID) {
+		GameSession gameSession = session.attribute(GAME_SESSION_ATTR);
+		if (gameSession != null && !gameSession.isClosed() && gameSession.getGameID().equals(gameID)) {
+			return gameSession;
+		}
+		boolean cached = gameSession != null;
+		gameSession = GameHelper.fetchSession(gameID);
+		if (gameSession != null && gameID.equals(session.attribute(GAME_ID_ATTR))) {
+			session.attribute(GAME_SESSION_ATTR, gameSession);
+		} else if (cached && gameSession == null) {
+			// drop the handle on a finished game so it can be collected
+			session.removeAttribute(GAME_SESSION_ATTR);
+		}
+		return gameSession;
+	}
 }
\ No newline at end of file
@@ -1,16 +1,18 @@
 package com.webcheckers.ui;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Logger;
 
-import com.webcheckers.model.BoardDraft;
 import com.webcheckers.model.Game;
 import com.webcheckers.model.Player;
 import com.webcheckers.model.PlayerLobby;
 import com.webcheckers.util.GameHelper;
-import com.webcheckers.util.ReplayModule;
+import com.webcheckers.util.GameSession;
+import com.webcheckers.util.ReplayCatalogue;
 import spark.*;
 
 import com.webcheckers.util.Message;
@@ -36,6 +38,9 @@ public class GetHomeRoute implements Route {
   static final String MATCHES_ATTR = "matches";
   static final String CURRENT_MATCH_ATTR = "currentMatch";
   static final String REPLAYS_ATTR = "replays";
+  static final String REPLAY_SEARCH_ATTR = "replaySearch";
+  static final String REPLAY_CURSOR_ATTR = "replayCursor";
+  static final String REPLAY_NEXT_ATTR = "nextReplayCursor";
 
   private final TemplateEngine templateEngine;
 
@@ -78,11 +83,9 @@ public class GetHomeRoute implements Route {
     // Fetch the client-specific user from the session.
     Player currentUser = session.attribute(GameRoute.CURRENT_USER_ATTR);
 
-    //Get the gameID from the session
-    String gameID = session.attribute(GameRoute.GAME_ID_ATTR);
-
-    //Fetch the game
-    Game game = GameHelper.activeGames.get(gameID);
+    //Fetch the game through the handle kept in the session
+    GameSession gameSession = GameRoute.fetchGameSession(session);
+    Game game = (gameSession == null ? null : gameSession.getGame());
     PlayerLobby players = WebServer.lobby;
     //User went home while in an active match
     if(currentUser != null && currentUser.inMatch) {
@@ -90,11 +93,9 @@ public class GetHomeRoute implements Route {
       vm.put(CURRENT_MATCH_ATTR, GameHelper.fetchCompetitor(currentUser));
 
       // Restore draft board if user went home mid move attempt
-      BoardDraft boardDraft = GameHelper.fetchBoard(gameID);
-      // null if user signed out before going home
-      if (boardDraft != null && game.isMyTurn(currentUser)) {
-        boardDraft.hardBoardUpdate(false, true);
-        GameHelper.clearMoves(gameID);
+      // (no game if user signed out before going home)
+      if (gameSession != null && game.isMyTurn(currentUser)) {
+        GameHelper.discardTurn(gameSession);
       }
     }
     //User went home while watching a replay
@@ -109,7 +110,8 @@ public class GetHomeRoute implements Route {
         players.playerJoin(currentUser);
       Player opponent = GameHelper.fetchCompetitor(currentUser);
       if (players.playerExists(opponent)) {
-        GameHelper.clearGameData(gameID, currentUser, opponent);
+        GameHelper.clearGameData(gameSession.getGameID(), currentUser, opponent);
+        session.removeAttribute(GameRoute.GAME_SESSION_ATTR);
       }
     } else {
       // Check if a user is signed in.
@@ -135,8 +137,26 @@ public class GetHomeRoute implements Route {
       vm.put(MATCHES_ATTR, GameHelper.fetchMatches());
     }
 
-    //TODO: Create replay module and uncomment this line
-    vm.put(REPLAYS_ATTR, ReplayModule.getAllGames());
+    // one page of the replay catalogue, so that no replay is read back to render the page
+    String replaySearch = request.queryParams(REPLAY_SEARCH_ATTR);
+    replaySearch = replaySearch == null ? "" : replaySearch.trim();
+    long replayCursor;
+    try {
+      String cursor = request.queryParams(REPLAY_CURSOR_ATTR);
+      replayCursor = cursor == null ? ReplayCatalogue.FIRST_PAGE : Long.parseLong(cursor);
+    } catch (NumberFormatException e) {
+      replayCursor = ReplayCatalogue.FIRST_PAGE;
+    }
+    ReplayCatalogue.Page replays = GameHelper.fetchReplays(replaySearch, replayCursor);
+    List<String> replayKeys = new ArrayList<>(replays.getEntries().size());
+    for (ReplayCatalogue.Entry entry : replays.getEntries()) {
+      replayKeys.add(entry.getReplayKey());
+    }
+    vm.put(REPLAYS_ATTR, replayKeys);
+    vm.put(REPLAY_SEARCH_ATTR, replaySearch);
+    if (replays.hasNext()) {
+      vm.put(REPLAY_NEXT_ATTR, replays.getNextCursor());
+    }
     // render the View
     return templateEngine.render(new ModelAndView(vm, "home.ftl"));
   }
@@ -4,9 +4,8 @@ import com.google.gson.Gson;
 import com.webcheckers.model.*;
 import com.webcheckers.util.Replay;
 import com.webcheckers.util.ReplayModule;
+import com.webcheckers.util.ReplayRecord;
 import com.webcheckers.view.BoardView;
-import com.webcheckers.view.Row;
-import com.webcheckers.view.Space;
 import spark.*;
 
 import java.util.*;
@@ -22,13 +21,15 @@ import static com.webcheckers.model.Piece.PieceColor.WHITE;
  */
 public class GetReplayStartWatchingRoute implements Route {
 
-    private static final int BOARD_WIDTH = 8;
     private Gson gson;
     public static final String MODE_OPTIONS_ATTR = "modeOptionsAsJSON";
     public static final String GAME_REPLAY_KEY_ATTR="replay-match";
     public static final String REPLAY_NEXT_ATTR="hasNext";
     public static final String REPLAY_PREVIOUS_ATTR="hasPrevious";
+    public static final String REPLAY_TURN_COUNT_ATTR="turnCount";
     public static final String REPLAY_BOARD_VIEW="boardView";
+    // Session attribute holding the viewer's position in the replay being watched.
+    public static final String REPLAY_ATTR="replay";
 
     private final TemplateEngine templateEngine;
 
@@ -61,16 +62,15 @@ public class GetReplayStartWatchingRoute implements Route {
 
         currentUser.inReplay = true;
 
-        Replay replay;
+        // every viewer of the game shares its record; the session only keeps a cursor on it
+        ReplayRecord record = ReplayModule.getReplayGame(replayKey);
+        Replay replay = session.attribute(REPLAY_ATTR);
 
-        if (currentUser.replay == null) {
-            replay = new Replay(ReplayModule.getReplayGame(replayKey));
-        } else {
-            replay = currentUser.replay;
+        if (replay == null || replay.getRecord() != record) {
+            replay = new Replay(record);
+            session.attribute(REPLAY_ATTR, replay);
         }
 
-        currentUser.replay = replay;
-
 
         Board replayBoard = replay.getBoard();
 
@@ -113,6 +113,7 @@ public class GetReplayStartWatchingRoute implements Route {
 
         modeOptions.put(REPLAY_NEXT_ATTR, !replay.reachedEnd());
         modeOptions.put(REPLAY_PREVIOUS_ATTR, !replay.atStart());
+        modeOptions.put(REPLAY_TURN_COUNT_ATTR, replay.getTurnCount());
         vm.put(MODE_OPTIONS_ATTR, gson.toJson(modeOptions));
 
         return templateEngine.render(new ModelAndView(vm, "game.ftl"));
@@ -123,28 +124,8 @@ public class GetReplayStartWatchingRoute implements Route {
      * @return A new BoardView object.
      */
     public static BoardView createBoardView(Board board, Piece.PieceColor playerColor, String replayKey) {
-        List<Row> boardRows = new ArrayList<>();
-
-        if(playerColor == RED)
-            board = board.copyAndRotateBoard();
-
-        for (int rowIdx = 0; rowIdx < BOARD_WIDTH; rowIdx++) {
-            List<Space> spaces = new ArrayList<>();
-            for (int spaceIdx = 0; spaceIdx < BOARD_WIDTH; spaceIdx++) {
-                // Alternate every spot to a different color.
-                Spot.Color color = board.getSpotColorAt(new Position(spaceIdx, rowIdx));
-
-                Piece piece = board.getPieceAt(new Position(spaceIdx, rowIdx));
-
-                // Create new space and add it to the row of spaces.
-                Space space = new Space(spaceIdx, color, piece, rowIdx%7 == 0);
-                spaces.add(space);
-            }
-            // Create a new row and add it to the list of rows (board).
-            Row row = new Row(rowIdx, spaces);
-            boardRows.add(row);
-        }
-        return new BoardView(boardRows);
+        // Board is shown turned around if player color is red.
+        return BoardView.of(board, playerColor == RED, false);
     }
 
 }
@@ -2,9 +2,7 @@ package com.webcheckers.ui;
 
 import com.google.gson.Gson;
 import com.webcheckers.model.Player;
-import com.webcheckers.util.GameHelper;
 import com.webcheckers.util.Message;
-import com.webcheckers.util.Replay;
 import spark.Request;
 import spark.Response;
 import spark.Route;
@@ -14,7 +12,7 @@ import spark.TemplateEngine;
 import java.util.Objects;
 import java.util.logging.Logger;
 
-import static com.webcheckers.ui.GetReplayStartWatchingRoute.GAME_REPLAY_KEY_ATTR;
+import static com.webcheckers.ui.GetReplayStartWatchingRoute.REPLAY_ATTR;
 
 
 public class GetReplayStopWatchingRoute implements Route {
@@ -36,10 +34,8 @@ public class GetReplayStopWatchingRoute implements Route {
 
         Player currentUser = request.session().attribute(GameRoute.CURRENT_USER_ATTR);
 
-        //resetting the replayModule to the initial stage
-        String replayKey=request.session().attribute(GAME_REPLAY_KEY_ATTR);
-        Replay replay=GameHelper.getReplay(replayKey);
-        replay.resetReplay();
+        //dropping the viewer's position; the replay itself is shared and never changes
+        request.session().removeAttribute(REPLAY_ATTR);
 
         //add the player back to the lobby
         WebServer.lobby.playerJoin(currentUser);
@@ -1,9 +1,8 @@
 package com.webcheckers.ui;
 
-import com.webcheckers.model.BoardDraft;
-import com.webcheckers.model.Game;
 import com.webcheckers.model.Player;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
 import spark.*;
 
 import java.util.Objects;
@@ -42,21 +41,18 @@ public class GetSignoutRoute implements Route {
         //Remove the player from the lobby
         // handing over the exited player's session attributes
         Player exitedPlayer = session.attribute(GameRoute.CURRENT_USER_ATTR);
-        WebServer.lobby.removePlayer(exitedPlayer);
 
+        // no player if the session was cleared after an idle sign out
+        if (exitedPlayer != null) {
+            //Free up the username
+            WebServer.lobby.signOut(exitedPlayer);
 
-        //Free up the username
-        WebServer.reservedUsernames.remove(exitedPlayer.getUsername());
-
-
-        if (exitedPlayer.inMatch) {
-            // Restore draft board if user signed-out mid move attempt
-            String gameID = String.valueOf(GameHelper.getGameID(exitedPlayer));
-            Game game = GameHelper.activeGames.get(gameID);
-            if (game.isMyTurn(exitedPlayer)) {
-                BoardDraft boardDraft = GameHelper.fetchBoard(gameID);
-                boardDraft.hardBoardUpdate(false, true);
-                GameHelper.clearMoves(gameID);
+            if (exitedPlayer.inMatch) {
+                // Restore draft board if user signed-out mid move attempt
+                GameSession gameSession = GameHelper.fetchSession(exitedPlayer);
+                if (gameSession != null && gameSession.getGame().isMyTurn(exitedPlayer)) {
+                    GameHelper.discardTurn(gameSession);
+                }
             }
         }
 
@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.webcheckers.model.Game;
 import com.webcheckers.model.Player;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
 import com.webcheckers.util.Message;
 import spark.*;
 
@@ -30,6 +31,9 @@ public class GetSpectatorGame implements Route {
     public static final String GAME_ID_ATTR = "gameID";
     public static final String BOARD_ATTR = "board";
     public static final String SPECTATE_GAME_ID = "spectateGameID";
+    public static final String SPECTATE_VERSION_ATTR = "spectateVersion";
+    public static final String VERSION_ATTR = "version";
+    public static final String EVENTS_TOKEN_ATTR = "eventsToken";
     private static final String GAME_OVER_MSG_ATTR = "gameOverMessage";
     private static final String MODE_OPTIONS_ATTR = "modeOptionsAsJSON";
     private static final String GAME_OVER_ATTR = "isGameOver";
@@ -76,22 +80,28 @@ public class GetSpectatorGame implements Route {
 
             //Gets the two names of the players you are spectating
             String twoNames = request.queryParams(SPECTATOR_ATTR);
-            Player player1 = WebServer.allPlayers.get(twoNames.split(" challenged by ")[0]);
-            Player player2 = WebServer.allPlayers.get(twoNames.split(" challenged by ")[1]);
+            Player player1 = WebServer.lobby.fetchKnownPlayer(twoNames.split(" challenged by ")[0]);
+            Player player2 = WebServer.lobby.fetchKnownPlayer(twoNames.split(" challenged by ")[1]);
 
             //Gets the game id and game of the spectated game
-            String gameID = String.valueOf(GameHelper.getGameID(player1));
-            Game spectatedGame = GameHelper.activeGames.get(gameID);
+            GameSession spectatedSession = GameHelper.fetchSession(player1);
+            Game spectatedGame = (spectatedSession == null ? null : spectatedSession.getGame());
 
             if (spectatedGame == null) {
                 response.redirect(WebServer.SPECTATE_LEAVE_URL);
                 return null;
             }
+            String gameID = spectatedSession.getGameID();
 
             vm.put(GAME_ID_ATTR, gameID);
+            vm.put(EVENTS_TOKEN_ATTR, spectatedSession.getEventsToken());
             vm.put(RED_PLAYER_ATTR, player2);
             vm.put(WHITE_PLAYER_ATTR, player1);
             session.attribute(SPECTATE_GAME_ID, gameID);
+            // read before the board, so a turn committed while rendering is not missed
+            long version = spectatedSession.getVersion();
+            session.attribute(SPECTATE_VERSION_ATTR, version);
+            vm.put(VERSION_ATTR, version);
 
 
             //Checks who's turn it is
@@ -101,7 +111,7 @@ public class GetSpectatorGame implements Route {
                 vm.put(ACTIVE_COLOR_ATTR, WHITE);
             }
             //Display for the board
-            vm.put(BOARD_ATTR, GameRoute.createBoardView(RED, gameID, false));
+            vm.put(BOARD_ATTR, GameRoute.createBoardView(RED, spectatedSession, false));
             if(spectatedGame.isOver()){
                 final Map<String, Object> modeOptions = new HashMap<>(2);
 
@@ -39,12 +39,10 @@ public class ReplayNextTurnRoute implements Route {
         // taking the key from the session
         Session session=request.session();
 
-        Player viewer = session.attribute(GameRoute.CURRENT_USER_ATTR);
-
-        Replay replay= viewer.replay; // has the replay object with all the turns
+        Replay replay = session.attribute(REPLAY_ATTR); // the viewer's position in the replay
         Message message;
 
-        if(replay.takeTurnNext()) {
+        if(replay != null && replay.takeTurnNext()) {
             message=Message.info("true");
         }else{
             message=Message.error("Next move is not available");
@@ -41,10 +41,9 @@ public class ReplayPreviousTurnRoute implements Route {
 
         Session session=request.session();
 
-        Player viewer = session.attribute(GameRoute.CURRENT_USER_ATTR);
-        Replay replay= viewer.replay;
+        Replay replay = session.attribute(REPLAY_ATTR); // the viewer's position in the replay
 
-        if(replay.takeTurnPrevious()) {
+        if(replay != null && replay.takeTurnPrevious()) {
             message = Message.info("true");
         }
         else{
@@ -0,0 +1,57 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.util.Message;
+import com.webcheckers.util.Replay;
+import spark.*;
+
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * UI Controller for Replay Mode that will move the board straight to any turn of the game,
+ * given as {@code /replay/seek?turn=k} (0 for the starting board)
+ */
+public class ReplaySeekRoute implements Route {
+    private static final Logger LOG = Logger.getLogger(ReplaySeekRoute.class.getName());
+
+    // Parameter holding the number of the turn to show.
+    public static final String TURN_PARAM = "turn";
+
+    private final TemplateEngine templateEngine;
+    private final Gson gson;
+
+    /**
+     * Creates Spark Route for all ReplaySeek HTTP requests.
+     * @param templateEngine The HTML template rendering engine.
+     */
+    public ReplaySeekRoute(TemplateEngine templateEngine) {
+        this.templateEngine = Objects.requireNonNull(templateEngine, "templateEngine is required");
+        LOG.config("ReplaySeekRoute is initialized");
+        this.gson = new Gson();
+    }
+
+    @Override
+    public Object handle(Request request, Response response) {
+        LOG.finer("ReplaySeekRoute is invoked");
+
+        Session session = request.session();
+        Replay replay = session.attribute(GetReplayStartWatchingRoute.REPLAY_ATTR);
+
+        int turn;
+        try {
+            turn = Integer.parseInt(request.queryParams(TURN_PARAM));
+        } catch (NumberFormatException e) {
+            turn = -1;
+        }
+
+        Message message;
+        if (replay != null && replay.seek(turn)) {
+            message = Message.info("true");
+        } else {
+            message = Message.error("Turn " + request.queryParams(TURN_PARAM) + " is not part of the game");
+        }
+        return gson.toJson(message);
+    }
+
+}
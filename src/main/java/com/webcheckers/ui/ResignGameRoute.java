@@ -1,9 +1,9 @@
 package com.webcheckers.ui;
 
 import com.google.gson.Gson;
-import com.webcheckers.model.Game;
 import com.webcheckers.model.Player;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
 import com.webcheckers.util.Message;
 import spark.*;
 
@@ -44,21 +44,27 @@ public class ResignGameRoute implements Route {
         //Get the current player object
         Player player = request.session().attribute("player");
 
-        String gameID = request.session().attribute(GameRoute.GAME_ID_ATTR);
+        GameSession gameSession = GameRoute.fetchGameSession(request.session());
 
+        // the resignation is run on the game's mailbox, after any pending move or submit
+        return GameHelper.execute(gameSession, () -> resign(player, gameSession));
+    }
+
+
+    /**
+     * Resigns a player from their game.
+     * @param player Player that is resigning.
+     * @param gameSession State of the player's game.
+     * @return JSON message confirming the resignation.
+     */
+    private String resign(Player player, GameSession gameSession) {
         //Successful resignation message
         Message message = Message.info("GAME RESIGNATION SUCCESSFUL");
 
-        Game game = GameHelper.activeGames.get(gameID);
-
         //Resign from the game and let the server know that this player is no longer in a match
-        game.resign(player);
+        GameHelper.resign(gameSession, player);
         player.inMatch = false;
 
-        //If I resigned on my turn, change turns to reflect the resignation on the other player's screen
-        if(game.isMyTurn(player))
-            game.changeTurn();
-
         return gson.toJson(message);
     }
 }
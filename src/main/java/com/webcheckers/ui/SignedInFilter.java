@@ -0,0 +1,40 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.model.Player;
+import spark.*;
+
+/**
+ * The filter run before every route, keeping the signed-in player of
+ * a session seen.
+ *
+ * <p>
+ * A session whose player was signed out meanwhile, such as by the idle
+ * sweep, is cleared before any route sees it: its username may have been
+ * taken by someone else since, and the player must sign in again.
+ * </p>
+ */
+public class SignedInFilter implements Filter {
+
+    /**
+     * Records that the player of the session was seen, or clears the
+     * session if they are no longer signed in from it.
+     * @param request The HTTP request being handled.
+     * @param response The HTTP response to the request.
+     */
+    @Override
+    public void handle(Request request, Response response) {
+        Session session = request.session(false);
+        if (session == null) {
+            return;
+        }
+        Player player = session.attribute(GameRoute.CURRENT_USER_ATTR);
+        if (player == null) {
+            return;
+        }
+        if (WebServer.lobby.isSignedIn(player, session.id())) {
+            WebServer.lobby.touch(player);
+        } else {
+            session.invalidate();
+        }
+    }
+}
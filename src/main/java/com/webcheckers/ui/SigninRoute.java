@@ -27,7 +27,8 @@ public class SigninRoute implements Route {
 
     private final TemplateEngine templateEngine;
 
-    private Player player;
+    // Seconds a signed-in session lasts without a request, -1 for the server's default.
+    private final int sessionTimeout;
 
     //View-model attributes
     static final String SIGNIN_TITLE = "Sign In";
@@ -43,7 +44,20 @@ public class SigninRoute implements Route {
      *   the HTML template rendering engine
      */
     public SigninRoute(final TemplateEngine templateEngine) {
+        this(templateEngine, -1);
+    }
+
+    /**
+     * Create the Spark Route (UI controller) to handle all {@code GET /} HTTP requests.
+     *
+     * @param templateEngine
+     *   the HTML template rendering engine
+     * @param sessionTimeout
+     *   seconds a signed-in session lasts without a request, -1 for the server's default
+     */
+    public SigninRoute(final TemplateEngine templateEngine, final int sessionTimeout) {
         this.templateEngine = Objects.requireNonNull(templateEngine, "templateEngine is required");
+        this.sessionTimeout = sessionTimeout;
         //
         LOG.config("SigninRoute is initialized.");
     }
@@ -76,9 +90,8 @@ public class SigninRoute implements Route {
 
             Session session = request.session();
 
-            // Get username input and create a new Player object.
+            // Get username input.
             String username = request.queryParams("userName");
-            player = new Player(username);
 
             // Initialize View
             Map<String, Object> vm;
@@ -93,8 +106,8 @@ public class SigninRoute implements Route {
                 // render the View
                 return templateEngine.render(new ModelAndView(vm , SIGNIN_FORM_VIEW));
             }
-            //Check if the username is taken
-            else if(WebServer.reservedUsernames.contains(player.getUsername())) {
+            //Check if the username is taken, signing in with it otherwise
+            else if(WebServer.lobby.signIn(username, session.id()) == null) {
                 //Initialize view
                 vm = new HashMap<>();
 
@@ -108,13 +121,11 @@ public class SigninRoute implements Route {
             }
             else {
                 PlayerLobby players = WebServer.lobby;
-                player = WebServer.allPlayers.get(username);
-                if (player == null) {
-                    player = new Player(username);
-                    players.playerJoin(player);
-                    WebServer.allPlayers.put(username, player);
-                }
+                Player player = players.fetchKnownPlayer(username);
                 session.attribute("player", player);
+                if (sessionTimeout > 0) {
+                    session.maxInactiveInterval(sessionTimeout);
+                }
                 // Initialize View
                 vm = new HashMap<>();
 
@@ -124,9 +135,6 @@ public class SigninRoute implements Route {
 
                 session.attribute("players", players);
 
-                //Add the username to the list of reserved usernames
-                WebServer.reservedUsernames.add(player.getUsername());
-
                 // Fetch username from session.
                 session.attribute(GameRoute.CURRENT_USER_ATTR, player);
 
@@ -1,57 +1,56 @@
 package com.webcheckers.ui;
 
 import com.google.gson.Gson;
-import com.webcheckers.model.BoardDraft;
-import com.webcheckers.model.Game;
-import com.webcheckers.model.Player;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
 import com.webcheckers.util.Message;
 import spark.*;
 
 import java.util.Objects;
 import java.util.logging.Logger;
 
-import static com.webcheckers.ui.GetSpectatorGame.CURRENT_USER_ATTR;
-
+/**
+ * The UI controller to check if a spectated game has changed.
+ *
+ * <p>
+ * GetSpectatorGame records the version of the game it rendered in the
+ * spectator's session. While the game is still at that version the
+ * route answers with a constant "unchanged" message, so a poll costs a
+ * session lookup and a version comparison however many games are
+ * being spectated.
+ * </p>
+ */
 public class SpectateCheckTurnRoute implements Route {
 
     private TemplateEngine templateEngine;
     private static final Logger LOG=Logger.getLogger(CheckTurnRoute.class.getName());
     private Gson gson;
-    private boolean gameIsOver = true;
+
+    // Answers shared by every poll.
+    private final String unchanged;
+    private final String changed;
 
     public SpectateCheckTurnRoute(TemplateEngine templateEngine){
         this.templateEngine = Objects.requireNonNull(templateEngine, "templateEngine is required");
         LOG.config("SpectateCheckTurnRoute is initialized");
         gson = new Gson();
+        unchanged = gson.toJson(Message.info("false"));
+        changed = gson.toJson(Message.info("true"));
     }
 
     @Override
     public Object handle(Request request, Response response) throws Exception {
         LOG.finer("SpectateCheckTurnRoute has been invoked");
-        Message message;
         Session session = request.session();
 
         String gameID = session.attribute(GetSpectatorGame.SPECTATE_GAME_ID);
+        Long seenVersion = session.attribute(GetSpectatorGame.SPECTATE_VERSION_ATTR);
 
-        Player self = session.attribute(CURRENT_USER_ATTR);
-
-        Game game = GameHelper.activeGames.get(gameID);
-        if (session.attribute(SubmitTurnRoute.SUBMIT_ATTR) != null) {
-            session.removeAttribute(SubmitTurnRoute.SUBMIT_ATTR);
-            message = Message.info("false");
-            BoardDraft.spectateBoardUpdate = false;
-        }
-        else if(BoardDraft.spectateBoardUpdate) {
-            message = Message.info("true");
-            BoardDraft.spectateBoardUpdate = false;
-        }
-        else if (game != null && gameIsOver && game.isOver()){
-            message = Message.info("true");
-            gameIsOver = false;
+        GameSession game = GameHelper.fetchSession(gameID);
+        // a game that has been torn down has changed for good
+        if (game == null || seenVersion == null || game.getVersion() != seenVersion) {
+            return changed;
         }
-        else
-            message = Message.info("false");
-        return gson.toJson(message);
+        return unchanged;
     }
 }
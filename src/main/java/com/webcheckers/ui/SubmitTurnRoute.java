@@ -1,17 +1,16 @@
 package com.webcheckers.ui;
 
 import com.google.gson.Gson;
-import com.webcheckers.model.*;
+import com.webcheckers.model.Game;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
 import com.webcheckers.util.Message;
-import com.webcheckers.util.MoveValidation;
 import spark.*;
 
 import java.util.Objects;
 import java.util.logging.Logger;
 
 import static com.webcheckers.ui.GameRoute.ACTIVE_COLOR_ATTR;
-import static com.webcheckers.ui.GameRoute.GAME_ID_ATTR;
 
 /**
  * Handles the Submit Turn HTTP request
@@ -25,6 +24,7 @@ public class SubmitTurnRoute implements Route {
 	private final TemplateEngine templateEngine;
 	private static final String JUMP_AVAILABLE_MESSAGE = "Jumps are available!";
 	private static final String TURN_END_MESSAGE = "You have ended your turn.";
+	private static final String NO_MOVE_MESSAGE = "You have not made a move.";
 	private final Gson gson;
 
 
@@ -50,42 +50,33 @@ public class SubmitTurnRoute implements Route {
 		LOG.finer("SubmitTurn has been invoked");
 		Session session = request.session();
 
-		session.attribute(SUBMIT_ATTR, true);
-		String gameID = session.attribute(GAME_ID_ATTR);
-		Move recentMove = GameHelper.popMove(gameID);
-		GameHelper.pushMove(gameID, recentMove);
-		Position endPosition = recentMove.getEnd();
-		MoveValidation.MoveType moveType = session.attribute(ValidateMoveRoute.MOVE_TYPE_ATTR);
-
-
-		if (moveType == MoveValidation.MoveType.STANDARD_SINGLE ||
-				moveType == MoveValidation.MoveType.STANDARD_KING) {
-			if (!MoveValidation.hadNoJump(gameID)) {
-				return gson.toJson(Message.error(JUMP_AVAILABLE_MESSAGE));
-			}
-		} else if (!GameHelper.previousMoveWasStandard(gameID) &&
-				MoveValidation.hasJumpsAvailable(gameID, endPosition, recentMove)) {
-			return gson.toJson(Message.error(JUMP_AVAILABLE_MESSAGE));
-		}
+		GameSession gameSession = GameRoute.fetchGameSession(session);
 
-		Game game = GameHelper.activeGames.get(gameID);
-		// storing the moves before we remove the pieces.
-		GameHelper.storeMoves(session.attribute(GAME_ID_ATTR));
-		GameHelper.removePieces(session.attribute(GAME_ID_ATTR), game);// removing all the pieces here
+		// the turn is committed on the game's mailbox, after any move still being validated
+		return GameHelper.execute(gameSession, () -> submitTurn(session, gameSession));
+	}
 
-		Board draft  = GameHelper.fetchBoard(gameID).getDraft();
-		if (draft.getPosition(endPosition).isNewKing()) {
-			Piece king = draft.getPieceAt(endPosition);
-			king.setKing(true);
-			GameHelper.refreshBoard(gameID, true);
-		} else {
-			GameHelper.refreshBoard(gameID, false);
 
+	/**
+	 * Commits the moves of the current turn to the live board
+	 * and hands the turn to the other player.
+	 * @param session Session of the user submitting the turn.
+	 * @param gameSession State of the user's game, null if it is not active.
+	 * @return JSON message describing the outcome of the submission.
+	 */
+	private String submitTurn(Session session, GameSession gameSession) {
+		if (gameSession == null || gameSession.numberOfMoves() == 0) {
+			return gson.toJson(Message.error(NO_MOVE_MESSAGE));
+		}
+		// The turn must be one of the legal turns as a whole; a
+		// capture that can still be continued is only a prefix of one.
+		if (!gameSession.getLegalMoves().isComplete(gameSession.getMoves())) {
+			return gson.toJson(Message.error(JUMP_AVAILABLE_MESSAGE));
 		}
 
-		game.changeTurn();
+		session.attribute(SUBMIT_ATTR, true);
+		Game game = GameHelper.commitTurn(gameSession);
 		session.attribute(ACTIVE_COLOR_ATTR, game.getActiveColor());
-		GameHelper.turnOver(session.attribute(GameRoute.GAME_ID_ATTR));
 		return gson.toJson(Message.info(TURN_END_MESSAGE));
 	}
 }
\ No newline at end of file
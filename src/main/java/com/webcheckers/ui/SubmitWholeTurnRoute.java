@@ -0,0 +1,150 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.webcheckers.model.*;
+import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
+import com.webcheckers.util.LegalMoves;
+import com.webcheckers.util.Message;
+import spark.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import static com.webcheckers.model.Piece.PieceColor.RED;
+import static com.webcheckers.ui.GameRoute.ACTIVE_COLOR_ATTR;
+import static com.webcheckers.ui.GameRoute.GAME_ID_ATTR;
+
+/**
+ * The UI Controller to play a whole turn in one request.
+ *
+ * <p>
+ * The request carries every move of the turn, in order, as seen on the
+ * player's screen. The moves are checked as a whole against the legal
+ * turns of the committed board and the turn is either committed or
+ * rejected, leaving the game as it was. This replaces one
+ * {@code /validateMove} request per move followed by {@code /submitTurn}.
+ * </p>
+ */
+public class SubmitWholeTurnRoute implements Route {
+
+	private static final Logger LOG = Logger.getLogger(SubmitWholeTurnRoute.class.getName());
+	private static final String ACTION_ATTR = "actionData";
+	private static final String PLAYER_ATTR = "player";
+	private static final String NOT_YOUR_TURN_MESSAGE = "It is not your turn.";
+	private static final String NO_MOVE_MESSAGE = "You have not made a move.";
+	private static final String JUMP_AVAILABLE_MESSAGE = "Jumps are available!";
+	private static final String TURN_END_MESSAGE = "You have ended your turn.";
+	private final TemplateEngine templateEngine;
+	private final Gson gson;
+
+
+	/**
+	 * Constructs a new Route object for handling whole turn requests.
+	 * @param templateEngine The HTML template rendering engine.
+	 */
+	public SubmitWholeTurnRoute(final TemplateEngine templateEngine) {
+		this.templateEngine = Objects.requireNonNull(templateEngine, "templateEngine is required");
+		LOG.config("SubmitWholeTurnRoute is initialized.");
+		gson = new Gson();
+	}
+
+
+	/**
+	 * Handles the whole turn HTTP request.
+	 * @param request HTTP Request
+	 * @param response HTTP Response
+	 * @return JSON object containing a Message, INFO if the turn was committed.
+	 */
+	@Override
+	public Object handle(Request request, Response response) {
+		LOG.finer("SubmitWholeTurnRoute is invoked.");
+		Session session = request.session();
+		Player player = session.attribute(PLAYER_ATTR);
+
+		String gameID = request.queryParams(GAME_ID_ATTR);
+		if (gameID == null) {
+			gameID = session.attribute(GAME_ID_ATTR);
+		}
+
+		Move[] moves;
+		try {
+			moves = gson.fromJson(request.queryParams(ACTION_ATTR), Move[].class);
+		} catch (JsonParseException e) {
+			return gson.toJson(Message.getInvalidMoveMessage());
+		}
+
+		GameSession gameSession = GameRoute.fetchGameSession(session, gameID);
+		// the whole turn is one command on the game's mailbox
+		return GameHelper.execute(gameSession, () -> submitWholeTurn(session, gameSession, player, moves));
+	}
+
+
+	/**
+	 * Checks a whole turn against the legal turns of the committed
+	 * board and commits it if it is one of them.
+	 * @param session Session of the user playing the turn.
+	 * @param gameSession State of the game, null if it is not active.
+	 * @param player Player playing the turn.
+	 * @param moves Moves of the turn, as seen on the player's screen.
+	 * @return JSON message describing the outcome of the turn.
+	 */
+	private String submitWholeTurn(Session session, GameSession gameSession, Player player, Move[] moves) {
+		if (gameSession == null || player == null || !gameSession.getGame().isMyTurn(player)) {
+			return gson.toJson(Message.error(NOT_YOUR_TURN_MESSAGE));
+		}
+		if (moves == null || moves.length == 0) {
+			return gson.toJson(Message.error(NO_MOVE_MESSAGE));
+		}
+
+		// The red player sees the board turned around.
+		boolean inverted = gameSession.getGame().getActiveColor() == RED;
+		List<Move> turn = new ArrayList<>(moves.length);
+		for (Move move : moves) {
+			if (move == null || move.getStart() == null || move.getEnd() == null) {
+				return gson.toJson(Message.getInvalidMoveMessage());
+			}
+			turn.add(inverted ? move.invertMove() : Move.of(move));
+		}
+
+		LegalMoves legalMoves = gameSession.getLegalMoves();
+		if (!legalMoves.isComplete(turn)) {
+			return gson.toJson(rejectTurn(legalMoves, turn));
+		}
+
+		// Replay the turn on a draft of the committed board, dropping
+		// any move already made one at a time through /validateMove.
+		GameHelper.discardTurn(gameSession);
+		BoardDraft boardDraft = gameSession.getBoardDraft();
+		for (Move move : turn) {
+			boardDraft.updateDraft(move, false);
+			gameSession.pushMove(move);
+		}
+
+		session.attribute(SubmitTurnRoute.SUBMIT_ATTR, true);
+		Game game = GameHelper.commitTurn(gameSession);
+		session.attribute(ACTIVE_COLOR_ATTR, game.getActiveColor());
+		return gson.toJson(Message.info(TURN_END_MESSAGE));
+	}
+
+
+	/**
+	 * Explains why a turn that is not one of the legal turns was rejected.
+	 * @param legalMoves Every legal turn available to the player.
+	 * @param turn Moves of the rejected turn.
+	 * @return ERROR message describing the rule that the turn broke.
+	 */
+	private Message rejectTurn(LegalMoves legalMoves, List<Move> turn) {
+		if (legalMoves.isPrefix(turn)) {
+			// a capture that can still be continued
+			return Message.error(JUMP_AVAILABLE_MESSAGE);
+		}
+		if (legalMoves.isCaptureRequired()) {
+			return Message.getJumpMoveAvailableMessage(legalMoves.findCapture());
+		}
+		return Message.getInvalidMoveMessage();
+	}
+}
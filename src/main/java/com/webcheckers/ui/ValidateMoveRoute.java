@@ -3,6 +3,8 @@ package com.webcheckers.ui;
 import com.google.gson.Gson;
 import com.webcheckers.model.*;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
+import com.webcheckers.util.LegalMoves;
 import com.webcheckers.util.Message;
 import com.webcheckers.util.MoveValidation;
 import spark.*;
@@ -26,7 +28,6 @@ public class ValidateMoveRoute implements Route {
 	private final Gson gson;
 
 	public static final String MOVE_ATTR = "move";
-	public static final String MOVE_TYPE_ATTR = "moveType";
 	private static final String ACTION_ATTR = "actionData";
 
 	/**
@@ -53,118 +54,116 @@ public class ValidateMoveRoute implements Route {
 		Session session = request.session();
 
 		String gameID = request.queryParams(GameRoute.GAME_ID_ATTR);
+		GameSession gameSession = GameRoute.fetchGameSession(session, gameID);
 
 		// Fetch the move object outlining the players decision.
 		String actionData = request.queryParams(ACTION_ATTR);
 		Move move = gson.fromJson(actionData, Move.class);
 
+		// Moves of a game are validated one at a time on the game's mailbox.
+		return GameHelper.execute(gameSession, () -> validateMove(session, gameSession, move));
+	}
+
 
+	/**
+	 * Validates a move against the legal turns of the active user and,
+	 * if it is part of one, applies it to the draft board.
+	 * @param session Session of the user making the move.
+	 * @param gameSession State of the game the move is made in.
+	 * @param move Move made by the user, as seen on their screen.
+	 * @return JSON message describing the outcome of the move.
+	 */
+	private String validateMove(Session session, GameSession gameSession, Move move) {
 		// Fetch the game board in question.
-		BoardDraft boardDraft = GameHelper.fetchBoard(gameID);
+		BoardDraft boardDraft = gameSession.getBoardDraft();
 		Board gameBoard = boardDraft.getDraft();
 
-		Game game = GameHelper.activeGames.get(gameID);
+		Game game = gameSession.getGame();
 
 
 		if (game.getActiveColor() == RED) {
 			move = move.invertMove();
+		} else {
+			// keep the shared instance rather than the one parsed from JSON
+			move = Move.of(move);
 		}
 		// Declare the response to the move.
 		Message message;
 
-		// Fetch unique identifier for current game.
+		if (gameBoard.spotEmpty(move.getStart())) {
+			return gson.toJson(Message.getInvalidMoveMessage());
+		}
 
-		// Fetch the type of move that was made and by what type
-		MoveValidation.MoveType moveType =
-				MoveValidation.determineMoveType(gameBoard, move);
+		// Every legal turn from the start of this turn, cached until the turn is submitted.
+		LegalMoves legalMoves = gameSession.getLegalMoves();
 
-		if (isRedundantMove(move, gameID)) {
-			message = Message.getNoBacktrackingMessage();
-		} else {
-			// Evaluate the move made by the user.
-			message = evaluateMove(moveType, gameBoard, move, gameID);
+		List<Move> turnSoFar = new ArrayList<>(gameSession.getMoves());
+		turnSoFar.add(move);
 
-			// Handle the message information returned to the view.
-			if (message.isSuccessful()) {
-				GameHelper.pushMove(gameID, move); // adding the moves into the list as the move was valid
-				boardDraft.updateDraft(move, false);
-				GameHelper.updateBoard(gameID, boardDraft);
+		if (isRedundantMove(move, gameSession)) {
+			message = Message.getNoBacktrackingMessage();
+		} else if (legalMoves.isPrefix(turnSoFar)) {
+			message = Message.getValidMoveMessage();
+			gameSession.pushMove(move); // adding the moves into the list as the move was valid
+			boardDraft.updateDraft(move, false);
+			gameSession.setBoardDraft(boardDraft);
 
-				session.attribute(MOVE_ATTR, move);
-				session.attribute(MOVE_TYPE_ATTR, moveType);
-			}
+			session.attribute(MOVE_ATTR, move);
+		} else {
+			// Fetch the type of move that was made to explain why it was rejected
+			MoveValidation.MoveType moveType =
+					MoveValidation.determineMoveType(gameBoard, move);
+			message = rejectMove(moveType, legalMoves, gameSession);
 		}
 		return gson.toJson(message);
 	}
 
 	/**
-	 * Determines if a move made by the active user is valid or not.
-	 * @param board The current game board before the move was made
-	 *              by the user.
-	 * @param move The move by the user, containing the position
-	 *             move from and the position that was moved to.
-	 * @return INFO if the move that was made is valid as per
-	 * 		   the standard rule-set of checkers. ERROR otherwise.
+	 * Explains why a move that is not part of any legal turn was rejected.
+	 * @param moveType Type of the rejected move.
+	 * @param legalMoves Every legal turn available to the active user.
+	 * @param gameSession State of the game the move was made in.
+	 * @return ERROR message describing the rule that the move broke.
 	 */
-	private Message evaluateMove(MoveValidation.MoveType moveType,
-								 Board board, Move move, String gameID) {
+	private Message rejectMove(MoveValidation.MoveType moveType,
+							   LegalMoves legalMoves, GameSession gameSession) {
 
 		Message isValidMove;
 
-		Position jumpLocation = MoveValidation.jumpAvailability(gameID, move);
+		Position jumpLocation = legalMoves.findCapture();
 
-		// Run validation checks based upon the type of move that was made
+		// Report the rule broken based upon the type of move that was made
 		switch (moveType) {
 			case STANDARD_SINGLE:
-				if (GameHelper.numberOfMoves(gameID) != 0) {
+				if (gameSession.numberOfMoves() != 0) {
 					isValidMove = Message.getPreviousMoveMadeMessage();
-					break;
-				}
-				if (jumpLocation != null) {
+				} else if (jumpLocation != null) {
 					isValidMove = Message.getJumpMoveAvailableMessage(jumpLocation);
 				} else {
-					if (MoveValidation.checkStandardTypeSingle(move, gameID)) {
-						isValidMove = Message.getValidMoveMessage();
-					} else {
-						isValidMove = Message.getBadMoveSingleMessage();
-					}
+					isValidMove = Message.getBadMoveSingleMessage();
 				}
 				break;
 			case STANDARD_KING:
-				if (GameHelper.numberOfMoves(gameID) != 0) {
+				if (gameSession.numberOfMoves() != 0) {
 					isValidMove = Message.getPreviousMoveMadeMessage();
-					break;
-				}
-				if (jumpLocation != null) {
+				} else if (jumpLocation != null) {
 					isValidMove = Message.getJumpMoveAvailableMessage(jumpLocation);
 				} else {
-					if (MoveValidation.checkStandardTypeKing(board, move, gameID)) {
-						isValidMove = Message.getValidMoveMessage();
-					} else {
-						isValidMove = Message.getBadMoveKingMessage();
-					}
+					isValidMove = Message.getBadMoveKingMessage();
 				}
 				break;
 			case JUMP_SINGLE:
-				if (GameHelper.previousMoveWasStandard(gameID)) {
+				if (GameHelper.previousMoveWasStandard(gameSession)) {
 					isValidMove = Message.getNoJumpAfterSingleMessage();
 				} else {
-					if (MoveValidation.checkJump(board, move, gameID)) {
-						isValidMove = Message.getValidMoveMessage();
-					} else {
-						isValidMove = Message.getBadJumpSingleMessage();
-					}
+					isValidMove = Message.getBadJumpSingleMessage();
 				}
 				break;
 			case MULTI_KING:
-				if (GameHelper.previousMoveWasStandard(gameID)) {
+				if (GameHelper.previousMoveWasStandard(gameSession)) {
 					isValidMove = Message.getNoJumpAfterSingleMessage();
 				} else {
-					if (MoveValidation.checkJumpTypeKing(board, move, gameID)) {
-						isValidMove = Message.getValidMoveMessage();
-					} else {
-						isValidMove = Message.getBadJumpKingMessage();
-					}
+					isValidMove = Message.getBadJumpKingMessage();
 				}
 				break;
 			default: // INVALID
@@ -179,30 +178,17 @@ public class ValidateMoveRoute implements Route {
 	 * Prerequisite: Piece being moved is a king
 	 * 				 (backtracking couldn't be attempted otherwise).
 	 * @param move Last move that was performed.
-	 * @param gameID Unique game identification
+	 * @param gameSession State of the game the move is made in.
 	 * @return True if the move being made is a backtrack.
 	 */
-	private boolean isRedundantMove(Move move, String gameID) {
-		List<Move> previousMoves = new ArrayList<>();
-		move = move.reverseMove();
-
-		Move fromStack;
-		boolean isRedundant = false;
-
-		while (!GameHelper.moveStackEmpty(gameID)) {
-			fromStack = GameHelper.popMove(gameID);
-			previousMoves.add(fromStack);
-			if (move.equals(fromStack)) {
-				isRedundant = true;
+	private boolean isRedundantMove(Move move, GameSession gameSession) {
+		Move reversed = move.reverseMove();
+		for (Move previous : gameSession.getMoves()) {
+			if (reversed.equals(previous)) {
+				return true;
 			}
 		}
-
-		while(previousMoves.size() > 0) {
-			Move popped = previousMoves.remove(previousMoves.size()-1);
-			GameHelper.pushMove(gameID, popped);
-		}
-
-		return isRedundant;
+		return false;
 	}
 
 }
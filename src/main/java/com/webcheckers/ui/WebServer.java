@@ -10,6 +10,9 @@ import com.google.gson.Gson;
 import com.webcheckers.model.Player;
 import com.webcheckers.model.PlayerLobby;
 import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameJournal;
+import com.webcheckers.util.IdleSweeper;
+import com.webcheckers.util.MatchIndex;
 import spark.TemplateEngine;
 
 
@@ -63,16 +66,26 @@ public class WebServer {
   public static final String BACKUP_MOVE= "/backupMove";
   public static final String RESIGN_GAME_URL = "/resignGame";
   public static final String SUBMIT_TURN_URL = "/submitTurn";
+  public static final String TURN_URL = "/turn";
   public static final String CHECK_TURN_URL = "/checkTurn";
   public static final String SPECTATE_GAME_URL = "/spectate/game";
   public static final String SPECTATE_TURN_URL = "/spectator/checkTurn";
   public static final String SPECTATE_LEAVE_URL = "/spectator/stopWatching";
+  public static final String GAME_EVENTS_URL = "/events";
+  public static final String GAME_DELTA_URL = "/game/delta";
 
   public static final String REPLAY_NEXT_TURN_URL="/replay/nextTurn";
   public static final String REPLAY_PREVIOUS_TURN_URL="/replay/previousTurn";
+  public static final String REPLAY_SEEK_URL = "/replay/seek";
   public static final String REPLAY_START_WATCHING_URL = "/replay/game";
   public static final String REPLAY_STOP_WATCHING_URL = "/replay/stopWatching";
 
+  /**
+   * The threads of the embedded Jetty unless told otherwise, as many as
+   * Spark runs by default.
+   */
+  public static final int DEFAULT_MAX_THREADS = 200;
+
   // Status options for a user.
   public enum UserGameStatus {
     CHALLENGED,
@@ -87,16 +100,17 @@ public class WebServer {
   private final TemplateEngine templateEngine;
   private final Gson gson;
 
-  // Player Lobby class to store all players
+  // Player Lobby class to store all players, signed in or known from before
   public static PlayerLobby lobby;
 
-  // All players that have ever existed.
-  public static HashMap<String, Player> allPlayers;
-
   public static GameHelper gameHelper;
 
-  //List of Reserved usernames on the server
-  public static ArrayList<String> reservedUsernames;
+  // Ends idle games and signs out idle players, null if nothing expires
+  private IdleSweeper sweeper;
+
+  // Threads of the embedded Jetty, and how many of them /checkTurn long polls may hold
+  private int maxThreads = DEFAULT_MAX_THREADS;
+  private int maxLongPolls = CheckTurnRoute.maxLongPollsFor(DEFAULT_MAX_THREADS);
 
   //
   // Constructor
@@ -122,14 +136,60 @@ public class WebServer {
     this.gson = gson;
     lobby = new PlayerLobby();
     gameHelper = new GameHelper();
-    reservedUsernames = new ArrayList<>();
-    allPlayers = new HashMap<>();
   }
 
   //
   // Public methods
   //
 
+  /**
+   * Restore the games recorded in a journal. Their players are known to
+   * the server again, so signing in puts each player back in their game.
+   *
+   * @param journal
+   *    The journal opened at startup.
+   */
+  public void recover(final GameJournal journal) {
+    final int games = journal.getActiveGames().size();
+    final int replays = journal.getReplays().size();
+    for (Player player : GameHelper.recover(journal)) {
+      lobby.register(player);
+    }
+    LOG.config(String.format("Restored %d games and %d replays from the journal.", games, replays));
+  }
+
+  /**
+   * Expire what players leave behind: games nobody plays and players
+   * nobody sees, such as after closing the browser tab. HTTP sessions
+   * expire after the sweeper's session TTL too.
+   *
+   * @param sweeper
+   *    The sweeper, started here.
+   */
+  public void expireIdle(final IdleSweeper sweeper) {
+    this.sweeper = Objects.requireNonNull(sweeper, "sweeper must not be null");
+    sweeper.start();
+  }
+
+  /**
+   * Size the thread pool of the embedded Jetty, and how much of it
+   * /checkTurn long polls may hold at once.
+   *
+   * @param maxThreads
+   *    The most threads of the embedded Jetty.
+   * @param maxLongPolls
+   *    The most long polls held at once; a long poll past them is
+   *    answered straight away, asking the client to check again later.
+   */
+  public void limitThreads(final int maxThreads, final int maxLongPolls) {
+    if (maxThreads < 1 || maxLongPolls < 0 || maxLongPolls >= maxThreads) {
+      throw new IllegalArgumentException(String.format(
+          "%d long polls do not fit %d threads", maxLongPolls, maxThreads));
+    }
+    this.maxThreads = maxThreads;
+    this.maxLongPolls = maxLongPolls;
+  }
+
   /**
    * Initialize all of the HTTP routes that make up this web application.
    *
@@ -141,9 +201,20 @@ public class WebServer {
    */
   public void initialize() {
 
+    // Threads handling the requests, some of them held by long polls
+    threadPool(maxThreads);
+
     // Configuration to serve static files
     staticFileLocation("/public");
 
+    // Pushes game changes to players and spectators; WebSockets must be
+    // mapped before any route.
+    webSocket(GAME_EVENTS_URL, GameEventSocket.class);
+
+    // Every request of a signed-in player shows they are still there,
+    // unless they were signed out meanwhile.
+    before(new SignedInFilter());
+
     //// Setting any route (or filter) in Spark triggers initialization of the
     //// embedded Jetty web server.
 
@@ -180,9 +251,13 @@ public class WebServer {
     // Shows the Checkers game Home page.
     get(HOME_URL, new GetHomeRoute(templateEngine));
 
-    get(SIGNIN_URL, new SigninRoute(templateEngine));
+    // HTTP sessions expire after the sweeper's session TTL
+    final int sessionTimeout = (sweeper == null ? -1
+        : (int) Math.min(Integer.MAX_VALUE, sweeper.getSessionTtl() / 1000));
 
-    post(SIGNIN_URL, new SigninRoute(templateEngine));
+    get(SIGNIN_URL, new SigninRoute(templateEngine, sessionTimeout));
+
+    post(SIGNIN_URL, new SigninRoute(templateEngine, sessionTimeout));
 
     post(SIGNOUT_URL, new GetSignoutRoute(templateEngine));
 
@@ -196,7 +271,11 @@ public class WebServer {
 
     post(SUBMIT_TURN_URL, new SubmitTurnRoute(templateEngine));
 
-    post(CHECK_TURN_URL, new CheckTurnRoute(templateEngine));
+    post(TURN_URL, new SubmitWholeTurnRoute(templateEngine));
+
+    post(CHECK_TURN_URL, new CheckTurnRoute(templateEngine, maxLongPolls));
+
+    post(GAME_DELTA_URL, new BoardDeltaRoute(templateEngine));
 
     get(SPECTATE_GAME_URL, new GetSpectatorGame(templateEngine));
 
@@ -210,6 +289,8 @@ public class WebServer {
 
     post(REPLAY_PREVIOUS_TURN_URL,new ReplayPreviousTurnRoute(templateEngine));
 
+    post(REPLAY_SEEK_URL, new ReplaySeekRoute(templateEngine));
+
     get(REPLAY_STOP_WATCHING_URL, new GetReplayStopWatchingRoute(templateEngine));
 
     LOG.config("WebServer is initialized.");
@@ -222,17 +303,13 @@ public class WebServer {
    *         CHALLENGING if they are in an active game and challenged the opponent.
    *         NOT_IN_GAME if they are not in an active game.
    */
-  //TODO Bug: Closing the browser tab keeps username logged in
   public static UserGameStatus fetchActivity(Player player) {
-    for (Player challenged : GameHelper.fetchChallengedPlayers()) {
-      Player challenging = GameHelper.fetchChallenger(challenged);
-      if (challenged.equals(player)) {
-        return UserGameStatus.CHALLENGED;
-      } else if (challenging.equals(player)) {
-        return UserGameStatus.CHALLENGING;
-      }
+    MatchIndex.Match match = GameHelper.fetchMatch(player);
+    if (match == null) {
+      return UserGameStatus.NOT_IN_GAME;
     }
-    return UserGameStatus.NOT_IN_GAME;
+    return match.getRole() == MatchIndex.Role.CHALLENGED
+        ? UserGameStatus.CHALLENGED : UserGameStatus.CHALLENGING;
   }
 
   /**
@@ -242,12 +319,8 @@ public class WebServer {
    *          challenger did not challenge anyone to a match.
    */
   public static Player fetchChallengedFromChallenger(Player challenger) {
-    for (Player challenged : GameHelper.fetchChallengedPlayers()) {
-      if (GameHelper.fetchChallenger(challenged).equals(challenger)) {
-        return challenged;
-      }
-    }
-    return null;
+    MatchIndex.Match match = GameHelper.fetchMatch(challenger);
+    return match != null && match.getRole() == MatchIndex.Role.CHALLENGER ? match.getOpponent() : null;
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Piece;
+
+import java.util.List;
+
+
+/**
+ * The squares of a game's live board that changed after a version,
+ * as seen by one viewer. Sent to clients as JSON so they can update
+ * the board in place instead of reloading the whole page.
+ */
+public class BoardDelta {
+
+	/**
+	 * The content of one changed square, in the coordinates of the
+	 * viewer's board.
+	 */
+	public static class Square {
+		private final int row;
+		private final int cell;
+
+		// Color and type of the piece now on the square, null if it is empty.
+		private final Piece.PieceColor color;
+		private final Piece.Type type;
+
+
+		/**
+		 * Creates the content of a changed square.
+		 * @param row Row of the square on the viewer's board.
+		 * @param cell Cell of the square on the viewer's board.
+		 * @param color Color of the piece on the square, null if empty.
+		 * @param type Type of the piece on the square, null if empty.
+		 */
+		public Square(int row, int cell, Piece.PieceColor color, Piece.Type type) {
+			this.row = row;
+			this.cell = cell;
+			this.color = color;
+			this.type = type;
+		}
+
+
+		public int getRow() {
+			return row;
+		}
+
+
+		public int getCell() {
+			return cell;
+		}
+
+
+		public Piece.PieceColor getColor() {
+			return color;
+		}
+
+
+		public Piece.Type getType() {
+			return type;
+		}
+	}
+
+	// Version the viewer had seen.
+	private final long since;
+
+	// Version of the game the squares bring the viewer up to.
+	private final long version;
+
+	// False if the changes are unknown and the viewer must reload the board.
+	private final boolean complete;
+
+	// Player whose turn it is after the changes.
+	private final Piece.PieceColor activeColor;
+
+	private final boolean gameOver;
+
+	// Every square that changed, holding its current content.
+	private final List<Square> squares;
+
+
+	/**
+	 * Creates the changes of a board since a version.
+	 * @param since Version the viewer had seen.
+	 * @param version Version of the game after the changes.
+	 * @param complete False if the viewer must reload the board.
+	 * @param activeColor Player whose turn it is after the changes.
+	 * @param gameOver True if the game is over.
+	 * @param squares Every square that changed.
+	 */
+	public BoardDelta(long since, long version, boolean complete,
+					  Piece.PieceColor activeColor, boolean gameOver, List<Square> squares) {
+		this.since = since;
+		this.version = version;
+		this.complete = complete;
+		this.activeColor = activeColor;
+		this.gameOver = gameOver;
+		this.squares = squares;
+	}
+
+
+	public long getSince() {
+		return since;
+	}
+
+
+	public long getVersion() {
+		return version;
+	}
+
+
+	public boolean isComplete() {
+		return complete;
+	}
+
+
+	public Piece.PieceColor getActiveColor() {
+		return activeColor;
+	}
+
+
+	public boolean isGameOver() {
+		return gameOver;
+	}
+
+
+	public List<Square> getSquares() {
+		return squares;
+	}
+}
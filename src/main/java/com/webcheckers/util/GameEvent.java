@@ -0,0 +1,69 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Move;
+
+import java.util.List;
+
+
+/**
+ * A change to an active game, pushed to every player and spectator
+ * subscribed to the game. Sent to clients as JSON.
+ */
+public class GameEvent {
+
+	/**
+	 * Kinds of change a game goes through.
+	 */
+	public enum Type {
+		// a turn was committed to the live board
+		TURN,
+		// a player resigned
+		RESIGN,
+		// the game ended or was torn down
+		GAME_OVER
+	}
+
+	private final Type type;
+	private final String gameID;
+
+	// Version of the game after the change.
+	private final long version;
+
+	// Moves of the committed turn, empty for other changes.
+	private final List<Move> moves;
+
+
+	/**
+	 * Creates a new event.
+	 * @param type Kind of change.
+	 * @param gameID Unique identification of the game that changed.
+	 * @param version Version of the game after the change.
+	 * @param moves Moves of the committed turn, empty for other changes.
+	 */
+	public GameEvent(Type type, String gameID, long version, List<Move> moves) {
+		this.type = type;
+		this.gameID = gameID;
+		this.version = version;
+		this.moves = moves;
+	}
+
+
+	public Type getType() {
+		return type;
+	}
+
+
+	public String getGameID() {
+		return gameID;
+	}
+
+
+	public long getVersion() {
+		return version;
+	}
+
+
+	public List<Move> getMoves() {
+		return moves;
+	}
+}
@@ -1,7 +1,10 @@
 package com.webcheckers.util;
 
 import com.webcheckers.model.*;
+import com.webcheckers.view.BoardView;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
 
 /**
@@ -11,29 +14,20 @@ import java.util.*;
  */
 public class GameHelper {
 
-	// Map to maintain all active matches.
-	private static Map<Player, Player> activeMatches;
+	// Number of replays listed on each page of the home page.
+	public static final int REPLAY_PAGE_SIZE = 10;
 
-	// Map to maintain all active board models.
-	private static Map<String, BoardDraft> boardMap;
+	// Every active match, by each of its players.
+	private static MatchIndex matchIndex;
 
-	// Map to all active game objects
-	public static Map<String, Game> activeGames;
-
-	// Map to all active moves of a specific turn in a game.
-	private static Map<String, List<Move>> currentMoves;
+	// State of every active game.
+	private static GameRegistry registry;
 
 	// An object that has all the Replay objects and can be accessed with the ReplayKey
 	private static ReplayModule replayModule;
 
-	// Has all the gameTurns for the particular game in the order
-	private static Map<String,List<Turn>> gameTurns;
-
-	private static Map<Player, Integer> gameIDMap;
-
-	private static Map<String,List<Move>> replayMoves;
-
-	private static int nextGameID;
+	// Journal every game change is recorded in, null if games are not kept on disk.
+	private static GameJournal journal;
 
 
 	/**
@@ -41,15 +35,139 @@ public class GameHelper {
 	 * using various data structures for all active checker games.
 	 */
 	public GameHelper() {
-		activeMatches = new HashMap<>();
-		boardMap = new HashMap<>();
-		activeGames = new HashMap<>();
-		currentMoves = new HashMap<>();
-		nextGameID = 0;
-		gameIDMap = new HashMap<>();
+		matchIndex = new MatchIndex();
+		registry = new GameRegistry();
 		replayModule=new ReplayModule();
-		gameTurns=new HashMap<>();
-		replayMoves=new HashMap<>();
+		journal = null;
+	}
+
+
+	/**
+	 * Restores the games and replays recorded in a journal, then records
+	 * every later change of a game in it.
+	 * @param gameJournal Journal opened at startup.
+	 * @return Players of the restored games, to be known to the server
+	 *         when they sign in again.
+	 */
+	public static List<Player> recover(GameJournal gameJournal) {
+		for (Map.Entry<String, List<Turn>> entry : gameJournal.getReplays().entrySet()) {
+			// most are already in the replay archive, unless the server stopped right after the game
+			ReplayRecord archived = ReplayModule.containsReplay(entry.getKey())
+					? ReplayModule.getReplayGame(entry.getKey()) : null;
+			if (archived == null || !archived.hasTurns(entry.getValue())) {
+				replayModule.setActive(entry.getKey(), new ReplayRecord(entry.getValue()));
+			}
+		}
+
+		List<Player> players = new ArrayList<>();
+		for (GameJournal.GameRecord record : gameJournal.getActiveGames().values()) {
+			String gameID = record.getGameID();
+			Player red = new Player(record.getRedPlayer());
+			Player white = new Player(record.getWhitePlayer());
+			red.inMatch = true;
+			white.inMatch = true;
+
+			// the red player is the challenger, as when the game was created
+			Game game = new Game(red, white);
+			startGame(gameID, game);
+			registry.reserveGameID(Integer.parseInt(gameID));
+			matchIndex.add(white, red, Integer.parseInt(gameID));
+
+			GameSession session = registry.fetch(gameID);
+			for (Turn turn : record.getTurns()) {
+				for (int i = 0; i < turn.getMoveCount(); i++) {
+					session.getBoardDraft().updateDraft(turn.getMove(i), false);
+					session.pushMove(turn.getMove(i));
+				}
+				commitTurn(gameID);
+			}
+			if (record.getResignedPlayer() != null) {
+				applyResignation(game, red.getUsername().equals(record.getResignedPlayer()) ? red : white);
+			}
+			players.add(red);
+			players.add(white);
+		}
+		// attached last, so restoring the games records nothing again
+		journal = gameJournal;
+		gameJournal.forgetRecovered();
+		return players;
+	}
+
+
+	/**
+	 * Starts a new game with a fresh board.
+	 * @param gameID Unique identification for the new game.
+	 * @param game Game object of the match.
+	 */
+	public static void startGame(String gameID, Game game) {
+		registry.create(gameID, game, new BoardDraft());
+	}
+
+
+	/**
+	 * Fetches the state of an active game.
+	 * @param gameID Unique identification for a current game.
+	 * @return GameSession of the game, null if it is not active.
+	 */
+	public static GameSession fetchSession(String gameID) {
+		return registry.fetch(gameID);
+	}
+
+
+	/**
+	 * Fetches the state of the game a player is in.
+	 * @param player Player in question.
+	 * @return GameSession of the player's game, null if they are in no active game.
+	 */
+	public static GameSession fetchSession(Player player) {
+		MatchIndex.Match match = matchIndex.get(player);
+		return match == null ? null : registry.fetch(String.valueOf(match.getGameID()));
+	}
+
+
+	/**
+	 * Runs a command that changes a game on the game's mailbox, so it
+	 * never overlaps another command of the same game. Commands for a
+	 * game that is not active run on the calling thread.
+	 * @param gameID Unique identification for a current game.
+	 * @param command Command that changes the game.
+	 * @param <T> Type of the command's result.
+	 * @return Result of the command.
+	 */
+	public static <T> T execute(String gameID, Callable<T> command) {
+		return execute(registry.fetch(gameID), command);
+	}
+
+
+	/**
+	 * Runs a command that changes a game on the game's mailbox.
+	 * @param session State of the game, may be null if the game is not active.
+	 * @param command Command that changes the game.
+	 * @param <T> Type of the command's result.
+	 * @return Result of the command.
+	 */
+	public static <T> T execute(GameSession session, Callable<T> command) {
+		if (session == null) {
+			try {
+				return command.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return session.execute(command);
+	}
+
+
+	/**
+	 * Fetches the Game object of an active game.
+	 * @param gameID Unique identification for a current game.
+	 * @return Game object, null if the game is not active.
+	 */
+	public static Game fetchGame(String gameID) {
+		GameSession session = registry.fetch(gameID);
+		return session == null ? null : session.getGame();
 	}
 
   
@@ -59,10 +177,7 @@ public class GameHelper {
 	 * @param move Move object most recently performed in the game.
 	 */
 	public static void pushMove(String gameID, Move move) {
-		if (currentMoves.get(gameID) == null) {
-			currentMoves.put(gameID, new ArrayList<>());
-		}
-		currentMoves.get(gameID).add(move);
+		registry.fetch(gameID).pushMove(move);
 	}
 
 
@@ -72,8 +187,18 @@ public class GameHelper {
 	 * @return Move object that was most recently performed by the active user.
 	 */
 	public static Move popMove(String gameID) {
-		List<Move> moves = currentMoves.get(gameID);
-		return moves.remove(moves.size()-1);
+		return registry.fetch(gameID).popMove();
+	}
+
+
+	/**
+	 * Fetches the moves made so far during the current turn of a game.
+	 * @param gameID String identification needed to fetch the current moves.
+	 * @return List of moves in the order they were made.
+	 */
+	public static List<Move> fetchMoves(String gameID) {
+		GameSession session = registry.fetch(gameID);
+		return (session == null ? Collections.emptyList() : session.getMoves());
 	}
 
 
@@ -84,7 +209,8 @@ public class GameHelper {
 	 * @return Board object representing current checker board configuration.
 	 */
 	public static BoardDraft fetchBoard(String gameID) {
-		return boardMap.get(gameID);
+		GameSession session = registry.fetch(gameID);
+		return session == null ? null : session.getBoardDraft();
 	}
 
 
@@ -94,19 +220,74 @@ public class GameHelper {
 	 * @param boardDraft Board object that is replacing the current configuration.
 	 */
 	public static void updateBoard(String gameID, BoardDraft boardDraft) {
-		boardMap.put(gameID, boardDraft);
+		registry.fetch(gameID).setBoardDraft(boardDraft);
+	}
+
+
+	/**
+	 * Fetches the legal turns of the active player of a game. They are
+	 * computed from the live board once per turn and reused by every
+	 * move validation until the turn is submitted.
+	 * @param gameID Unique identification for a current game.
+	 * @return LegalMoves object holding every legal turn.
+	 */
+	public static LegalMoves fetchLegalMoves(String gameID) {
+		return registry.fetch(gameID).getLegalMoves();
+	}
+
+
+	/**
+	 * Fetches the rendered view of a board of a game. The draft board is
+	 * rendered on the game's mailbox so that no move changes it while it
+	 * is read; the live board is shared from the game's latest snapshot.
+	 * @param gameID Unique identification for a current game.
+	 * @param rotated True for the board as seen by the red player.
+	 * @param draft True for the draft board, false for the live board.
+	 * @return Shared, read-only BoardView object.
+	 */
+	public static BoardView fetchBoardView(String gameID, boolean rotated, boolean draft) {
+		return fetchBoardView(registry.fetch(gameID), rotated, draft);
+	}
+
+
+	/**
+	 * Fetches the rendered view of a board of a game, the draft board on the game's mailbox.
+	 * @param session State of the game.
+	 * @param rotated True for the board as seen by the red player.
+	 * @param draft True for the draft board, false for the live board.
+	 * @return Shared, read-only BoardView object.
+	 */
+	public static BoardView fetchBoardView(GameSession session, boolean rotated, boolean draft) {
+		if (!draft) {
+			return session.getBoardView(rotated, false);
+		}
+		return execute(session, () -> session.getBoardView(rotated, true));
+	}
+
+
+	/**
+	 * Fetches the squares of a game's live board changed since a
+	 * version, read from the game's latest snapshot like the live board views.
+	 * @param gameID Unique identification for a current game.
+	 * @param since Version of the game the viewer has seen.
+	 * @param rotated True for squares as seen by the red player.
+	 * @return BoardDelta object, null if the game is not active.
+	 */
+	public static BoardDelta fetchBoardDelta(String gameID, long since, boolean rotated) {
+		GameSession session = registry.fetch(gameID);
+		if (session == null) {
+			return null;
+		}
+		return session.getBoardDelta(since, rotated);
 	}
 
 
 	/**
 	 * Updates the live board with draft board contents.
 	 * @param gameID Unique identification for a current game.
-	 * @param kingMe A move made by a user resulted in a king creation.
 	 */
-	public static void refreshBoard(String gameID, boolean kingMe) {
-		BoardDraft boardDraft = boardMap.get(gameID);
-		boardDraft.hardBoardUpdate(kingMe, false);
-		boardMap.put(gameID, boardDraft);
+	public static void refreshBoard(String gameID) {
+		registry.fetch(gameID).getBoardDraft().hardBoardUpdate(false);
 	}
 
 
@@ -116,7 +297,7 @@ public class GameHelper {
 	 * 			were originally challenged by their opponent.
 	 */
 	public static Set<Player> fetchChallengedPlayers() {
-		return activeMatches.keySet();
+		return matchIndex.matches().keySet();
 	}
 
 
@@ -127,7 +308,8 @@ public class GameHelper {
 	 * @return Player that challenged the provided player to the active match.
 	 */
 	public static Player fetchChallenger(Player challenged) {
-		return activeMatches.get(challenged);
+		MatchIndex.Match match = matchIndex.get(challenged);
+		return match != null && match.getRole() == MatchIndex.Role.CHALLENGED ? match.getOpponent() : null;
 	}
 
 
@@ -138,7 +320,8 @@ public class GameHelper {
 	 * 		   False otherwise.
 	 */
 	public static boolean wasChallenged(Player challenged) {
-		return activeMatches.containsKey(challenged);
+		MatchIndex.Match match = matchIndex.get(challenged);
+		return match != null && match.getRole() == MatchIndex.Role.CHALLENGED;
 	}
 
 
@@ -149,21 +332,48 @@ public class GameHelper {
 	 * @return True if provided player was the challenger to a match.
 	 * 		   False otherwise.
 	 */
-	public static boolean wasChallenger(Player challenger) { return activeMatches.containsValue(challenger); }
+	public static boolean wasChallenger(Player challenger) {
+		MatchIndex.Match match = matchIndex.get(challenger);
+		return match != null && match.getRole() == MatchIndex.Role.CHALLENGER;
+	}
 
 
 	/**
-	 * Adds a match to the map to represent all active matches.
+	 * Starts the game of a new match and adds it to the active matches.
+	 * The challenger plays red and makes the first move.
 	 * @param challenged Player that was challenged to a match
 	 * @param challenger Player that challenged opponent to match.
+	 * @return GameSession of the new game.
 	 */
-	public static void addMatch(Player challenged, Player challenger) {
-		activeMatches.put(challenged, challenger);
+	public static GameSession addMatch(Player challenged, Player challenger) {
+		int gameID = registry.nextGameID();
+		GameSession session = registry.create(String.valueOf(gameID),
+				new Game(challenger, challenged), new BoardDraft());
+		matchIndex.add(challenged, challenger, gameID);
+		if (journal != null) {
+			journal.recordStart(session.getGameID(), challenger.getUsername(), challenged.getUsername());
+		}
+		return session;
 	}
 
 
+	/**
+	 * Fetches every active match.
+	 * @return Read-only map of the challenger of every challenged player.
+	 */
 	public static Map<Player, Player> fetchMatches() {
-		return activeMatches;
+		return matchIndex.matches();
+	}
+
+
+	/**
+	 * Fetches the match of a player, as seen from that player.
+	 * @param player Player in question.
+	 * @return Opponent, role, colour and game ID of the player's match,
+	 *         null if the player is in no match.
+	 */
+	public static MatchIndex.Match fetchMatch(Player player) {
+		return matchIndex.get(player);
 	}
 
 
@@ -173,11 +383,7 @@ public class GameHelper {
 	 * @return True if move stack is empty, false otherwise.
 	 */
 	public static boolean moveStackEmpty(String gameID) {
-		List<Move> moves = currentMoves.get(gameID);
-		if (moves == null) {
-			return true;
-		}
-		return moves.size() == 0;
+		return numberOfMoves(gameID) == 0;
 	}
 
 
@@ -186,18 +392,50 @@ public class GameHelper {
 	 * Resets all necessary data structures at the end of a turn.
 	 */
 	public static void turnOver(String gameID) {
-		Turn turn=new Turn();
-		// getting all the moves for the current move after the turn was over and storing it all into a Turn object
-		for(Move move: replayMoves.get(gameID)){
-		    turn.addMove(move);
-        }
-		// initially in the start when there were no turns played, create a new arrayList for the turns
-		if(gameTurns.get(gameID)==null){
-			gameTurns.put(gameID,new ArrayList<>());
+		turnOver(registry.fetch(gameID));
+	}
+
+
+	private static void turnOver(GameSession session) {
+		Turn turn = session.turnOver();
+		if (journal != null) {
+			journal.recordTurn(session.getGameID(), turn);
+		}
+	}
+
+
+	/**
+	 * Resigns a player from their game, handing the turn to the
+	 * opponent if it was the resigning player's turn.
+	 * @param gameID Unique identification for a current game.
+	 * @param player Player that is resigning.
+	 */
+	public static void resign(String gameID, Player player) {
+		resign(registry.fetch(gameID), player);
+	}
+
+
+	/**
+	 * Resigns a player from their game.
+	 * @param session State of the game.
+	 * @param player Player that is resigning.
+	 */
+	public static void resign(GameSession session, Player player) {
+		applyResignation(session.getGame(), player);
+		if (journal != null) {
+			journal.recordResignation(session.getGameID(), player.getUsername());
+		}
+		// wake the opponent's pending turn check and tell the spectators
+		session.markChanged(GameEvent.Type.RESIGN, Collections.emptyList());
+	}
+
+
+	private static void applyResignation(Game game, Player player) {
+		game.resign(player);
+		//If I resigned on my turn, change turns to reflect the resignation on the other player's screen
+		if (game.isMyTurn(player)) {
+			game.changeTurn();
 		}
-		gameTurns.get(gameID).add(turn);// adding all the turns that have been played into the gameTurns object for the particular game
-		currentMoves.put(gameID, new ArrayList<>());// once the turn is over, setting the currentMoves list to empty.
-		replayMoves.put(gameID,new ArrayList<>());
 	}
 
 
@@ -208,24 +446,19 @@ public class GameHelper {
 	 * 			False otherwise.
 	 */
 	public static boolean isInGame(Player player) {
-		return wasChallenged(player) || wasChallenger(player);
+		return matchIndex.get(player) != null;
 	}
 
 
 	/**
-	 * Fetches the game ID of a player or creates/stores a new one.
+	 * Fetches the game ID of a player's match.
 	 * @param player Player in which a game ID is being fetched for.
-	 * @return integer value of unique game identification.
+	 * @return integer value of unique game identification, -1 if
+	 * 			the player is in no match.
 	 */
 	public static int getGameID(Player player) {
-		if (gameIDMap.containsKey(player)) {
-			return gameIDMap.get(player);
-		} else if (wasChallenged(player)) {
-			return gameIDMap.get(fetchChallenger(player));
-		} else {
-			gameIDMap.put(player, GameHelper.nextGameID);
-			return nextGameID++;
-		}
+		MatchIndex.Match match = matchIndex.get(player);
+		return match != null ? match.getGameID() : -1;
 	}
 
 
@@ -235,15 +468,58 @@ public class GameHelper {
 	 * @param game Game object to maintain the status of a current game
 	 */
 	public static void removePieces(String gameID, Game game) {
-		BoardDraft boardDraft = GameHelper.fetchBoard(gameID);
-		while(currentMoves.get(gameID).size() > 0) {
-			Move move = GameHelper.popMove(gameID);
+		removePieces(registry.fetch(gameID), game);
+	}
+
+
+	private static void removePieces(GameSession session, Game game) {
+		BoardDraft boardDraft = session.getBoardDraft();
+		Move move;
+		while((move = session.popMove()) != null) {
 			Piece removed = helperRemovePiece(move, boardDraft, false);
 			if (removed != null) {
 				game.decrementPieces(removed.getColor());
 			}
 		}
-		GameHelper.updateBoard(gameID, boardDraft);
+	}
+
+
+	/**
+	 * Commits the moves of the current turn: records them for the replay,
+	 * removes the captured pieces, crowns a piece that reached the last
+	 * row, copies the draft to the live board and hands the turn to the
+	 * other player. The moves must already make up a legal turn.
+	 * @param gameID Unique identification for a current game.
+	 * @return Game object, with the turn handed over.
+	 */
+	public static Game commitTurn(String gameID) {
+		return commitTurn(registry.fetch(gameID));
+	}
+
+
+	/**
+	 * Commits the moves of the current turn of a game.
+	 * @param session State of the game.
+	 * @return Game object, with the turn handed over.
+	 */
+	public static Game commitTurn(GameSession session) {
+		Position endPosition = session.peekMove().getEnd();
+
+		Game game = session.getGame();
+		// storing the moves before we remove the pieces.
+		session.storeMoves();
+		removePieces(session, game);
+
+		Board draft = session.getBoardDraft().getDraft();
+		if (draft.getPosition(endPosition).isNewKing()) {
+			Piece king = draft.getPieceAt(endPosition);
+			king.setKing(true);
+		}
+		session.getBoardDraft().hardBoardUpdate(false);
+
+		game.changeTurn();
+		turnOver(session);
+		return game;
 	}
 
 
@@ -252,10 +528,7 @@ public class GameHelper {
      * @param gameID The game id to access the moves of a particular game
      */
     public static void storeMoves(String gameID){
-        if(replayMoves.get(gameID)==null){
-            replayMoves.put(gameID,new ArrayList<>());
-        }
-        replayMoves.get(gameID).addAll(currentMoves.get(gameID));
+        registry.fetch(gameID).storeMoves();
     }
 
 	/**
@@ -267,29 +540,8 @@ public class GameHelper {
 	 * @return Piece removed from the board.
 	 */
 	public static Piece helperRemovePiece(Move move, BoardDraft boardDraft, boolean live) {
-
-		Board board;
-		int jumpRow, jumpCell;
-		int xStart, xEnd, yStart, yEnd;
-
-		xStart = move.getStart().getCell();
-		yStart = move.getStart().getRow();
-		xEnd = move.getEnd().getCell();
-		yEnd = move.getEnd().getRow();
-
-    	if (Math.abs(xStart - xEnd) >= 2 || Math.abs(yStart-yEnd) >= 2) {
-			jumpRow = (yStart - (yStart - yEnd) / 2);
-			jumpCell = (xStart - (xStart - xEnd) / 2);
-			if (live) {
-				board = boardDraft.getLive();
-			} else {
-				board = boardDraft.getDraft();
-			}
-			Position jumpLocation = new Position(jumpCell, jumpRow);
-			return board.getPosition(jumpLocation).moveFrom();
-		}
-
-		return null;
+		Board board = live ? boardDraft.getLive() : boardDraft.getDraft();
+		return board.removeJumpedPiece(move);
 	}
 
 
@@ -301,26 +553,22 @@ public class GameHelper {
 	 */
 	public static void clearGameData(String gameID, Player p1, Player p2) {
 		String replayKey;
-		boardMap.remove(gameID);
-		currentMoves.remove(gameID);
-		activeGames.remove(gameID);
-		if (wasChallenged(p1)) {
+		// releases any request or subscriber still waiting on the finished game
+		GameSession session = registry.remove(gameID);
+		MatchIndex.Match match = matchIndex.remove(p1);
+		if (match != null && match.getRole() == MatchIndex.Role.CHALLENGED) {
 			replayKey = getReplayKey(p1,p2);
-			activeMatches.remove(p1);
-			gameIDMap.remove(p2);
 		} else {
 			replayKey = getReplayKey(p2,p1);
-			activeMatches.remove(p2);
-			gameIDMap.remove(p1);
 		}
 		// Once the game is over adding all the turns that have all the moves into the replay object
         // and then setting the particular game as active in the replay Module
-		if(gameTurns.get(gameID) != null) {
-			Replay replay = new Replay();
-			for (Turn turn : gameTurns.get(gameID)) {
-				replay.addTurn(turn);
-			}
-			replayModule.setActive(replayKey, replay);// this means that the particular game can be added to the list of games that can be replayed because they are complete
+		if (journal != null && session != null) {
+			journal.recordEnd(gameID, replayKey);
+		}
+		List<Turn> turns = (session == null ? Collections.emptyList() : session.getTurns());
+		if(!turns.isEmpty()) {
+			replayModule.setActive(replayKey, new ReplayRecord(turns));// this means that the particular game can be added to the list of games that can be replayed because they are complete
 		}
 	}
 
@@ -331,17 +579,52 @@ public class GameHelper {
 	 * @return The string format of the key
 	 */
 	public static String getReplayKey(Player p1,Player p2){
-		return p1.getUsername() + " challenged by " + p2.getUsername();
+		return ReplayCatalogue.keyOf(p1.getUsername(), p2.getUsername());
 	}
 
-	public static Boolean replayKeyExists(String key){
-		String [] Players=key.split(" challenged by ");
-		String OtherKey=Players[1]+" challenged by "+Players[0];
-		if(replayModule.getReplayKeys().contains(key) || replayModule.getReplayKeys().contains(OtherKey)) {
-			return true;
-		}else{
-			return false;
+	/**
+	 * Checks if two players have a game that can be replayed, whoever challenged whom
+	 * @param p1 Player that played the game
+	 * @param p2 Player that played the game
+	 * @return True if a replay of a game between them is kept
+	 */
+	public static boolean replayExists(Player p1, Player p2){
+		return ReplayModule.getCatalogue().hasGameBetween(p1.getUsername(), p2.getUsername());
+	}
+
+
+	/**
+	 * Ends every game nobody played since a time, through clearGameData
+	 * as if its players had left it: a game still being played is
+	 * forfeited by the player whose turn it is, and the turns played
+	 * are kept as a replay. A game is ended on its mailbox, so one
+	 * played since it was found idle is kept.
+	 * @param idleSince Time in milliseconds; games last played before it are ended.
+	 * @return Number of games ended.
+	 */
+	public static int reapIdleGames(long idleSince) {
+		int reaped = 0;
+		for (GameSession session : registry.fetchAll()) {
+			if (session.getLastActivity() >= idleSince) {
+				continue;
+			}
+			Player red = session.getRedPlayer();
+			Player white = session.getWhitePlayer();
+			// checked again on the mailbox, as a move may have been sent since
+			boolean idle = session.executeIfIdle(idleSince, () -> {
+				Game game = session.getGame();
+				if (!game.isOver()) {
+					resign(session, game.isMyTurn(red) ? red : white);
+				}
+				red.inMatch = false;
+				white.inMatch = false;
+				clearGameData(session.getGameID(), red, white);
+			});
+			if (idle) {
+				reaped++;
+			}
 		}
+		return reaped;
 	}
 
 
@@ -351,16 +634,8 @@ public class GameHelper {
 	 * @return Competitor of the provided player.
 	 */
 	public static Player fetchCompetitor(Player player) {
-		if (GameHelper.wasChallenged(player)) {
-			return GameHelper.fetchChallenger(player);
-		} else {
-			for (Player challenged : activeMatches.keySet()) {
-				if (GameHelper.fetchChallenger(challenged).equals(player)) {
-					return challenged;
-				}
-			}
-		}
-		return null;
+		MatchIndex.Match match = matchIndex.get(player);
+		return match == null ? null : match.getOpponent();
 	}
 
 
@@ -370,11 +645,8 @@ public class GameHelper {
 	 * @return Number of moves in a turn.
 	 */
 	public static int numberOfMoves(String gameID) {
-		if (currentMoves.get(gameID) == null) {
-			return 0;
-		} else {
-			return currentMoves.get(gameID).size();
-		}
+		GameSession session = registry.fetch(gameID);
+		return session == null ? 0 : session.numberOfMoves();
 	}
 
 
@@ -384,45 +656,129 @@ public class GameHelper {
 	 * @return True if the last move that was made was a standard move.
 	 */
 	public static boolean previousMoveWasStandard(String gameID) {
-		if (moveStackEmpty(gameID)) {
+		return previousMoveWasStandard(registry.fetch(gameID));
+	}
+
+
+	/**
+	 * Determines if the previous move made in a game was a standard move.
+	 * @param session State of the game, may be null.
+	 * @return True if the last move that was made was a standard move.
+	 */
+	public static boolean previousMoveWasStandard(GameSession session) {
+		Move lastMove = session == null ? null : session.peekMove();
+		if (lastMove == null) {
 			return false;
-		} else {
-			if (numberOfMoves(gameID) == 0) {
-				return false;
-			} else {
-				Move lastMove = popMove(gameID);
-				Position start = lastMove.getStart();
-				Position end = lastMove.getEnd();
-				pushMove(gameID, lastMove);
-				return (Math.abs(start.getCell() - end.getCell()) == 1 &&
-					Math.abs(start.getRow() - end.getRow()) == 1);
-			}
 		}
+		Position start = lastMove.getStart();
+		Position end = lastMove.getEnd();
+		return (Math.abs(start.getCell() - end.getCell()) == 1 &&
+			Math.abs(start.getRow() - end.getRow()) == 1);
 	}
 
     /**
-     * This function returns the Replay object that has all the moves that can be replayed on the board
+     * This function returns the record that has all the moves that can be replayed on the board
      * @param replayKey The key for the particular game
-     * @return The Replay object that has all the moves of the game that was played before
+     * @return The record, shared by every viewer, that has all the moves of the game that was played before
      */
-	public static Replay getReplay(String replayKey) {
+	public static ReplayRecord getReplay(String replayKey) {
 		return replayModule.getReplayGame(replayKey);
 	}
 
-	public static void clearMoves(String gameID) {
-		currentMoves.put(gameID, new ArrayList<>());
+	/**
+	 * Wakes every request waiting for a game to change and pushes
+	 * the change to the game's subscribers, on the game's mailbox.
+	 * @param gameID Unique game identification.
+	 * @param type Kind of change.
+	 */
+	public static void markChanged(String gameID, GameEvent.Type type) {
+		GameSession session = registry.fetch(gameID);
+		if (session != null) {
+			session.execute(() -> {
+				session.markChanged(type, Collections.emptyList());
+				return null;
+			});
+		}
 	}
+
+
 	/**
-	 * @param replayKey The key to access all the replay objects
-	 * @return The board that is being replayed
+	 * Subscribes a player or spectator to the changes of a game.
+	 * @param gameID Unique game identification.
+	 * @param token Token of the game's events, handed out with the game page.
+	 * @param subscriber Sends a JSON GameEvent to the subscriber.
+	 * @param onClose Run once the game is torn down.
+	 * @return True if subscribed, false if the game is not active or
+	 *         the token is not the game's.
 	 */
-    public static Board getReplayBoard(String replayKey){
-	    return ReplayModule.getReplayBoard(replayKey);
-    }
+	public static boolean subscribe(String gameID, String token, Consumer<String> subscriber, Runnable onClose) {
+		GameSession session = registry.fetch(gameID);
+		return session != null && session.subscribe(subscriber, token, onClose);
+	}
+
+
+	/**
+	 * Stops sending the changes of a game to a subscriber.
+	 * @param gameID Unique game identification.
+	 * @param subscriber Subscriber given to subscribe.
+	 */
+	public static void unsubscribe(String gameID, Consumer<String> subscriber) {
+		GameSession session = registry.fetch(gameID);
+		if (session != null) {
+			session.unsubscribe(subscriber);
+		}
+	}
+
+
+	/**
+	 * Discards the moves of the current turn and restores the draft
+	 * board, on the game's mailbox.
+	 * @param gameID Unique game identification.
+	 */
+	public static void discardTurn(String gameID) {
+		GameSession session = registry.fetch(gameID);
+		if (session != null) {
+			discardTurn(session);
+		}
+	}
+
+
+	/**
+	 * Discards the moves of the current turn of a game, on the game's mailbox.
+	 * @param session State of the game.
+	 */
+	public static void discardTurn(GameSession session) {
+		session.execute(() -> {
+			session.getBoardDraft().hardBoardUpdate(true);
+			session.clearMoves();
+			return null;
+		});
+	}
+
+
+	/**
+	 * Clears the moves of the current turn of a game, on the game's
+	 * mailbox, without restoring the draft board.
+	 * @param gameID Unique game identification.
+	 */
+	public static void clearMoves(String gameID) {
+		GameSession session = registry.fetch(gameID);
+		if (session != null) {
+			session.execute(() -> {
+				session.clearMoves();
+				return null;
+			});
+		}
+	}
+
+
 	/**
-	 * @return Collection of the games that can be replayed
+	 * Fetches a page of the games that can be replayed, newest first, without reading any of them back from disk
+	 * @param search Start of the usernames of the players to list the games of, empty for every game
+	 * @param cursor ReplayCatalogue.FIRST_PAGE, or the cursor of the page before
+	 * @return Page of the games
 	 */
-	public static Collection<Replay> getAllGames(){
-		return replayModule.getAllGames().values();
+	public static ReplayCatalogue.Page fetchReplays(String search, long cursor){
+		return ReplayModule.getCatalogue().search(search, cursor, REPLAY_PAGE_SIZE);
 	}
 }
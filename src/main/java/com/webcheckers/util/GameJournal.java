@@ -0,0 +1,601 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Turn;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.BiPredicate;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+
+/**
+ * Append-only journal of the games played on the server, kept on
+ * local disk so that active games and finished replays survive a
+ * restart.
+ *
+ * <p>
+ * Every record is a binary frame: its length, a record type, the
+ * payload and a CRC32 of the type and payload. A frame cut short by a
+ * crash fails its length or checksum and ends the journal there.
+ * Moves are packed by the MoveCodec, one byte each.
+ * Records are written in batches: a thread recording a change waits
+ * until one fsync covers it, and the first waiting thread writes and
+ * syncs every record appended so far, so many games committing turns
+ * at once share a single fsync.
+ * </p>
+ *
+ * <p>
+ * A change is recorded once it is made to the game, so a failed write
+ * cannot undo it. The first failed write is logged and disables the
+ * journal instead: the games go on, and every later record is dropped,
+ * so the games played from then on do not survive a restart.
+ * </p>
+ *
+ * <p>
+ * Opening the journal reads the last snapshot and the journal written
+ * after it, then writes a new snapshot of what was read and starts an
+ * empty journal. Both files carry a generation number; a journal older
+ * than the snapshot is already part of it and is skipped, so a crash
+ * in the middle of the swap replays nothing twice.
+ * </p>
+ *
+ * <p>
+ * The snapshot holds the active games and only the replays that are not
+ * kept in a replay archive yet, so it stays the size of the games being
+ * played rather than of every game ever played. What was read is held
+ * until the games are restored, then forgotten.
+ * </p>
+ */
+public class GameJournal implements Closeable {
+	private static final Logger LOG = Logger.getLogger(GameJournal.class.getName());
+
+	static final String JOURNAL_FILE = "games.journal";
+	static final String SNAPSHOT_FILE = "games.snapshot";
+
+	// First bytes of both files.
+	private static final int MAGIC = 0x57434A31;
+	private static final int HEADER_SIZE = 12;
+
+	// Longest frame read back; anything longer is a torn or corrupt frame.
+	private static final int MAX_FRAME = 1 << 16;
+
+	// Kinds of record.
+	private static final byte START = 1;
+	private static final byte TURN = 2;
+	private static final byte RESIGN = 3;
+	private static final byte END = 4;
+	private static final byte REPLAY = 5;
+
+
+	/**
+	 * A game that was still being played when the journal was last written.
+	 */
+	public static class GameRecord {
+		private final String gameID;
+		private final String redPlayer;
+		private final String whitePlayer;
+		private final List<Turn> turns;
+
+		// Username of the player who resigned, null if no one did.
+		private String resignedPlayer;
+
+
+		GameRecord(String gameID, String redPlayer, String whitePlayer) {
+			this.gameID = gameID;
+			this.redPlayer = redPlayer;
+			this.whitePlayer = whitePlayer;
+			this.turns = new ArrayList<>();
+		}
+
+
+		public String getGameID() {
+			return gameID;
+		}
+
+
+		public String getRedPlayer() {
+			return redPlayer;
+		}
+
+
+		public String getWhitePlayer() {
+			return whitePlayer;
+		}
+
+
+		public List<Turn> getTurns() {
+			return turns;
+		}
+
+
+		public String getResignedPlayer() {
+			return resignedPlayer;
+		}
+	}
+
+	private final FileChannel channel;
+
+	// Games and replays read when the journal was opened, in the order they were recorded;
+	// empty once they are restored.
+	private Map<String, GameRecord> activeGames;
+	private Map<String, List<Turn>> replays;
+
+	// Frames appended but not yet written.
+	private final ByteArrayOutputStream pending;
+
+	// Number of frames appended so far and number known to be on disk.
+	private long appended;
+	private long synced;
+
+	// True while one thread writes and syncs a batch for every waiting thread.
+	private boolean syncing;
+
+	// Failure of the first batch that could not be written; nothing is recorded after one.
+	private IOException failure;
+
+
+	private GameJournal(FileChannel channel, Map<String, GameRecord> activeGames,
+						Map<String, List<Turn>> replays) {
+		this.channel = channel;
+		this.activeGames = activeGames;
+		this.replays = replays;
+		this.pending = new ByteArrayOutputStream();
+	}
+
+
+	/**
+	 * Opens the journal kept in a directory, recovering the games it
+	 * records and compacting them into a new snapshot.
+	 * @param directory Directory holding the journal; created if missing.
+	 * @return GameJournal object ready to record changes.
+	 * @throws IOException If the files cannot be read or written.
+	 */
+	public static GameJournal open(Path directory) throws IOException {
+		return open(directory, (replayKey, turns) -> false);
+	}
+
+
+	/**
+	 * Opens the journal kept in a directory, recovering the games it
+	 * records and compacting them into a new snapshot without the
+	 * replays that are already archived.
+	 * @param directory Directory holding the journal; created if missing.
+	 * @param archived Determines if a replay with the given key and turns
+	 *                 is kept in an archive that survives a restart.
+	 * @return GameJournal object ready to record changes.
+	 * @throws IOException If the files cannot be read or written.
+	 */
+	public static GameJournal open(Path directory, BiPredicate<String, List<Turn>> archived)
+			throws IOException {
+		Files.createDirectories(directory);
+		Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+		Path journalFile = directory.resolve(JOURNAL_FILE);
+
+		Map<String, GameRecord> activeGames = new LinkedHashMap<>();
+		Map<String, List<Turn>> replays = new LinkedHashMap<>();
+		long generation = read(snapshotFile, -1, activeGames, replays);
+		read(journalFile, Math.max(generation, 0), activeGames, replays);
+		replays.entrySet().removeIf(replay -> archived.test(replay.getKey(), replay.getValue()));
+
+		// the new snapshot holds everything read so far
+		long next = generation + 1;
+		Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+		try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			write(out, header(next));
+			for (Map.Entry<String, List<Turn>> replay : replays.entrySet()) {
+				write(out, frame(REPLAY, data -> {
+					data.writeUTF(replay.getKey());
+					writeTurns(data, replay.getValue());
+				}));
+			}
+			for (GameRecord game : activeGames.values()) {
+				write(out, startFrame(game.gameID, game.redPlayer, game.whitePlayer));
+				for (Turn turn : game.turns) {
+					write(out, turnFrame(game.gameID, turn));
+				}
+				if (game.resignedPlayer != null) {
+					write(out, resignFrame(game.gameID, game.resignedPlayer));
+				}
+			}
+			out.force(true);
+		}
+		Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+
+		FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		write(channel, header(next));
+		channel.force(true);
+		return new GameJournal(channel,
+				Collections.unmodifiableMap(activeGames), Collections.unmodifiableMap(replays));
+	}
+
+
+	/**
+	 * Fetches the games that were still being played.
+	 * @return Recovered games by game ID, in the order they started.
+	 */
+	public Map<String, GameRecord> getActiveGames() {
+		return activeGames;
+	}
+
+
+	/**
+	 * Fetches the turns of the finished games whose replays were not archived yet.
+	 * @return Turns of each replay, by replay key.
+	 */
+	public Map<String, List<Turn>> getReplays() {
+		return replays;
+	}
+
+
+	/**
+	 * Forgets the games and replays read when the journal was opened,
+	 * once they are restored, so they are not held for the whole run.
+	 */
+	public void forgetRecovered() {
+		activeGames = Collections.emptyMap();
+		replays = Collections.emptyMap();
+	}
+
+
+	/**
+	 * Records the start of a game.
+	 * @param gameID Unique identification of the game.
+	 * @param redPlayer Username of the red player.
+	 * @param whitePlayer Username of the white player.
+	 */
+	public void recordStart(String gameID, String redPlayer, String whitePlayer) {
+		commit(startFrame(gameID, redPlayer, whitePlayer));
+	}
+
+
+	/**
+	 * Records a turn committed to the live board of a game.
+	 * @param gameID Unique identification of the game.
+	 * @param turn Moves of the turn, in board coordinates.
+	 */
+	public void recordTurn(String gameID, Turn turn) {
+		commit(turnFrame(gameID, turn));
+	}
+
+
+	/**
+	 * Records the resignation of a player.
+	 * @param gameID Unique identification of the game.
+	 * @param username Username of the player who resigned.
+	 */
+	public void recordResignation(String gameID, String username) {
+		commit(resignFrame(gameID, username));
+	}
+
+
+	/**
+	 * Records the end of a game, whose turns become a replay.
+	 * @param gameID Unique identification of the game.
+	 * @param replayKey Key of the game's replay, null if it is not kept.
+	 */
+	public void recordEnd(String gameID, String replayKey) {
+		commit(frame(END, data -> {
+			data.writeUTF(gameID);
+			data.writeUTF(replayKey == null ? "" : replayKey);
+		}));
+	}
+
+
+	/**
+	 * Determines if the journal was disabled by a failed write.
+	 * @return True if nothing is recorded anymore.
+	 */
+	public synchronized boolean isFailed() {
+		return failure != null;
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+
+	/**
+	 * Appends a frame and waits until it is on disk, unless the journal
+	 * is disabled. Never fails the change being recorded: a failed
+	 * write disables the journal, and a thread interrupted while waiting
+	 * leaves its frame to the batch being written.
+	 * @param frame Encoded record.
+	 */
+	private void commit(byte[] frame) {
+		long frameNumber = append(frame);
+		if (frameNumber < 0) {
+			return;
+		}
+		try {
+			awaitDurable(frameNumber);
+		} catch (InterruptedIOException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			// logged once, when the journal was disabled
+		}
+	}
+
+
+	/**
+	 * Appends a frame to the next batch.
+	 * @param frame Encoded record.
+	 * @return Number of the frame, -1 if the journal is disabled.
+	 */
+	private synchronized long append(byte[] frame) {
+		if (failure != null) {
+			return -1;
+		}
+		pending.write(frame, 0, frame.length);
+		return ++appended;
+	}
+
+
+	/**
+	 * Waits until a frame is on disk. If no other thread is syncing, this
+	 * one writes and syncs every frame appended so far, including the
+	 * frames of the threads waiting behind it.
+	 * @param frameNumber Number of the frame, as returned by append.
+	 * @throws IOException If the batch holding the frame could not be written.
+	 */
+	private void awaitDurable(long frameNumber) throws IOException {
+		ByteBuffer batch;
+		long batchEnd;
+		synchronized (this) {
+			while (syncing && synced < frameNumber) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("interrupted waiting for the journal");
+				}
+			}
+			if (synced >= frameNumber) {
+				return;
+			}
+			if (failure != null) {
+				throw failure;
+			}
+			syncing = true;
+			batch = ByteBuffer.wrap(pending.toByteArray());
+			pending.reset();
+			batchEnd = appended;
+		}
+
+		IOException error = null;
+		try {
+			write(channel, batch);
+			channel.force(false);
+		} catch (IOException e) {
+			error = e;
+		}
+
+		synchronized (this) {
+			syncing = false;
+			if (error == null) {
+				synced = batchEnd;
+			} else {
+				failure = error;
+				pending.reset();
+				LOG.severe("Game journal disabled, games played from now on will not survive a restart: " + error);
+			}
+			notifyAll();
+		}
+		if (error != null) {
+			throw error;
+		}
+	}
+
+
+	/**
+	 * Reads the frames of a file into the recovered games.
+	 * @param file Snapshot or journal file.
+	 * @param expectedGeneration Generation the file must have to be read, -1 for any.
+	 * @param activeGames Games being played, updated by the frames.
+	 * @param replays Replays of finished games, updated by the frames.
+	 * @return Generation of the file, -1 if it is missing or skipped.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private static long read(Path file, long expectedGeneration, Map<String, GameRecord> activeGames,
+							 Map<String, List<Turn>> replays) throws IOException {
+		if (!Files.exists(file)) {
+			return -1;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(file)))) {
+			long generation;
+			try {
+				if (in.readInt() != MAGIC) {
+					throw new IOException(file + " is not a game journal");
+				}
+				generation = in.readLong();
+			} catch (EOFException e) {
+				return -1;
+			}
+			if (expectedGeneration >= 0 && generation != expectedGeneration) {
+				return -1;
+			}
+
+			CRC32 crc = new CRC32();
+			while (true) {
+				byte[] body;
+				try {
+					int length = in.readInt();
+					if (length <= 0 || length > MAX_FRAME) {
+						break;
+					}
+					body = new byte[length];
+					in.readFully(body);
+					crc.reset();
+					crc.update(body, 0, body.length);
+					if (in.readInt() != (int) crc.getValue()) {
+						break;
+					}
+				} catch (EOFException e) {
+					// the last frame was cut short; the records before it stand
+					break;
+				}
+				apply(body, activeGames, replays);
+			}
+			return generation;
+		}
+	}
+
+
+	/**
+	 * Applies one record to the recovered games.
+	 */
+	private static void apply(byte[] body, Map<String, GameRecord> activeGames,
+							  Map<String, List<Turn>> replays) throws IOException {
+		DataInputStream data = new DataInputStream(new ByteArrayInputStream(body));
+		byte type = data.readByte();
+		if (type == REPLAY) {
+			String replayKey = data.readUTF();
+			replays.put(replayKey, readTurns(data));
+			return;
+		}
+
+		String gameID = data.readUTF();
+		GameRecord game = activeGames.get(gameID);
+		switch (type) {
+			case START:
+				activeGames.put(gameID, new GameRecord(gameID, data.readUTF(), data.readUTF()));
+				break;
+			case TURN:
+				if (game != null) {
+					game.turns.addAll(readTurns(data));
+				}
+				break;
+			case RESIGN:
+				if (game != null) {
+					game.resignedPlayer = data.readUTF();
+				}
+				break;
+			case END:
+				String replayKey = data.readUTF();
+				activeGames.remove(gameID);
+				if (game != null && !replayKey.isEmpty() && !game.turns.isEmpty()) {
+					replays.put(replayKey, game.turns);
+				}
+				break;
+			default:
+				throw new IOException("unknown journal record " + type);
+		}
+	}
+
+
+	private static byte[] header(long generation) {
+		return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putLong(generation).array();
+	}
+
+
+	private static byte[] startFrame(String gameID, String redPlayer, String whitePlayer) {
+		return frame(START, data -> {
+			data.writeUTF(gameID);
+			data.writeUTF(redPlayer);
+			data.writeUTF(whitePlayer);
+		});
+	}
+
+
+	private static byte[] turnFrame(String gameID, Turn turn) {
+		return frame(TURN, data -> {
+			data.writeUTF(gameID);
+			writeTurns(data, Collections.singletonList(turn));
+		});
+	}
+
+
+	private static byte[] resignFrame(String gameID, String username) {
+		return frame(RESIGN, data -> {
+			data.writeUTF(gameID);
+			data.writeUTF(username);
+		});
+	}
+
+
+	/**
+	 * Writes the payload of a record.
+	 */
+	private interface Payload {
+		void writeTo(DataOutputStream data) throws IOException;
+	}
+
+
+	/**
+	 * Encodes a record as a frame: length, type and payload, checksum.
+	 * @param type Kind of record.
+	 * @param payload Writes the record's fields.
+	 * @return Bytes of the frame.
+	 */
+	private static byte[] frame(byte type, Payload payload) {
+		try {
+			ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(32);
+			DataOutputStream body = new DataOutputStream(bodyBytes);
+			body.writeByte(type);
+			payload.writeTo(body);
+			byte[] content = bodyBytes.toByteArray();
+
+			CRC32 crc = new CRC32();
+			crc.update(content, 0, content.length);
+			return ByteBuffer.allocate(content.length + 8)
+					.putInt(content.length).put(content).putInt((int) crc.getValue()).array();
+		} catch (IOException e) {
+			// a byte array stream does not fail
+			throw new UncheckedIOException(e);
+		}
+	}
+
+
+	/**
+	 * Writes turns as a count followed by each turn: its number of
+	 * moves and the moves packed by the MoveCodec, one byte each.
+	 */
+	private static void writeTurns(DataOutputStream data, List<Turn> turns) throws IOException {
+		data.writeShort(turns.size());
+		for (Turn turn : turns) {
+			byte[] hops = turn.toBytes();
+			data.writeByte(hops.length);
+			data.write(hops);
+		}
+	}
+
+
+	private static List<Turn> readTurns(DataInputStream data) throws IOException {
+		int count = data.readUnsignedShort();
+		List<Turn> turns = new ArrayList<>(count);
+		for (int t = 0; t < count; t++) {
+			byte[] hops = new byte[data.readUnsignedByte()];
+			data.readFully(hops);
+			try {
+				turns.add(Turn.fromBytes(hops));
+			} catch (IllegalArgumentException e) {
+				throw new IOException("corrupt turn in the journal", e);
+			}
+		}
+		return turns;
+	}
+
+
+	private static void write(FileChannel channel, byte[] bytes) throws IOException {
+		write(channel, ByteBuffer.wrap(bytes));
+	}
+
+
+	private static void write(FileChannel channel, ByteBuffer bytes) throws IOException {
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
+	}
+}
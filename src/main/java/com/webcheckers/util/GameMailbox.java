@@ -0,0 +1,108 @@
+package com.webcheckers.util;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Runs the commands of one game one at a time, in the order they were
+ * sent. Mailboxes share a thread pool: a mailbox only holds a pool
+ * thread while it has commands queued, so different games run in
+ * parallel and no command of a game ever runs alongside another.
+ */
+public class GameMailbox {
+
+	// Pool shared by the mailboxes of every game.
+	private final Executor executor;
+
+	// Commands waiting to run.
+	private final Queue<Runnable> queue;
+
+	// True while a pool thread is draining the queue.
+	private final AtomicBoolean scheduled;
+
+	// Thread draining the queue, null while the mailbox is idle.
+	private volatile Thread runner;
+
+
+	/**
+	 * Creates an empty mailbox.
+	 * @param executor Pool that the commands are run on.
+	 */
+	public GameMailbox(Executor executor) {
+		this.executor = executor;
+		this.queue = new ConcurrentLinkedQueue<>();
+		this.scheduled = new AtomicBoolean(false);
+	}
+
+
+	/**
+	 * Runs a command after every command sent before it, and waits
+	 * for its result. A command sent from a running command of the
+	 * same game runs straight away.
+	 * @param command Command that reads or changes the game.
+	 * @param <T> Type of the command's result.
+	 * @return Result of the command.
+	 */
+	public <T> T call(Callable<T> command) {
+		if (Thread.currentThread() == runner) {
+			try {
+				return command.call();
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		FutureTask<T> task = new FutureTask<>(command);
+		queue.add(task);
+		schedule();
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+
+	// Hands the mailbox to a pool thread unless one already has it.
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			executor.execute(this::drain);
+		}
+	}
+
+	// Runs queued commands until the queue is empty.
+	private void drain() {
+		runner = Thread.currentThread();
+		try {
+			Runnable command;
+			while ((command = queue.poll()) != null) {
+				command.run();
+			}
+		} finally {
+			runner = null;
+			scheduled.set(false);
+		}
+		// a command may have been queued after the last poll
+		if (!queue.isEmpty()) {
+			schedule();
+		}
+	}
+}
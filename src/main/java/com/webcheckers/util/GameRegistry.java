@@ -0,0 +1,115 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.BoardDraft;
+import com.webcheckers.model.Game;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Owns the GameSession of every active game. Games are created and
+ * torn down with a single map operation, so a request never sees a
+ * game that is only partly set up. Each game gets a GameMailbox on a
+ * pool shared by all games, so the commands of one game run one at a
+ * time while different games run in parallel.
+ */
+public class GameRegistry {
+
+	// Every active game, by game ID.
+	private final ConcurrentMap<String, GameSession> sessions;
+
+	// Next unused game ID.
+	private final AtomicInteger nextGameID;
+
+	// Pool running the mailboxes of every game.
+	private final ExecutorService executor;
+
+
+	/**
+	 * Creates an empty registry.
+	 */
+	public GameRegistry() {
+		this.sessions = new ConcurrentHashMap<>();
+		this.nextGameID = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(
+				Runtime.getRuntime().availableProcessors(), runnable -> {
+					Thread thread = new Thread(runnable, "game-mailbox");
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+
+	/**
+	 * Reserves a new game ID.
+	 * @return Game ID not handed out before by this registry.
+	 */
+	public int nextGameID() {
+		return nextGameID.getAndIncrement();
+	}
+
+
+	/**
+	 * Makes sure a game ID restored from the journal is never handed out again.
+	 * @param gameID Game ID already in use.
+	 */
+	public void reserveGameID(int gameID) {
+		nextGameID.accumulateAndGet(gameID + 1, Math::max);
+	}
+
+
+	/**
+	 * Starts a game, replacing any game that had the same ID.
+	 * @param gameID Unique identification of the game.
+	 * @param game Game object of the match.
+	 * @param boardDraft Boards the game is played on.
+	 * @return GameSession of the new game.
+	 */
+	public GameSession create(String gameID, Game game, BoardDraft boardDraft) {
+		GameSession session = new GameSession(gameID, game, boardDraft, new GameMailbox(executor));
+		GameSession replaced = sessions.put(gameID, session);
+		if (replaced != null) {
+			replaced.close();
+		}
+		return session;
+	}
+
+
+	/**
+	 * Fetches the state of an active game.
+	 * @param gameID Unique identification of the game, may be null.
+	 * @return GameSession of the game, null if no such game is active.
+	 */
+	public GameSession fetch(String gameID) {
+		return gameID == null ? null : sessions.get(gameID);
+	}
+
+
+	/**
+	 * Tears down a game, closing its GameSession.
+	 * @param gameID Unique identification of the game, may be null.
+	 * @return GameSession of the removed game, null if it was not active.
+	 */
+	public GameSession remove(String gameID) {
+		GameSession session = gameID == null ? null : sessions.remove(gameID);
+		if (session != null) {
+			session.close();
+		}
+		return session;
+	}
+
+
+	/**
+	 * Fetches every active game.
+	 * @return Read-only view of the active games.
+	 */
+	public Collection<GameSession> fetchAll() {
+		return Collections.unmodifiableCollection(sessions.values());
+	}
+}
@@ -0,0 +1,617 @@
+package com.webcheckers.util;
+
+import com.google.gson.Gson;
+import com.webcheckers.model.*;
+import com.webcheckers.view.BoardView;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+
+/**
+ * Holds all the state of one active checkers game: its players and
+ * boards, the Game object, the moves of the turn being played and the
+ * turns played so far.
+ *
+ * <p>
+ * Every change to a game is sent to its GameMailbox, so the game
+ * logic runs on one command at a time and takes no lock. Every change
+ * the waiting player has to see publishes a Snapshot of the game:
+ * requests that only read it, such as rendering the live board,
+ * checking the version or fetching a board delta, read the latest
+ * snapshot and never wait on the mailbox.
+ * </p>
+ *
+ * <p>
+ * A player's HTTP session keeps the GameSession of their game as a
+ * handle, so a request reaches the game without looking it up. Once
+ * the game is torn down the session is closed, and a handle still
+ * kept somewhere tells so instead of holding on to a finished game.
+ * Its subscribers are pushed the end of the game and then let go.
+ * </p>
+ */
+public class GameSession {
+
+	private static final Gson GSON = new Gson();
+
+	// Makes the tokens of the event pushes.
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	// Length of the token of the event pushes, in random bytes.
+	private static final int EVENTS_TOKEN_BYTES = 16;
+
+	// Unique identification of the game.
+	private final String gameID;
+
+	// Players, active color and piece counts of the game.
+	private final Game game;
+
+	// Challenger, playing red, and challenged player, playing white.
+	private final Player redPlayer;
+	private final Player whitePlayer;
+
+	// Set once the game is torn down.
+	private volatile boolean closed;
+
+	// Time of the last command or change of the game, in milliseconds.
+	private volatile long lastActivity;
+
+	// Live and draft boards of the game.
+	private BoardDraft boardDraft;
+
+	// Moves made so far during the current turn.
+	private final List<Move> currentMoves;
+
+	// Moves of the turn being submitted, recorded for the replay.
+	private final List<Move> submittedMoves;
+
+	// Every turn played in the game, in order.
+	private final List<Turn> turns;
+
+	// Legal turns of the active player, computed once per turn.
+	private LegalMoves legalMoves;
+
+	// Runs the commands that change the game, one at a time.
+	private final GameMailbox mailbox;
+
+	// Number of changes the waiting player has to see: committed turns and resignations.
+	private long version;
+
+	// State of the game as of its last change, read without the mailbox.
+	private volatile Snapshot snapshot;
+
+	// Completed, then replaced, on every change of the game.
+	private volatile CompletableFuture<Void> nextChange;
+
+	// Players and spectators pushed a JSON GameEvent on every change,
+	// each with what to run once the game is torn down.
+	private final ConcurrentMap<Consumer<String>, Runnable> subscribers;
+
+	// Token handed to the players and spectators shown the game page,
+	// which they must give to subscribe to the game's events.
+	private final String eventsToken;
+
+	// Rendered draft boards of the active player, by slot (rotated ? 1 : 0).
+	private final BoardView[] draftViews;
+
+	// Board fingerprint each rendered draft board was built at.
+	private final long[] draftViewHashes;
+
+
+	/**
+	 * Creates the state of a new game.
+	 * @param gameID Unique identification of the game.
+	 * @param game Game object of the match.
+	 * @param boardDraft Boards the game is played on.
+	 * @param mailbox Mailbox running the commands of the game.
+	 */
+	public GameSession(String gameID, Game game, BoardDraft boardDraft, GameMailbox mailbox) {
+		this.gameID = gameID;
+		this.game = game;
+		this.redPlayer = game.getRedPlayer();
+		this.whitePlayer = game.getWhitePlayer();
+		this.boardDraft = boardDraft;
+		this.currentMoves = new ArrayList<>();
+		this.submittedMoves = new ArrayList<>();
+		this.turns = new ArrayList<>();
+		this.mailbox = mailbox;
+		this.subscribers = new ConcurrentHashMap<>();
+		this.eventsToken = newEventsToken();
+		this.draftViews = new BoardView[2];
+		this.draftViewHashes = new long[2];
+		this.nextChange = new CompletableFuture<>();
+		this.snapshot = new Snapshot(0, Collections.emptyList(), new long[0], boardDraft.getLive(), game);
+		this.lastActivity = System.currentTimeMillis();
+	}
+
+
+	public String getGameID() {
+		return gameID;
+	}
+
+
+	public Game getGame() {
+		return game;
+	}
+
+
+	public Player getRedPlayer() {
+		return redPlayer;
+	}
+
+
+	public Player getWhitePlayer() {
+		return whitePlayer;
+	}
+
+
+	/**
+	 * Fetches the opponent of a player of the game.
+	 * @param player Player of the game.
+	 * @return The other player, null if the given player is not in the game.
+	 */
+	public Player getOpponent(Player player) {
+		if (redPlayer.equals(player)) {
+			return whitePlayer;
+		}
+		return whitePlayer.equals(player) ? redPlayer : null;
+	}
+
+
+	/**
+	 * Determines if the game was torn down.
+	 * @return True once the game is no longer active.
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+
+	/**
+	 * Marks the game as torn down, for every handle still kept on it,
+	 * and pushes the end of the game to every request and subscriber
+	 * still waiting on it.
+	 */
+	void close() {
+		closed = true;
+		execute(() -> {
+			markChanged(GameEvent.Type.GAME_OVER, Collections.emptyList());
+			return null;
+		});
+	}
+
+
+	/**
+	 * Runs a command on the game after every command sent before it.
+	 * @param command Command that changes the game.
+	 * @param <T> Type of the command's result.
+	 * @return Result of the command.
+	 */
+	public <T> T execute(Callable<T> command) {
+		lastActivity = System.currentTimeMillis();
+		return mailbox.call(command);
+	}
+
+
+	/**
+	 * Runs a command on the game after every command sent before it, if
+	 * nothing was sent to the game or changed it since a time. Unlike
+	 * execute, checking the game does not count as playing it.
+	 * @param idleSince Time in milliseconds the game must be idle since.
+	 * @param command Command run if the game is idle.
+	 * @return True if the game was idle and the command ran.
+	 */
+	public boolean executeIfIdle(long idleSince, Runnable command) {
+		return mailbox.call(() -> {
+			if (lastActivity >= idleSince) {
+				return false;
+			}
+			command.run();
+			return true;
+		});
+	}
+
+
+	/**
+	 * Fetches the time the game was last played or changed.
+	 * @return Time of the last command or change, in milliseconds.
+	 */
+	public long getLastActivity() {
+		return lastActivity;
+	}
+
+
+	public BoardDraft getBoardDraft() {
+		return boardDraft;
+	}
+
+
+	/**
+	 * Reassigns the boards of the game, dropping the legal turns
+	 * if the boards were replaced.
+	 * @param boardDraft Boards replacing the current ones.
+	 */
+	public void setBoardDraft(BoardDraft boardDraft) {
+		if (this.boardDraft != boardDraft) {
+			this.boardDraft = boardDraft;
+			this.legalMoves = null;
+		}
+	}
+
+
+	/**
+	 * Fetches the legal turns of the active player, generating them
+	 * from the live board the first time they are asked for in a turn.
+	 * @return LegalMoves object holding every legal turn.
+	 */
+	public LegalMoves getLegalMoves() {
+		if (legalMoves == null) {
+			legalMoves = MoveGenerator.generate(boardDraft.getLive(), game.getActiveColor());
+		}
+		return legalMoves;
+	}
+
+
+	/**
+	 * Pushes a new move to the stack of moves of the current turn.
+	 * @param move Move object most recently performed in the game.
+	 */
+	public void pushMove(Move move) {
+		currentMoves.add(move);
+	}
+
+
+	/**
+	 * Pops the most recent move from the stack of moves.
+	 * @return Move object most recently performed, null if none was made.
+	 */
+	public Move popMove() {
+		return currentMoves.isEmpty() ? null : currentMoves.remove(currentMoves.size() - 1);
+	}
+
+
+	/**
+	 * Fetches the most recent move without removing it.
+	 * @return Move object most recently performed, null if none was made.
+	 */
+	public Move peekMove() {
+		return currentMoves.isEmpty() ? null : currentMoves.get(currentMoves.size() - 1);
+	}
+
+
+	/**
+	 * Fetches the moves made so far during the current turn.
+	 * @return Copy of the moves in the order they were made.
+	 */
+	public List<Move> getMoves() {
+		return Collections.unmodifiableList(new ArrayList<>(currentMoves));
+	}
+
+
+	public int numberOfMoves() {
+		return currentMoves.size();
+	}
+
+
+	public void clearMoves() {
+		currentMoves.clear();
+	}
+
+
+	/**
+	 * Records the moves of the current turn for the replay.
+	 */
+	public void storeMoves() {
+		submittedMoves.addAll(currentMoves);
+	}
+
+
+	/**
+	 * Ends the current turn: the recorded moves become a Turn in
+	 * the turn log and the legal turns of the next player are computed.
+	 * @return Turn object holding the moves of the turn.
+	 */
+	public Turn turnOver() {
+		Turn turn = new Turn();
+		for (Move move : submittedMoves) {
+			turn.addMove(move);
+		}
+		turns.add(turn);
+		List<Move> moves = new ArrayList<>(submittedMoves);
+		currentMoves.clear();
+		submittedMoves.clear();
+		// the live board and active player changed, so the legal turns did too
+		legalMoves = null;
+		getLegalMoves();
+		markChanged(game.isOver() ? GameEvent.Type.GAME_OVER : GameEvent.Type.TURN, moves);
+		return turn;
+	}
+
+
+	/**
+	 * Fetches the rendered view of one of the game's boards. The live
+	 * board is rendered once per change of the game and shared by every
+	 * viewer, without the mailbox. The draft changes with every move of
+	 * a turn and is only shown to the active player, on the mailbox,
+	 * rendered again whenever the draft itself changed.
+	 * @param rotated True for the board as seen by the red player.
+	 * @param draft True for the draft board, false for the live board.
+	 * @return Shared, read-only BoardView object.
+	 */
+	public BoardView getBoardView(boolean rotated, boolean draft) {
+		if (!draft) {
+			return snapshot.getLiveView(rotated);
+		}
+		Board board = boardDraft.getDraft();
+		int slot = rotated ? 1 : 0;
+		if (draftViews[slot] == null || draftViewHashes[slot] != board.getHash()) {
+			draftViews[slot] = BoardView.of(board, rotated, true);
+			draftViewHashes[slot] = board.getHash();
+		}
+		return draftViews[slot];
+	}
+
+
+	/**
+	 * Fetches the squares of the live board changed by the turns
+	 * committed after a version. The squares are the ones each move
+	 * of those turns left, reached or captured, holding what is on
+	 * them now, so promotions are included. Read from the latest
+	 * snapshot, without the mailbox.
+	 * @param since Version the viewer has seen.
+	 * @param rotated True for squares as seen by the red player.
+	 * @return BoardDelta object; not complete if the version is unknown.
+	 */
+	public BoardDelta getBoardDelta(long since, boolean rotated) {
+		Snapshot current = snapshot;
+		Board live = current.live;
+		if (since < 0 || since > current.version) {
+			return new BoardDelta(since, current.version, false, current.activeColor,
+					current.over, Collections.emptyList());
+		}
+
+		// changed squares in the order they were first touched, each listed once
+		Set<Integer> changed = new LinkedHashSet<>();
+		for (int i = current.turns.size() - 1; i >= 0 && current.turnVersions[i] > since; i--) {
+			Turn turn = current.turns.get(i);
+			for (int m = 0; m < turn.getMoveCount(); m++) {
+				Move move = turn.getMove(m);
+				changed.add(Board.squareOf(move.getStart()));
+				changed.add(Board.squareOf(move.getEnd()));
+				int jumped = Board.jumpedSquare(move);
+				if (jumped >= 0) {
+					changed.add(jumped);
+				}
+			}
+		}
+
+		int kings = live.getKings();
+		List<BoardDelta.Square> squares = new ArrayList<>(changed.size());
+		for (int square : changed) {
+			Piece.PieceColor color = live.getColorAt(Position.of(Board.cellOf(square), Board.rowOf(square)));
+			Piece.Type type = null;
+			if (color != null) {
+				type = (kings & (1 << square)) != 0 ? Piece.Type.KING : Piece.Type.SINGLE;
+			}
+			// turning the board around maps each square to its opposite
+			int shown = rotated ? Board.SQUARES - 1 - square : square;
+			squares.add(new BoardDelta.Square(Board.rowOf(shown), Board.cellOf(shown), color, type));
+		}
+		return new BoardDelta(since, current.version, true, current.activeColor, current.over,
+				Collections.unmodifiableList(squares));
+	}
+
+
+	public long getVersion() {
+		return snapshot.version;
+	}
+
+
+	/**
+	 * Records a change the waiting player has to see, such as a
+	 * committed turn or a resignation, on the mailbox. Publishes the
+	 * snapshot of the game as of the change, wakes every request
+	 * waiting for one and pushes the change to every subscriber; the
+	 * event is serialized once however many subscribers there are.
+	 * Once the game is torn down, its subscribers are let go after this push.
+	 * @param type Kind of change.
+	 * @param moves Moves of the committed turn, empty for other changes.
+	 */
+	public void markChanged(GameEvent.Type type, List<Move> moves) {
+		lastActivity = System.currentTimeMillis();
+		version++;
+		Snapshot previous = snapshot;
+		long[] turnVersions = Arrays.copyOf(previous.turnVersions, turns.size());
+		for (int i = previous.turnVersions.length; i < turnVersions.length; i++) {
+			turnVersions[i] = version;
+		}
+		snapshot = new Snapshot(version, new ArrayList<>(turns), turnVersions, boardDraft.getLive(), game);
+
+		// swapped after the snapshot, so a waiting request sees one or the other
+		CompletableFuture<Void> changed = nextChange;
+		nextChange = new CompletableFuture<>();
+		changed.complete(null);
+
+		String json = GSON.toJson(new GameEvent(type, gameID, version, moves));
+		for (Consumer<String> subscriber : subscribers.keySet()) {
+			try {
+				subscriber.accept(json);
+			} catch (RuntimeException e) {
+				// the connection went away; it will not be pushed to again
+				subscribers.remove(subscriber);
+			}
+		}
+		if (closed) {
+			for (Map.Entry<Consumer<String>, Runnable> entry : subscribers.entrySet()) {
+				if (subscribers.remove(entry.getKey(), entry.getValue())) {
+					entry.getValue().run();
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Fetches the token that the players and spectators of the game
+	 * are handed with the game page, to subscribe to its events.
+	 * @return Random token, the same for the whole game.
+	 */
+	public String getEventsToken() {
+		return eventsToken;
+	}
+
+
+	/**
+	 * Subscribes a player or spectator to the changes of the game.
+	 * @param subscriber Sends a JSON GameEvent to the subscriber.
+	 * @return True if subscribed, false if the game was torn down.
+	 */
+	public boolean subscribe(Consumer<String> subscriber) {
+		return subscribe(subscriber, () -> { });
+	}
+
+
+	/**
+	 * Subscribes a player or spectator to the changes of the game,
+	 * unless they do not hold the token of the game's events.
+	 * @param subscriber Sends a JSON GameEvent to the subscriber.
+	 * @param token Token the subscriber was handed with the game page.
+	 * @param onClose Run once the game is torn down, such as closing
+	 *                the subscriber's connection.
+	 * @return True if subscribed, false if the token is not the game's
+	 *         or the game was torn down.
+	 */
+	public boolean subscribe(Consumer<String> subscriber, String token, Runnable onClose) {
+		if (token == null || !MessageDigest.isEqual(eventsToken.getBytes(), token.getBytes())) {
+			return false;
+		}
+		return subscribe(subscriber, onClose);
+	}
+
+
+	private boolean subscribe(Consumer<String> subscriber, Runnable onClose) {
+		subscribers.put(subscriber, onClose);
+		// the game may have let go of its subscribers meanwhile
+		if (closed) {
+			subscribers.remove(subscriber, onClose);
+			return false;
+		}
+		return true;
+	}
+
+
+	/**
+	 * Unsubscribes a player or spectator from the changes of the game.
+	 * @param subscriber Subscriber given to subscribe.
+	 */
+	public void unsubscribe(Consumer<String> subscriber) {
+		subscribers.remove(subscriber);
+	}
+
+
+	/**
+	 * Waits until the game changes after a version was seen.
+	 * @param seenVersion Version the caller has already seen.
+	 * @param timeoutMillis Longest time to wait, in milliseconds.
+	 * @return True if the game changed, false if the wait timed out.
+	 * @throws InterruptedException If the waiting thread is interrupted.
+	 */
+	public boolean awaitChange(long seenVersion, long timeoutMillis) throws InterruptedException {
+		// read before the version, so a change made in between is not missed
+		CompletableFuture<Void> change = nextChange;
+		if (snapshot.version != seenVersion) {
+			return true;
+		}
+		try {
+			change.get(Math.max(timeoutMillis, 0), TimeUnit.MILLISECONDS);
+			return true;
+		} catch (TimeoutException e) {
+			return false;
+		} catch (ExecutionException e) {
+			// never completed exceptionally
+			throw new IllegalStateException(e);
+		}
+	}
+
+
+	/**
+	 * Fetches the turns played so far, from the latest snapshot.
+	 * @return Read-only turn log, in the order the turns were played.
+	 */
+	public List<Turn> getTurns() {
+		return snapshot.turns;
+	}
+
+
+	private static String newEventsToken() {
+		byte[] token = new byte[EVENTS_TOKEN_BYTES];
+		RANDOM.nextBytes(token);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+	}
+
+
+	/**
+	 * State of a game as of one change, never changed once published,
+	 * so any request reads it without a lock. The live board views are
+	 * rendered on first use and then shared.
+	 */
+	private static final class Snapshot {
+
+		// Version of the game the snapshot was taken at.
+		private final long version;
+
+		// Turns played, and the version of the game right after each.
+		private final List<Turn> turns;
+		private final long[] turnVersions;
+
+		// Copy of the live board.
+		private final Board live;
+
+		private final Piece.PieceColor activeColor;
+		private final boolean over;
+
+		// Rendered live boards, by slot (rotated ? 1 : 0).
+		private final AtomicReferenceArray<BoardView> liveViews;
+
+
+		private Snapshot(long version, List<Turn> turns, long[] turnVersions, Board live, Game game) {
+			this.version = version;
+			this.turns = Collections.unmodifiableList(turns);
+			this.turnVersions = turnVersions;
+			this.live = new Board();
+			this.live.copyFrom(live);
+			this.activeColor = game.getActiveColor();
+			this.over = game.isOver();
+			this.liveViews = new AtomicReferenceArray<>(2);
+		}
+
+
+		private BoardView getLiveView(boolean rotated) {
+			int slot = rotated ? 1 : 0;
+			BoardView view = liveViews.get(slot);
+			if (view == null) {
+				// rendered by whichever viewer comes first; the others share it
+				liveViews.compareAndSet(slot, null, BoardView.of(live, rotated, true));
+				view = liveViews.get(slot);
+			}
+			return view;
+		}
+	}
+}
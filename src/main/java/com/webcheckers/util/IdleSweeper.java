@@ -0,0 +1,153 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Player;
+import com.webcheckers.model.PlayerLobby;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Background sweep of what players left behind without signing out
+ * or finishing their game, such as by closing the browser tab.
+ *
+ * <p>
+ * Each sweep ends the games nobody played for longer than the game TTL,
+ * through the same clearGameData path as a finished game, and signs out
+ * the players not seen for longer than the session TTL, which frees
+ * their usernames. Players signed out with no game left to come back
+ * to are forgotten. The counts of every sweep are logged and added up,
+ * so memory stays bounded on a server that runs for weeks.
+ * </p>
+ */
+public class IdleSweeper {
+	private static final Logger LOG = Logger.getLogger(IdleSweeper.class.getName());
+
+	// TTLs used when none are configured.
+	public static final long DEFAULT_GAME_TTL = TimeUnit.HOURS.toMillis(1);
+	public static final long DEFAULT_SESSION_TTL = TimeUnit.MINUTES.toMillis(30);
+
+	// Longest time between two sweeps.
+	private static final long MAX_PERIOD = TimeUnit.MINUTES.toMillis(1);
+
+	private final PlayerLobby lobby;
+	private final long gameTtl;
+	private final long sessionTtl;
+
+	// Totals of every sweep so far.
+	private final AtomicLong gamesReaped = new AtomicLong();
+	private final AtomicLong playersSignedOut = new AtomicLong();
+
+	// Runs the sweeps, null until started.
+	private ScheduledExecutorService scheduler;
+
+
+	/**
+	 * Creates a sweeper, not started yet.
+	 * @param lobby Lobby the players are signed in to.
+	 * @param gameTtl Milliseconds a game may go unplayed before it is ended.
+	 * @param sessionTtl Milliseconds a player may go unseen before they are signed out.
+	 */
+	public IdleSweeper(PlayerLobby lobby, long gameTtl, long sessionTtl) {
+		this.lobby = lobby;
+		this.gameTtl = gameTtl;
+		this.sessionTtl = sessionTtl;
+	}
+
+
+	/**
+	 * Starts sweeping in the background, several times per TTL.
+	 */
+	public synchronized void start() {
+		if (scheduler != null) {
+			return;
+		}
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "idle-sweeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long period = Math.max(1, Math.min(MAX_PERIOD, Math.min(gameTtl, sessionTtl) / 4));
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				sweep();
+			} catch (RuntimeException e) {
+				// a failed sweep must not stop the next ones
+				LOG.warning("Idle sweep failed: " + e);
+			}
+		}, period, period, TimeUnit.MILLISECONDS);
+	}
+
+
+	/**
+	 * Stops sweeping.
+	 */
+	public synchronized void stop() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+		}
+	}
+
+
+	/**
+	 * Sweeps once now, adding what was swept to the totals.
+	 */
+	public void sweep() {
+		sweep(System.currentTimeMillis());
+	}
+
+
+	/**
+	 * Sweeps once as if it was a given time.
+	 * @param now Time in milliseconds.
+	 */
+	void sweep(long now) {
+		int games = GameHelper.reapIdleGames(now - gameTtl);
+
+		List<Player> idle = lobby.signOutIdle(now - sessionTtl);
+		for (Player player : idle) {
+			// restore the draft board if the player left mid move attempt
+			GameSession session = GameHelper.fetchSession(player);
+			if (session != null && session.getGame().isMyTurn(player)) {
+				GameHelper.discardTurn(session);
+			}
+		}
+
+		// players who left and have no game to come back to
+		int forgotten = lobby.forgetSignedOut(GameHelper::isInGame);
+
+		gamesReaped.addAndGet(games);
+		playersSignedOut.addAndGet(idle.size());
+		if (games > 0 || !idle.isEmpty() || forgotten > 0) {
+			LOG.info(String.format("Ended %d idle games, signed out %d idle players and forgot %d players.",
+					games, idle.size(), forgotten));
+		}
+	}
+
+
+	/**
+	 * Fetches the number of games ended by every sweep so far.
+	 * @return Number of games.
+	 */
+	public long getGamesReaped() {
+		return gamesReaped.get();
+	}
+
+
+	/**
+	 * Fetches the number of players signed out by every sweep so far.
+	 * @return Number of players.
+	 */
+	public long getPlayersSignedOut() {
+		return playersSignedOut.get();
+	}
+
+
+	public long getSessionTtl() {
+		return sessionTtl;
+	}
+}
@@ -0,0 +1,241 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Move;
+import com.webcheckers.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The set of legal turns available to one side, as built by the
+ * MoveGenerator. Each turn is the path of dark spots visited by the
+ * moving piece, packed into a long: the low 4 bits hold the number of
+ * spots and every following 5 bits hold one spot index.
+ */
+public class LegalMoves {
+
+	// Longest path (in spots) that fits into a packed long.
+	static final int MAX_PATH = 12;
+
+	private static final int LENGTH_BITS = 4;
+	private static final int SQUARE_BITS = 5;
+	private static final int SQUARE_MASK = (1 << SQUARE_BITS) - 1;
+
+	// packed paths of every legal turn
+	private long[] paths;
+	private int size;
+
+	// sorted packed paths of every start of a legal turn, built by seal()
+	private long[] prefixes;
+
+	// true if every legal turn is a capture
+	private boolean captureRequired;
+
+	/**
+	 * Creates an empty set of legal turns.
+	 */
+	LegalMoves() {
+		this.paths = new long[16];
+		this.size = 0;
+		this.captureRequired = false;
+	}
+
+
+	/**
+	 * Appends a spot to a packed path.
+	 * @param path Packed path, 0 for an empty path.
+	 * @param square Index of the dark spot being visited.
+	 * @return Packed path with the spot added to its end.
+	 */
+	static long append(long path, int square) {
+		int length = length(path);
+		return (path | ((long) square << (LENGTH_BITS + SQUARE_BITS * length))) + 1;
+	}
+
+
+	/**
+	 * Fetches the number of spots in a packed path.
+	 * @param path Packed path.
+	 * @return Number of spots visited, including the starting spot.
+	 */
+	static int length(long path) {
+		return (int) (path & ((1 << LENGTH_BITS) - 1));
+	}
+
+
+	/**
+	 * Fetches one spot of a packed path.
+	 * @param path Packed path.
+	 * @param index Index of the spot within the path.
+	 * @return Index of the dark spot.
+	 */
+	static int squareAt(long path, int index) {
+		return (int) (path >>> (LENGTH_BITS + SQUARE_BITS * index)) & SQUARE_MASK;
+	}
+
+
+	/**
+	 * Adds a packed path to the set.
+	 * @param path Packed path of a legal turn.
+	 */
+	void add(long path) {
+		if (size == paths.length) {
+			paths = Arrays.copyOf(paths, size * 2);
+		}
+		paths[size++] = path;
+	}
+
+
+	void setCaptureRequired(boolean captureRequired) {
+		this.captureRequired = captureRequired;
+	}
+
+
+	/**
+	 * Sorts the legal turns and indexes every start of a turn, so
+	 * that checking a list of moves is a binary search.
+	 * Called once the generator has added every turn.
+	 */
+	void seal() {
+		paths = Arrays.copyOf(paths, size);
+		Arrays.sort(paths);
+
+		int count = 0;
+		for (long path : paths) {
+			count += length(path) - 1;
+		}
+		long[] all = new long[count];
+		int next = 0;
+		for (long path : paths) {
+			for (int length = 2; length <= length(path); length++) {
+				all[next++] = truncate(path, length);
+			}
+		}
+		Arrays.sort(all);
+
+		// drop duplicate prefixes shared by several turns
+		int unique = 0;
+		for (int i = 0; i < all.length; i++) {
+			if (i == 0 || all[i] != all[unique - 1]) {
+				all[unique++] = all[i];
+			}
+		}
+		prefixes = Arrays.copyOf(all, unique);
+	}
+
+
+	/**
+	 * Shortens a packed path to its first spots.
+	 * @param path Packed path.
+	 * @param length Number of spots to keep.
+	 * @return Packed path of the first spots.
+	 */
+	static long truncate(long path, int length) {
+		if (length >= length(path)) {
+			return path;
+		}
+		long squares = path & ((1L << (LENGTH_BITS + SQUARE_BITS * length)) - 1);
+		return (squares & ~((1L << LENGTH_BITS) - 1)) | length;
+	}
+
+
+	/**
+	 * Packs a list of connected moves into a path.
+	 * @param moves Moves made by one piece, in order.
+	 * @return Packed path, 0 if the moves do not form a path on the board.
+	 */
+	static long encode(List<Move> moves) {
+		if (moves.isEmpty() || moves.size() >= MAX_PATH) {
+			return 0L;
+		}
+		int previous = Board.squareOf(moves.get(0).getStart());
+		if (previous < 0) {
+			return 0L;
+		}
+		long path = append(0L, previous);
+		for (Move move : moves) {
+			int to = Board.squareOf(move.getEnd());
+			if (Board.squareOf(move.getStart()) != previous || to < 0) {
+				return 0L;
+			}
+			path = append(path, to);
+			previous = to;
+		}
+		return path;
+	}
+
+
+	/**
+	 * Fetches the number of legal turns.
+	 * @return Number of legal turns, 0 if the side cannot move.
+	 */
+	public int size() {
+		return size;
+	}
+
+
+	/**
+	 * Determines if the side to move is forced to capture.
+	 * @return True if every legal turn is made up of jumps.
+	 */
+	public boolean isCaptureRequired() {
+		return captureRequired;
+	}
+
+
+	/**
+	 * Determines if a list of moves is the start of a legal turn.
+	 * @param moves Moves made so far this turn, in order.
+	 * @return True if the moves can be extended (or are already)
+	 *         a legal turn.
+	 */
+	public boolean isPrefix(List<Move> moves) {
+		long path = encode(moves);
+		return path != 0L && Arrays.binarySearch(prefixes, path) >= 0;
+	}
+
+
+	/**
+	 * Determines if a list of moves is a whole legal turn.
+	 * @param moves Moves made this turn, in order.
+	 * @return True if the moves make up a legal turn.
+	 */
+	public boolean isComplete(List<Move> moves) {
+		long path = encode(moves);
+		return path != 0L && Arrays.binarySearch(paths, path) >= 0;
+	}
+
+
+	/**
+	 * Fetches the starting position of a piece that can capture.
+	 * @return Position of a piece that is able to jump, or null
+	 *         if no capture is available.
+	 */
+	public Position findCapture() {
+		if (!captureRequired) {
+			return null;
+		}
+		int square = squareAt(paths[0], 0);
+		return Position.of(Board.cellOf(square), Board.rowOf(square));
+	}
+
+
+	/**
+	 * Expands one legal turn into its moves.
+	 * @param index Index of the turn, 0 to size() - 1.
+	 * @return List of moves making up the turn.
+	 */
+	public List<Move> getTurn(int index) {
+		long path = paths[index];
+		List<Move> moves = new ArrayList<>(length(path) - 1);
+		for (int i = 1; i < length(path); i++) {
+			int from = squareAt(path, i - 1);
+			int to = squareAt(path, i);
+			moves.add(Move.of(Position.of(Board.cellOf(from), Board.rowOf(from)),
+					Position.of(Board.cellOf(to), Board.rowOf(to))));
+		}
+		return moves;
+	}
+}
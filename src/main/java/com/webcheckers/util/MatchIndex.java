@@ -0,0 +1,119 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the active matches, by each of their two players.
+ *
+ * <p>
+ * Each player in a match has one entry holding their opponent, whether
+ * they challenged or were challenged, their colour and the game ID, so
+ * every question about a player's match is a single hash lookup. Both
+ * entries of a match are added and removed together; readers never lock
+ * and see either the whole entry of a player or none.
+ * </p>
+ */
+public class MatchIndex {
+
+	/**
+	 * Side a player took when the match was made.
+	 */
+	public enum Role { CHALLENGER, CHALLENGED }
+
+	// entry of every player in a match
+	private final Map<Player, Match> byPlayer = new ConcurrentHashMap<>();
+	// challenger of every challenged player, listed on the home page
+	private final Map<Player, Player> matches = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Adds a match, replacing any match either player was in.
+	 * The challenger plays red and the challenged player white.
+	 * @param challenged Player that was challenged to the match.
+	 * @param challenger Player that challenged the opponent.
+	 * @param gameID Unique identification of the game of the match.
+	 */
+	public synchronized void add(Player challenged, Player challenger, int gameID) {
+		remove(challenged);
+		remove(challenger);
+		byPlayer.put(challenger, new Match(challenged, Role.CHALLENGER, Piece.PieceColor.RED, gameID));
+		byPlayer.put(challenged, new Match(challenger, Role.CHALLENGED, Piece.PieceColor.WHITE, gameID));
+		matches.put(challenged, challenger);
+	}
+
+
+	/**
+	 * Removes the match of a player, for both of its players.
+	 * @param player Either player of the match.
+	 * @return Entry of the player, null if they were in no match.
+	 */
+	public synchronized Match remove(Player player) {
+		Match match = player == null ? null : byPlayer.remove(player);
+		if (match != null) {
+			byPlayer.remove(match.opponent);
+			matches.remove(match.role == Role.CHALLENGED ? player : match.opponent);
+		}
+		return match;
+	}
+
+
+	/**
+	 * Fetches the match of a player.
+	 * @param player Player in question.
+	 * @return Entry of the player, null if they are in no match.
+	 */
+	public Match get(Player player) {
+		return player == null ? null : byPlayer.get(player);
+	}
+
+
+	/**
+	 * Fetches every active match.
+	 * @return Read-only view of the challenger of every challenged player.
+	 */
+	public Map<Player, Player> matches() {
+		return Collections.unmodifiableMap(matches);
+	}
+
+
+	/**
+	 * The match of one of its players, seen from that player.
+	 */
+	public static final class Match {
+		private final Player opponent;
+		private final Role role;
+		private final Piece.PieceColor color;
+		private final int gameID;
+
+		private Match(Player opponent, Role role, Piece.PieceColor color, int gameID) {
+			this.opponent = opponent;
+			this.role = role;
+			this.color = color;
+			this.gameID = gameID;
+		}
+
+		public Player getOpponent() {
+			return opponent;
+		}
+
+		public Role getRole() {
+			return role;
+		}
+
+		/**
+		 * @return Colour of the pieces the player moves.
+		 */
+		public Piece.PieceColor getColor() {
+			return color;
+		}
+
+		public int getGameID() {
+			return gameID;
+		}
+	}
+}
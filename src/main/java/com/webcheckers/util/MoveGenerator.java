@@ -0,0 +1,140 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Piece;
+
+import static com.webcheckers.model.Piece.PieceColor.RED;
+import static com.webcheckers.model.Piece.PieceColor.WHITE;
+
+/**
+ * Generates every legal turn available to one side of a checkers board.
+ * Neighbouring and jump landing spots of every dark spot are computed once,
+ * so generating the moves of a board is a walk over its bitboards.
+ *
+ * <p>
+ * If any capture is available the side must capture, and a capturing piece
+ * must keep jumping until it has no jump left. A single piece that reaches
+ * its final row ends the turn there.
+ * </p>
+ */
+public class MoveGenerator {
+
+	// Diagonal directions: 0, 1 towards row 7 (red's forward), 2, 3 towards row 0.
+	private static final int DIRECTIONS = 4;
+	private static final int[] DIR_CELL = {-1, 1, -1, 1};
+	private static final int[] DIR_ROW = {1, 1, -1, -1};
+
+	// NEIGHBOUR[square * 4 + dir]: adjacent dark spot in a direction, -1 if off the board.
+	private static final int[] NEIGHBOUR = new int[Board.SQUARES * DIRECTIONS];
+
+	// JUMP[square * 4 + dir]: landing spot of a jump in a direction, -1 if off the board.
+	private static final int[] JUMP = new int[Board.SQUARES * DIRECTIONS];
+
+	static {
+		for (int square = 0; square < Board.SQUARES; square++) {
+			int cell = Board.cellOf(square);
+			int row = Board.rowOf(square);
+			for (int dir = 0; dir < DIRECTIONS; dir++) {
+				NEIGHBOUR[square * DIRECTIONS + dir] =
+						Board.squareOf(cell + DIR_CELL[dir], row + DIR_ROW[dir]);
+				JUMP[square * DIRECTIONS + dir] =
+						Board.squareOf(cell + 2 * DIR_CELL[dir], row + 2 * DIR_ROW[dir]);
+			}
+		}
+	}
+
+	// Utility class; not instantiated.
+	private MoveGenerator() {
+	}
+
+
+	/**
+	 * Generates the complete set of legal turns for a side.
+	 * @param board Board at the start of the turn.
+	 * @param color Color of the side to move.
+	 * @return LegalMoves object holding every legal turn.
+	 */
+	public static LegalMoves generate(Board board, Piece.PieceColor color) {
+		int own = board.getPieces(color);
+		int opponent = board.getPieces(color == RED ? WHITE : RED);
+		int kings = board.getKings();
+		int empty = ~(own | opponent);
+
+		LegalMoves legalMoves = new LegalMoves();
+
+		// Captures take priority over every other move.
+		for (int pieces = own; pieces != 0; pieces &= pieces - 1) {
+			int square = Integer.numberOfTrailingZeros(pieces);
+			boolean king = (kings & (1 << square)) != 0;
+			// the jumping piece leaves its spot, so it may land there again
+			findJumps(legalMoves, color, king, square, LegalMoves.append(0L, square),
+					opponent, empty | (1 << square));
+		}
+		if (legalMoves.size() > 0) {
+			legalMoves.setCaptureRequired(true);
+			legalMoves.seal();
+			return legalMoves;
+		}
+
+		for (int pieces = own; pieces != 0; pieces &= pieces - 1) {
+			int square = Integer.numberOfTrailingZeros(pieces);
+			boolean king = (kings & (1 << square)) != 0;
+			for (int dir = firstDirection(color, king); dir <= lastDirection(color, king); dir++) {
+				int to = NEIGHBOUR[square * DIRECTIONS + dir];
+				if (to >= 0 && (empty & (1 << to)) != 0) {
+					legalMoves.add(LegalMoves.append(LegalMoves.append(0L, square), to));
+				}
+			}
+		}
+		legalMoves.seal();
+		return legalMoves;
+	}
+
+
+	/**
+	 * Extends a capture path from a spot with every available jump,
+	 * recording the path once the piece has no jump left.
+	 * @param legalMoves Set of turns being built.
+	 * @param color Color of the jumping piece.
+	 * @param king True if the jumping piece is a king.
+	 * @param square Spot the jumping piece is currently on.
+	 * @param path Packed path of spots visited so far.
+	 * @param capturable Opponent pieces not yet jumped this turn.
+	 * @param empty Spots the jumping piece may land on.
+	 */
+	private static void findJumps(LegalMoves legalMoves, Piece.PieceColor color, boolean king,
+								  int square, long path, int capturable, int empty) {
+		boolean extended = false;
+		if (LegalMoves.length(path) < LegalMoves.MAX_PATH
+				&& (king || Board.rowOf(square) != finalRow(color))) {
+			for (int dir = firstDirection(color, king); dir <= lastDirection(color, king); dir++) {
+				int jumped = NEIGHBOUR[square * DIRECTIONS + dir];
+				int landing = JUMP[square * DIRECTIONS + dir];
+				if (landing >= 0 && (capturable & (1 << jumped)) != 0 && (empty & (1 << landing)) != 0) {
+					extended = true;
+					// jumped pieces stay on the board until the turn is over
+					findJumps(legalMoves, color, king, landing, LegalMoves.append(path, landing),
+							capturable & ~(1 << jumped), (empty | (1 << square)) & ~(1 << landing));
+				}
+			}
+		}
+		if (!extended && LegalMoves.length(path) > 1) {
+			legalMoves.add(path);
+		}
+	}
+
+	// First direction a piece may move in.
+	private static int firstDirection(Piece.PieceColor color, boolean king) {
+		return (king || color == RED) ? 0 : 2;
+	}
+
+	// Last direction a piece may move in.
+	private static int lastDirection(Piece.PieceColor color, boolean king) {
+		return (king || color == WHITE) ? 3 : 1;
+	}
+
+	// Row a piece of a color must reach to be kinged.
+	private static int finalRow(Piece.PieceColor color) {
+		return color == RED ? 7 : 0;
+	}
+}
@@ -2,49 +2,47 @@ package com.webcheckers.util;
 
 import com.webcheckers.model.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
+ * The position of one viewer stepping through the replay of a finished game.
+ * The turns and boards of the game are kept once in a shared ReplayRecord,
+ * so a viewer only costs the number of the turn being watched.
+ *
  *@author <a href='mailto:sm3468@rit.edu'>Sanchit Monga</a>
  */
 public class Replay {
-    // list to store the turns that were made throughout the game
-    private List<Turn> turnsTaken;
-    private Board replayBoard;
+    private final ReplayRecord record;
     private int replayTurnIndex;
-    private List<Piece> replayPiecesRemoved;
-    private List<Integer> turnsSinceKing;
 
-    public Replay(){
-        this.turnsTaken = new ArrayList<>();
-        this.turnsTaken.add(0,null);// adding the null in the starting because there was no turn made
-        this.replayBoard = new Board();
+    /**
+     * Starts watching a replay from the starting board.
+     * @param record turns of the game being watched
+     */
+    public Replay(ReplayRecord record){
+        this.record = record;
         this.replayTurnIndex = 0;
-        this.replayPiecesRemoved = new ArrayList<>();
-        this.turnsSinceKing = new ArrayList<>();
     }
 
-    //Initially setting up all the moves for a particular game
-
     /**
-     * Adds a turn to the turn list.
-     * @param turn
+     * Fetches the game being watched
+     * @return record shared by every viewer of the game
      */
-    public void addTurn(Turn turn){
-        // add to total turns in list
-        turnsTaken.add(turn);
+    public ReplayRecord getRecord() {
+        return record;
     }
 
     /**
      * Returns the turn the Replay is currently on
      */
     public Turn getCurrentTurn(){
-        int currIdx = getReplayIndex();
-        if (turnsTaken.size() < currIdx){
-            return null;
-        }
-        return this.turnsTaken.get(currIdx);
+        return record.getTurn(replayTurnIndex);
+    }
+
+    /**
+     * Fetches the number of turns made in the game
+     * @return number of turns
+     */
+    public int getTurnCount() {
+        return record.getTurnCount();
     }
 
 
@@ -56,37 +54,7 @@ public class Replay {
      * @return Boolean whether the next turn was made or not
      */
     public Boolean takeTurnNext() {
-        // increments turn index to be next turn
-        nextIndex(true);
-        int currIdx = getReplayIndex();
-        if(turnsTaken.size()-1 < currIdx){
-            return false;
-        }
-        Turn turn = this.turnsTaken.get(getReplayIndex());
-        for (int i = 0; i < turn.getMoveCount(); i++) {
-            Move move = turn.getMove(i);
-            Position start = move.getStart();
-            Position end = move.getEnd();
-
-            if (Math.abs(start.getRow() - end.getRow()) > 1) {
-                Position middlePos = new Position((start.getCell() + end.getCell())/2,
-                        (start.getRow() + end.getRow())/2);
-                Spot jumped = replayBoard.getPosition(new Position(middlePos.getCell(), middlePos.getRow()));
-                addPieceRemoved(jumped.moveFrom());
-            }
-
-            replayBoard.updateBoard(move,false);
-            Piece activePiece = replayBoard.getPieceAt(end);
-
-            if (replayBoard.getPosition(end).isNewKing() &&
-                    !(activePiece.getType() == Piece.Type.KING)) {
-                activePiece.setKing(true);
-                addNewKing();
-            }
-        }
-        replayBoard.debugPrint();
-        updateTimeSinceKing(true);
-        return true;
+        return seek(replayTurnIndex + 1);
     }
 
     /**
@@ -95,47 +63,27 @@ public class Replay {
      * @return Boolean whether the previous turn was made or not
      */
     public Boolean takeTurnPrevious(){
-        int currIdx = getReplayIndex();
-        if(currIdx <= 0){
-            return false;
-        }
-        Turn turn = this.turnsTaken.get(currIdx);
-        for (int i = turn.getMoveCount()-1 ; i >=0 ; i--) {
-            Move move = turn.getMove(i);
-            Position current = move.getEnd();
-            Position prev = move.getStart();
-            if (Math.abs(current.getRow() - prev.getRow()) > 1) {
-                Position middlePos = new Position((current.getCell() + prev.getCell())/2,
-                        (current.getRow() + prev.getRow())/2);
-                Spot jumped = replayBoard.getPosition(new Position(middlePos.getCell(), middlePos.getRow()));
-                Piece lastRemoved = getLastPieceRemoved();
-                jumped.moveTo(lastRemoved);
-            }
-            replayBoard.updateBoard(move,true);
-            Piece activePiece = replayBoard.getPieceAt(prev);
-            if (getTurnsSinceKing() == 1) {
-                activePiece.setKing(false);
-                removeLastKing();
-            }
-        }
-        // decrements turn index to be the previous turn
-        nextIndex(false);
-        replayBoard.debugPrint();
-        updateTimeSinceKing(false);
-        return true;
+        return seek(replayTurnIndex - 1);
     }
 
     /**
      * Resets the replay to start at the beginning
-     * by iterating through all current moves replayed
-     * and reversing them
-     * @Param board board to update
      */
     public void resetReplay(){
-        Boolean prev=true;
-        while(prev){
-            prev=takeTurnPrevious();
+        seek(0);
+    }
+
+    /**
+     * Moves the replay straight to the board after any turn of the game.
+     * @param turn number of the turn, 0 for the starting board
+     * @return True if the turn is part of the game, false if the replay did not move
+     */
+    public boolean seek(int turn) {
+        if (turn < 0 || turn > record.getTurnCount()) {
+            return false;
         }
+        replayTurnIndex = turn;
+        return true;
     }
 
 
@@ -143,64 +91,20 @@ public class Replay {
         return this.replayTurnIndex;
     }
 
-    public void nextIndex(boolean incr) {
-        if (incr) {
-            this.replayTurnIndex++;
-        } else this.replayTurnIndex--;
-    }
-
-    public Piece getLastPieceRemoved() {
-        return replayPiecesRemoved.remove(replayPiecesRemoved.size()-1);
-    }
-
-    public void addPieceRemoved(Piece removed) {
-        this.replayPiecesRemoved.add(removed);
-    }
-
+    /**
+     * Fetches the board after the turn being watched
+     * @return board shared by every viewer of the game, not to be changed
+     */
     public Board getBoard() {
-        return this.replayBoard;
+        return record.getBoard(replayTurnIndex);
     }
 
     public boolean reachedEnd() {
-        return this.replayTurnIndex == turnsTaken.size()-1;
+        return this.replayTurnIndex == record.getTurnCount();
     }
 
     public boolean atStart() {
         return this.replayTurnIndex == 0;
     }
 
-    public Replay (Replay copyOf) {
-        this.turnsTaken = copyOf.turnsTaken;
-        this.replayBoard = new Board();
-        this.replayTurnIndex = 0;
-        this.replayPiecesRemoved = new ArrayList<>();
-        this.turnsSinceKing = new ArrayList<>();
-    }
-
-    private void updateTimeSinceKing(boolean incr) {
-        if (!turnsSinceKing.isEmpty()) {
-            int recentIndex = turnsSinceKing.size() - 1;
-            int pastValue = turnsSinceKing.get(recentIndex);
-            pastValue += (incr ? 1 : -1);
-            turnsSinceKing.set(turnsSinceKing.size() - 1, pastValue);
-        }
-    }
-
-    private int getTurnsSinceKing() {
-        if (!turnsSinceKing.isEmpty()) {
-            return turnsSinceKing.get(turnsSinceKing.size() - 1);
-        } return -1;
-    }
-
-    private void removeLastKing() {
-        if (!turnsSinceKing.isEmpty()) {
-            turnsSinceKing.remove(turnsSinceKing.size() - 1);
-            updateTimeSinceKing(true);
-        }
-    }
-
-    private void addNewKing() {
-        turnsSinceKing.add(0);
-    }
-
 }
@@ -0,0 +1,607 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Turn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Archive of the replays of every finished game, kept in three files of
+ * a local directory.
+ *
+ * <p>
+ * The segment file holds the games one after the other, each as its
+ * number of turns (short), the number of moves of each turn (a byte each)
+ * and the moves packed by the MoveCodec, one byte each. The index file
+ * holds, for each game, its replay key (short length and UTF-8 bytes)
+ * followed by the offset (long) and length (int) of the game in the
+ * segment file. A game is written to the segment file before its entry
+ * is added to the index, so after a crash the index never points past
+ * what was written; a torn entry at the end of the index is dropped.
+ * </p>
+ *
+ * <p>
+ * The table file is an open-addressed hash table of the index, mapped
+ * in memory and searched in place: each slot holds the hash of a key
+ * and where its latest and first entries are in the index, which holds
+ * the key itself. Opening the archive only adds the entries written
+ * since the table was last saved, so it takes the same time and heap
+ * however many games are archived; a table that is missing or does not
+ * match the index is made again from the whole index. Games are read
+ * through a MappedByteBuffer of the segment file, and a ReplayRecord is
+ * made on a slice of it without copying the moves.
+ * </p>
+ */
+public final class ReplayArchive implements Closeable {
+
+	static final String SEGMENT_FILE = "replays.seg";
+	static final String INDEX_FILE = "replays.idx";
+	static final String TABLE_FILE = "replays.tab";
+
+	// Longest replay key the index holds, in UTF-8 bytes.
+	static final int MAX_KEY_BYTES = 0xFFFF;
+
+	// Slots of a new table; it doubles whenever it would be more than half full.
+	static final int FIRST_SLOTS = 1024;
+
+	// The header of the table is one slot wide: its magic number, number of
+	// slots and of keys, then the end of the last entry added and its offset.
+	private static final int TABLE_MAGIC = 0x52504c54;
+	private static final int SLOT_BYTES = 32;
+	private static final int SLOTS_AT = 4;
+	private static final int COUNT_AT = 8;
+	private static final int COVERED_AT = 16;
+	private static final int LAST_ENTRY_AT = 24;
+	// A slot holds the offset of the latest entry of its key plus one, 0 if
+	// the slot is empty, then the offset of the first entry and the hash.
+	private static final int FIRST_ENTRY_AT = 8;
+	private static final int HASH_AT = 16;
+
+	private final Path directory;
+	private final FileChannel segment;
+	private final FileChannel index;
+	// held by the append in progress, the only writer of the files
+	private final Object appending = new Object();
+	// where the next entry of the index is written
+	private long indexEnd;
+	// table of the index, replaced by a larger one when it fills up
+	private MappedByteBuffer table;
+	// mapping of the index file, remade when an entry past its end is read
+	private MappedByteBuffer entries;
+	// mapping of the segment file, remade when a game past its end is read
+	private MappedByteBuffer mapped;
+
+
+	private ReplayArchive(Path directory, FileChannel segment, FileChannel index) {
+		this.directory = directory;
+		this.segment = segment;
+		this.index = index;
+	}
+
+
+	/**
+	 * Opens the archive in a directory, creating it if it does not exist.
+	 * @param directory Directory holding the archive files.
+	 * @return Archive of the games found in the index.
+	 * @throws IOException If the files cannot be opened or read.
+	 */
+	public static ReplayArchive open(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		FileChannel segment = FileChannel.open(directory.resolve(SEGMENT_FILE),
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		FileChannel index = FileChannel.open(directory.resolve(INDEX_FILE),
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			ReplayArchive archive = new ReplayArchive(directory, segment, index);
+			archive.recover();
+			return archive;
+		} catch (IOException | RuntimeException e) {
+			segment.close();
+			index.close();
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Brings the table up to date with the index when the archive is
+	 * opened, and drops the entries of the index past the last whole one.
+	 * @throws IOException If the files cannot be read or the table written.
+	 */
+	private void recover() throws IOException {
+		long segmentSize = segment.size();
+		Location location = new Location();
+		table = mapTable();
+		long from = 0;
+		if (table != null) {
+			from = table.getLong(COVERED_AT);
+			long last = table.getLong(LAST_ENTRY_AT);
+			// the last entry of the table must still be whole, or the files were changed behind it
+			if (from > index.size() || from > 0 && (last < 0 || last >= from
+					|| entryBytes(readEntry(entryAt(last), location)) != from - last
+					|| location.offset + location.length > segmentSize)) {
+				table = null;
+			}
+		}
+		if (table == null) {
+			table = newTable(directory.resolve(TABLE_FILE), FIRST_SLOTS);
+			from = 0;
+		}
+
+		indexEnd = from;
+		long last = table.getLong(LAST_ENTRY_AT);
+		while (true) {
+			byte[] key = readEntry(entryAt(indexEnd), location);
+			if (key == null || location.offset + location.length > segmentSize) {
+				break;
+			}
+			last = indexEnd;
+			add(key, last, last + entryBytes(key));
+		}
+		// drop an entry torn by a crash, so the next one follows the last whole entry
+		index.truncate(indexEnd);
+		save(last);
+	}
+
+
+	/**
+	 * Maps the table file if it holds a table.
+	 * @return Table, null if there is none.
+	 */
+	private MappedByteBuffer mapTable() throws IOException {
+		Path file = directory.resolve(TABLE_FILE);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			long size = channel.size();
+			if (size < SLOT_BYTES || size > Integer.MAX_VALUE) {
+				return null;
+			}
+			MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			int slots = table.getInt(SLOTS_AT);
+			if (table.getInt(0) != TABLE_MAGIC || slots <= 0 || Integer.bitCount(slots) != 1
+					|| size != (long) SLOT_BYTES * (slots + 1) || table.getInt(COUNT_AT) * 2L > slots) {
+				return null;
+			}
+			return table;
+		}
+	}
+
+
+	/**
+	 * Makes an empty table in a file, replacing what it held.
+	 * @param file File of the table.
+	 * @param slots Number of slots, a power of two.
+	 * @return Table mapped in memory.
+	 */
+	private static MappedByteBuffer newTable(Path file, int slots) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) SLOT_BYTES * (slots + 1));
+			table.putInt(0, TABLE_MAGIC);
+			table.putInt(SLOTS_AT, slots);
+			return table;
+		}
+	}
+
+
+	/**
+	 * Reads the entry of the index at the position of a buffer.
+	 * @param entries Index, positioned at the entry.
+	 * @param location Location filled in from the entry.
+	 * @return Replay key of the entry in UTF-8, null if the entry is not whole.
+	 */
+	private static byte[] readEntry(ByteBuffer entries, Location location) {
+		if (entries.remaining() < Short.BYTES) {
+			return null;
+		}
+		int keyLength = entries.getShort() & 0xFFFF;
+		if (entries.remaining() < keyLength + Long.BYTES + Integer.BYTES) {
+			return null;
+		}
+		byte[] key = new byte[keyLength];
+		entries.get(key);
+		location.offset = entries.getLong();
+		location.length = entries.getInt();
+		if (location.offset < 0 || location.length < Short.BYTES) {
+			return null;
+		}
+		return key;
+	}
+
+
+	private static long entryBytes(byte[] key) {
+		return key == null ? -1 : Short.BYTES + key.length + Long.BYTES + Integer.BYTES;
+	}
+
+
+	/**
+	 * Finds an entry of the index, mapping the index again if the entry
+	 * is past the mapping.
+	 * @param offset Offset of the entry in the index file.
+	 * @return Buffer positioned at the entry, without a whole entry if
+	 *         the index ends inside it.
+	 */
+	private ByteBuffer entryAt(long offset) throws IOException {
+		if (!isMapped(offset)) {
+			entries = index.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(index.size(), Integer.MAX_VALUE));
+		}
+		if (!isMapped(offset)) {
+			// a buffer can only map the first 2 GiB; later entries are read into memory
+			ByteBuffer entry = ByteBuffer.allocate((int) Math.max(0,
+					Math.min(entryBytes(new byte[MAX_KEY_BYTES]), index.size() - offset)));
+			while (entry.hasRemaining() && index.read(entry, offset + entry.position()) >= 0) {
+				// read until the buffer is full
+			}
+			entry.flip();
+			return entry;
+		}
+		ByteBuffer entry = entries.duplicate();
+		entry.position((int) offset);
+		return entry;
+	}
+
+
+	private boolean isMapped(long offset) {
+		if (entries == null || offset + Short.BYTES > entries.capacity()) {
+			return false;
+		}
+		int keyLength = entries.getShort((int) offset) & 0xFFFF;
+		return offset + Short.BYTES + keyLength + Long.BYTES + Integer.BYTES <= entries.capacity();
+	}
+
+
+	private static int hashOf(byte[] key) {
+		int hash = Arrays.hashCode(key);
+		return hash ^ (hash >>> 16);
+	}
+
+
+	/**
+	 * Finds the slot of a key in the table: the slot holding it, or
+	 * the empty slot it would be added to.
+	 * @param key Replay key in UTF-8.
+	 * @param hash Hash of the key.
+	 * @return Offset of the slot in the table.
+	 */
+	private int slotOf(byte[] key, int hash) throws IOException {
+		int mask = table.getInt(SLOTS_AT) - 1;
+		for (int i = hash & mask; ; i = (i + 1) & mask) {
+			int slot = SLOT_BYTES * (i + 1);
+			long latest = table.getLong(slot);
+			if (latest == 0 || table.getInt(slot + HASH_AT) == hash && hasKey(latest - 1, key)) {
+				return slot;
+			}
+		}
+	}
+
+
+	private boolean hasKey(long entryOffset, byte[] key) throws IOException {
+		ByteBuffer entry = entryAt(entryOffset);
+		if (entry.remaining() < Short.BYTES + key.length || (entry.getShort() & 0xFFFF) != key.length) {
+			return false;
+		}
+		for (byte b : key) {
+			if (entry.get() != b) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Adds an entry written to the index to the table, making the table
+	 * larger first if it would be more than half full. Only the append
+	 * in progress, or the archive being opened, adds entries.
+	 * @param key Replay key in UTF-8.
+	 * @param entryOffset Offset of the entry in the index file.
+	 * @param entryEnd Offset of the end of the entry.
+	 */
+	private void add(byte[] key, long entryOffset, long entryEnd) throws IOException {
+		if ((table.getInt(COUNT_AT) + 1) * 2L > table.getInt(SLOTS_AT)) {
+			MappedByteBuffer larger = grow();
+			synchronized (this) {
+				table = larger;
+			}
+		}
+		int hash = hashOf(key);
+		synchronized (this) {
+			indexEnd = entryEnd;
+			int slot = slotOf(key, hash);
+			if (table.getLong(slot) == 0) {
+				table.putLong(slot + FIRST_ENTRY_AT, entryOffset);
+				table.putInt(slot + HASH_AT, hash);
+				table.putInt(COUNT_AT, table.getInt(COUNT_AT) + 1);
+			}
+			// the slot is only used once it points to the entry
+			table.putLong(slot, entryOffset + 1);
+		}
+	}
+
+
+	/**
+	 * Copies the table into one with twice the slots, placing each key
+	 * by the hash in its slot, and replaces the table file with it.
+	 * @return Larger table.
+	 */
+	private MappedByteBuffer grow() throws IOException {
+		int slots = table.getInt(SLOTS_AT);
+		Path file = directory.resolve(TABLE_FILE + ".new");
+		MappedByteBuffer larger = newTable(file, slots * 2);
+		int mask = slots * 2 - 1;
+		for (int i = 0; i < slots; i++) {
+			int slot = SLOT_BYTES * (i + 1);
+			long latest = table.getLong(slot);
+			if (latest == 0) {
+				continue;
+			}
+			int hash = table.getInt(slot + HASH_AT);
+			int j = hash & mask;
+			while (larger.getLong(SLOT_BYTES * (j + 1)) != 0) {
+				j = (j + 1) & mask;
+			}
+			int moved = SLOT_BYTES * (j + 1);
+			larger.putLong(moved + FIRST_ENTRY_AT, table.getLong(slot + FIRST_ENTRY_AT));
+			larger.putInt(moved + HASH_AT, hash);
+			larger.putLong(moved, latest);
+		}
+		larger.putInt(COUNT_AT, table.getInt(COUNT_AT));
+		larger.putLong(COVERED_AT, table.getLong(COVERED_AT));
+		larger.putLong(LAST_ENTRY_AT, table.getLong(LAST_ENTRY_AT));
+		larger.force();
+		Files.move(file, directory.resolve(TABLE_FILE),
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return larger;
+	}
+
+
+	/**
+	 * Writes the slots added to disk, then records in the header that the
+	 * table covers the index up to its end. A crash before the header is
+	 * written only makes the next open add the last entries again.
+	 * @param lastEntry Offset of the last entry of the index.
+	 */
+	private void save(long lastEntry) {
+		table.force();
+		table.putLong(LAST_ENTRY_AT, lastEntry);
+		table.putLong(COVERED_AT, indexEnd);
+	}
+
+
+	/**
+	 * Appends a finished game to the archive, replacing any game archived
+	 * under the same key. The game is on disk when this returns. Appends
+	 * are made one at a time, but games are found and read meanwhile:
+	 * only adding the game to the table holds the archive.
+	 * @param replayKey Key of the replay, at most MAX_KEY_BYTES in UTF-8.
+	 * @param record Turns of the game.
+	 * @throws IOException If the game cannot be written.
+	 * @throws IllegalArgumentException If the key is too long for the index.
+	 */
+	public void append(String replayKey, ReplayRecord record) throws IOException {
+		byte[] key = replayKey.getBytes(StandardCharsets.UTF_8);
+		if (key.length > MAX_KEY_BYTES) {
+			throw new IllegalArgumentException("replay key of " + key.length
+					+ " bytes is longer than the " + MAX_KEY_BYTES + " the index holds");
+		}
+		List<Turn> turns = record.getTurns();
+		int moves = 0;
+		for (Turn turn : turns) {
+			moves += turn.getMoveCount();
+		}
+		ByteBuffer game = ByteBuffer.allocate(Short.BYTES + turns.size() + moves);
+		game.putShort((short) turns.size());
+		for (Turn turn : turns) {
+			game.put((byte) turn.getMoveCount());
+		}
+		for (Turn turn : turns) {
+			game.put(turn.toBytes());
+		}
+		game.flip();
+
+		synchronized (appending) {
+			Location location = new Location();
+			location.offset = segment.size();
+			location.length = game.remaining();
+			writeFully(segment, game, location.offset);
+			segment.force(false);
+
+			ByteBuffer entry = ByteBuffer.allocate((int) entryBytes(key));
+			entry.putShort((short) key.length).put(key).putLong(location.offset).putInt(location.length);
+			entry.flip();
+			long entryOffset = indexEnd;
+			writeFully(index, entry, entryOffset);
+			index.force(false);
+
+			add(key, entryOffset, entryOffset + entry.capacity());
+			save(entryOffset);
+		}
+	}
+
+
+	/**
+	 * Reads a game of the archive. Only finding the game holds the
+	 * archive; the record is made on it afterwards.
+	 * @param replayKey Key of the replay.
+	 * @return Record on the moves of the game in the segment file, null if
+	 *         no game is archived under the key.
+	 * @throws IOException If the game cannot be read or is corrupt.
+	 */
+	public ReplayRecord read(String replayKey) throws IOException {
+		ByteBuffer game = find(replayKey);
+		if (game == null) {
+			return null;
+		}
+		try {
+			return recordOf(game);
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IOException("corrupt replay " + replayKey + " in the archive", e);
+		}
+	}
+
+
+	/**
+	 * Finds a game in the segment file.
+	 * @param replayKey Key of the replay.
+	 * @return Game, from its number of turns to its last move, null if
+	 *         no game is archived under the key.
+	 * @throws IOException If the game cannot be read.
+	 */
+	private synchronized ByteBuffer find(String replayKey) throws IOException {
+		Location location = locate(replayKey.getBytes(StandardCharsets.UTF_8));
+		if (location == null) {
+			return null;
+		}
+		long end = location.offset + location.length;
+		if (end > Integer.MAX_VALUE) {
+			// a buffer can only map the first 2 GiB; later games are read into memory
+			ByteBuffer game = ByteBuffer.allocate(location.length);
+			while (game.hasRemaining()) {
+				if (segment.read(game, location.offset + game.position()) < 0) {
+					throw new IOException("replay archive ends inside " + replayKey);
+				}
+			}
+			game.flip();
+			return game;
+		}
+		if (mapped == null || end > mapped.capacity()) {
+			mapped = segment.map(FileChannel.MapMode.READ_ONLY, 0,
+					Math.min(segment.size(), Integer.MAX_VALUE));
+		}
+		ByteBuffer game = mapped.duplicate();
+		game.position((int) location.offset).limit((int) end);
+		return game.slice();
+	}
+
+
+	/**
+	 * Looks a key up in the table.
+	 * @param key Replay key in UTF-8.
+	 * @return Location of the latest game archived under the key, null if there is none.
+	 */
+	private Location locate(byte[] key) throws IOException {
+		long latest = table.getLong(slotOf(key, hashOf(key)));
+		if (latest == 0) {
+			return null;
+		}
+		ByteBuffer entry = entryAt(latest - 1);
+		entry.position(entry.position() + Short.BYTES + key.length);
+		Location location = new Location();
+		location.offset = entry.getLong();
+		location.length = entry.getInt();
+		return location;
+	}
+
+
+	/**
+	 * Makes a record on a game of the segment file.
+	 * @param game Game, from its number of turns to its last move.
+	 * @return Record sharing the moves of the buffer.
+	 */
+	private static ReplayRecord recordOf(ByteBuffer game) {
+		int turnCount = game.getShort() & 0xFFFF;
+		int[] turnEnds = new int[turnCount];
+		int moves = 0;
+		for (int t = 0; t < turnCount; t++) {
+			moves += game.get() & 0xFF;
+			turnEnds[t] = moves;
+		}
+		ByteBuffer hops = game.slice();
+		if (hops.remaining() != moves) {
+			throw new IllegalArgumentException("expected " + moves + " moves, found " + hops.remaining());
+		}
+		return new ReplayRecord(hops.asReadOnlyBuffer(), turnEnds);
+	}
+
+
+	/**
+	 * Determines if a game is archived.
+	 * @param replayKey Key of the replay.
+	 * @return True if the game can be read.
+	 */
+	public synchronized boolean contains(String replayKey) {
+		try {
+			return locate(replayKey.getBytes(StandardCharsets.UTF_8)) != null;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+
+	/**
+	 * Fetches the number of games archived.
+	 * @return Number of games.
+	 */
+	public synchronized int size() {
+		return table.getInt(COUNT_AT);
+	}
+
+
+	/**
+	 * Fetches the key of every game archived, going through the whole
+	 * index: each key is listed at its first entry.
+	 * @return Keys in the order the games were first archived.
+	 */
+	public synchronized List<String> keys() {
+		List<String> keys = new ArrayList<>();
+		Location location = new Location();
+		try {
+			for (long offset = 0; offset < indexEnd; ) {
+				byte[] key = readEntry(entryAt(offset), location);
+				if (table.getLong(slotOf(key, hashOf(key)) + FIRST_ENTRY_AT) == offset) {
+					keys.add(new String(key, StandardCharsets.UTF_8));
+				}
+				offset += entryBytes(key);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return keys;
+	}
+
+
+	@Override
+	public void close() throws IOException {
+		synchronized (appending) {
+			synchronized (this) {
+				try {
+					table.force();
+				} finally {
+					try {
+						segment.close();
+					} finally {
+						index.close();
+					}
+				}
+			}
+		}
+	}
+
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+
+
+	// Offset and length of a game in the segment file.
+	private static final class Location {
+		private long offset;
+		private int length;
+	}
+}
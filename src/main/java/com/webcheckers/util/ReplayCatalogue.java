@@ -0,0 +1,325 @@
+package com.webcheckers.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index of the replays that can be watched, by finish order and by player.
+ *
+ * <p>
+ * Each replay is numbered in the order its game finished and indexed
+ * under both of its players, whichever side of the key they are on.
+ * Pages list the newest replays first and end with a cursor, the number
+ * of the first replay of the next page, so a page costs the same however
+ * many replays are kept. Readers never lock; changes are made one at a time.
+ * </p>
+ *
+ * <p>
+ * Search is indexed too: each replay is listed under every start of
+ * its players' usernames up to MAX_INDEXED_PREFIX characters, so a page
+ * of a search costs the same as any other page, however many players
+ * match. A longer search filters the replays listed under its first
+ * characters, looking at MAX_SCANNED replays at most per page.
+ * </p>
+ */
+public class ReplayCatalogue {
+
+	// Separates the challenged player from the challenger in a replay key.
+	static final String KEY_SEPARATOR = " challenged by ";
+
+	// Cursor of the first page, starting from the newest replay.
+	public static final long FIRST_PAGE = Long.MAX_VALUE;
+
+	// Cursor after the last page.
+	public static final long NO_MORE_PAGES = -1;
+
+	// Longest start of a username replays are listed under for search.
+	static final int MAX_INDEXED_PREFIX = 8;
+
+	// Most replays looked at for one page of a search longer than MAX_INDEXED_PREFIX.
+	static final int MAX_SCANNED = 1000;
+
+	private long nextNumber;
+	private final Map<String, Entry> byKey = new ConcurrentHashMap<>();
+	private final ConcurrentSkipListMap<Long, Entry> byFinish = new ConcurrentSkipListMap<>();
+	// replays of each player, by username
+	private final ConcurrentSkipListMap<String, ConcurrentSkipListMap<Long, Entry>> byPlayer =
+			new ConcurrentSkipListMap<>();
+	// replays of the players whose usernames start with each prefix, up to MAX_INDEXED_PREFIX characters
+	private final Map<String, ConcurrentSkipListMap<Long, Entry>> byPrefix = new ConcurrentHashMap<>();
+
+
+	/**
+	 * Makes the key of a replay.
+	 * @param challenged Username of the challenged player.
+	 * @param challenger Username of the challenger.
+	 * @return Replay key.
+	 */
+	public static String keyOf(String challenged, String challenger) {
+		return challenged + KEY_SEPARATOR + challenger;
+	}
+
+
+	/**
+	 * Adds a replay as the newest one, replacing any replay kept under the same key.
+	 * @param replayKey Key of the replay, as made by keyOf.
+	 * @return Entry of the replay.
+	 */
+	public synchronized Entry add(String replayKey) {
+		remove(replayKey);
+		int split = replayKey.indexOf(KEY_SEPARATOR);
+		Entry entry = split < 0
+				? new Entry(replayKey, null, null, nextNumber++)
+				: new Entry(replayKey, replayKey.substring(0, split),
+						replayKey.substring(split + KEY_SEPARATOR.length()), nextNumber++);
+		byKey.put(replayKey, entry);
+		byFinish.put(entry.number, entry);
+		if (split >= 0) {
+			byPlayer.computeIfAbsent(entry.challenged, player -> new ConcurrentSkipListMap<>())
+					.put(entry.number, entry);
+			byPlayer.computeIfAbsent(entry.challenger, player -> new ConcurrentSkipListMap<>())
+					.put(entry.number, entry);
+			for (String prefix : prefixesOf(entry)) {
+				byPrefix.computeIfAbsent(prefix, start -> new ConcurrentSkipListMap<>())
+						.put(entry.number, entry);
+			}
+		}
+		return entry;
+	}
+
+
+	/**
+	 * Removes a replay from every index.
+	 * @param replayKey Key of the replay.
+	 */
+	public synchronized void remove(String replayKey) {
+		Entry entry = byKey.remove(replayKey);
+		if (entry == null) {
+			return;
+		}
+		byFinish.remove(entry.number);
+		if (entry.challenged != null) {
+			removeFromPlayer(entry.challenged, entry);
+			removeFromPlayer(entry.challenger, entry);
+			for (String prefix : prefixesOf(entry)) {
+				ConcurrentSkipListMap<Long, Entry> games = byPrefix.get(prefix);
+				games.remove(entry.number);
+				if (games.isEmpty()) {
+					byPrefix.remove(prefix);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Lists the starts of both usernames of a replay that it is searched by.
+	 * @return Prefixes, each listed once.
+	 */
+	private static Set<String> prefixesOf(Entry entry) {
+		Set<String> prefixes = new HashSet<>();
+		for (String player : new String[] {entry.challenged, entry.challenger}) {
+			for (int length = 1; length <= Math.min(player.length(), MAX_INDEXED_PREFIX); length++) {
+				prefixes.add(player.substring(0, length));
+			}
+		}
+		return prefixes;
+	}
+
+
+	private void removeFromPlayer(String player, Entry entry) {
+		ConcurrentSkipListMap<Long, Entry> games = byPlayer.get(player);
+		if (games != null) {
+			games.remove(entry.number);
+			if (games.isEmpty()) {
+				byPlayer.remove(player);
+			}
+		}
+	}
+
+
+	/**
+	 * Determines if a replay is kept.
+	 * @param replayKey Key of the replay.
+	 * @return True if the replay is in the catalogue.
+	 */
+	public boolean contains(String replayKey) {
+		return byKey.containsKey(replayKey);
+	}
+
+
+	/**
+	 * Determines if two players have a replay together, whoever challenged whom.
+	 * @param player Username of a player.
+	 * @param opponent Username of the other player.
+	 * @return True if a replay of a game between them is kept.
+	 */
+	public boolean hasGameBetween(String player, String opponent) {
+		return byKey.containsKey(keyOf(player, opponent)) || byKey.containsKey(keyOf(opponent, player));
+	}
+
+
+	/**
+	 * Fetches the number of replays kept.
+	 * @return Number of replays.
+	 */
+	public int size() {
+		return byKey.size();
+	}
+
+
+	/**
+	 * Fetches a page of the replays, newest first.
+	 * @param cursor FIRST_PAGE, or the cursor of the page before.
+	 * @param limit Most replays on the page.
+	 * @return Page of replays.
+	 */
+	public Page latest(long cursor, int limit) {
+		return pageOf(byFinish, cursor, limit);
+	}
+
+
+	/**
+	 * Fetches a page of the replays of a player, newest first.
+	 * @param player Username of the player.
+	 * @param cursor FIRST_PAGE, or the cursor of the page before.
+	 * @param limit Most replays on the page.
+	 * @return Page of the player's replays, empty if the player has none.
+	 */
+	public Page gamesOf(String player, long cursor, int limit) {
+		NavigableMap<Long, Entry> games = byPlayer.get(player);
+		return games == null ? new Page(Collections.emptyList(), NO_MORE_PAGES) : pageOf(games, cursor, limit);
+	}
+
+
+	/**
+	 * Fetches a page of the replays of every player whose username
+	 * starts with some text, newest first. A search longer than
+	 * MAX_INDEXED_PREFIX characters may return a page with fewer
+	 * replays than the limit that still has a next page.
+	 * @param prefix Start of the usernames, every replay if empty.
+	 * @param cursor FIRST_PAGE, or the cursor of the page before.
+	 * @param limit Most replays on the page.
+	 * @return Page of the replays found.
+	 */
+	public Page search(String prefix, long cursor, int limit) {
+		if (prefix.isEmpty()) {
+			return latest(cursor, limit);
+		}
+		NavigableMap<Long, Entry> indexed = byPrefix.get(
+				prefix.length() <= MAX_INDEXED_PREFIX ? prefix : prefix.substring(0, MAX_INDEXED_PREFIX));
+		if (indexed == null) {
+			return new Page(Collections.emptyList(), NO_MORE_PAGES);
+		}
+		if (prefix.length() <= MAX_INDEXED_PREFIX) {
+			return pageOf(indexed, cursor, limit);
+		}
+
+		List<Entry> page = new ArrayList<>(limit);
+		int scanned = 0;
+		for (Entry entry : indexed.headMap(cursor, true).descendingMap().values()) {
+			if (page.size() == limit || scanned == MAX_SCANNED) {
+				return new Page(Collections.unmodifiableList(page), entry.number);
+			}
+			scanned++;
+			if (entry.challenged.startsWith(prefix) || entry.challenger.startsWith(prefix)) {
+				page.add(entry);
+			}
+		}
+		return new Page(Collections.unmodifiableList(page), NO_MORE_PAGES);
+	}
+
+
+	private static Page pageOf(NavigableMap<Long, Entry> entries, long cursor, int limit) {
+		List<Entry> page = new ArrayList<>(limit);
+		long next = NO_MORE_PAGES;
+		for (Entry entry : entries.headMap(cursor, true).descendingMap().values()) {
+			if (page.size() == limit) {
+				next = entry.number;
+				break;
+			}
+			page.add(entry);
+		}
+		return new Page(Collections.unmodifiableList(page), next);
+	}
+
+
+	/**
+	 * A replay of the catalogue.
+	 */
+	public static final class Entry {
+		private final String replayKey;
+		private final String challenged;
+		private final String challenger;
+		private final long number;
+
+		private Entry(String replayKey, String challenged, String challenger, long number) {
+			this.replayKey = replayKey;
+			this.challenged = challenged;
+			this.challenger = challenger;
+			this.number = number;
+		}
+
+		public String getReplayKey() {
+			return replayKey;
+		}
+
+		/**
+		 * @return Username of the challenged player, null if the key is not made by keyOf.
+		 */
+		public String getChallenged() {
+			return challenged;
+		}
+
+		/**
+		 * @return Username of the challenger, null if the key is not made by keyOf.
+		 */
+		public String getChallenger() {
+			return challenger;
+		}
+
+		/**
+		 * @return Number of the replay in the order the games finished.
+		 */
+		public long getNumber() {
+			return number;
+		}
+	}
+
+
+	/**
+	 * A page of replays and the cursor of the next page.
+	 */
+	public static final class Page {
+		private final List<Entry> entries;
+		private final long nextCursor;
+
+		private Page(List<Entry> entries, long nextCursor) {
+			this.entries = entries;
+			this.nextCursor = nextCursor;
+		}
+
+		public List<Entry> getEntries() {
+			return entries;
+		}
+
+		/**
+		 * @return Cursor of the next page, NO_MORE_PAGES if this is the last page.
+		 */
+		public long getNextCursor() {
+			return nextCursor;
+		}
+
+		public boolean hasNext() {
+			return nextCursor != NO_MORE_PAGES;
+		}
+	}
+}
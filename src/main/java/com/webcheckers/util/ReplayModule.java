@@ -1,10 +1,8 @@
 package com.webcheckers.util;
 
-import com.webcheckers.model.Board;
+import com.webcheckers.model.Turn;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.List;
 
 /**
  * @author <a href='mailto:sm3468@rit.edu'>Sanchit Monga</a>
@@ -13,50 +11,90 @@ public class ReplayModule {
 
 
     //<replayKey,GameToBeReplayed>
-    private static Map<String,Replay> games;    // contains all the games that can be replayed
-    private static Map<String, Board> gameBoards;
+    private static ReplayStore games;    // contains all the games that can be replayed, in memory or archived on disk
+    private static volatile ReplayCatalogue catalogue;    // index of the games by player and finish order, made the first time it is needed
 
     public ReplayModule(){
-        games=new HashMap<>();
-        gameBoards=new HashMap<>();
+        games=new ReplayStore(ReplayStore.DEFAULT_BUDGET);
+        catalogue=new ReplayCatalogue();
     }
 
     /**
-     * This function adds the game that was over into the Map that has all other games that can be replayed
+     * Replaces the store of the games that can be replayed, to configure its memory budget and archive.
+     * The games archived are added to the catalogue when it is first needed, not while the server starts
+     * @param store The store to keep the games in
+     */
+    public static synchronized void useStore(ReplayStore store){
+        games=store;
+        catalogue=null;
+    }
+
+    /**
+     * This function adds the game that was over into the store that has all other games that can be replayed
      * @param replayKey The key of the particular match that can be replayed
-     * @param game The game of type Replay that can be replayed and has all the moves of the match
+     * @param game The record of the match that can be replayed and has all the moves of the match
      */
-    public static void setActive(String replayKey,Replay game){
+    public static void setActive(String replayKey,ReplayRecord game){
         games.put(replayKey,game);
-        gameBoards.put(replayKey,new Board());
+        synchronized (ReplayModule.class) {
+            // a catalogue not made yet lists the game when it is made from the store
+            if (catalogue != null) {
+                catalogue.add(replayKey);
+            }
+        }
     }
+
     /**
-     * @param replayKey The unique String for the key of the Map
-     * @return The board that has to be updated every time
+     * @return The store that has all the games that can be replayed
      */
-    public static Board getReplayBoard(String replayKey){
-        return gameBoards.get(replayKey);
+    public static ReplayStore getStore(){
+        return games;
     }
+
     /**
-     *
-     * @return All the games that can be replayed
+     * @return The index of the games that can be replayed, to page through them, made from the keys
+     * of the store the first time it is needed
      */
-    public static Map<String,Replay> getAllGames(){
-        return games;
+    public static ReplayCatalogue getCatalogue(){
+        ReplayCatalogue made = catalogue;
+        if (made == null) {
+            synchronized (ReplayModule.class) {
+                made = catalogue;
+                if (made == null) {
+                    made = new ReplayCatalogue();
+                    for (String replayKey : games.keys()) {
+                        made.add(replayKey);
+                    }
+                    catalogue = made;
+                }
+            }
+        }
+        return made;
     }
 
     /**
-     * @return All the replayKeys that are available for the games that can be replayed
+     * @param replayKey The unique String for the key of the replay
+     * @return True if the game can be replayed
      */
-    public Set<String> getReplayKeys(){
-        return this.games.keySet();
+    public static boolean containsReplay(String replayKey){
+        return games.contains(replayKey);
     }
+
+    /**
+     * @param replayKey The unique String for the key of the replay
+     * @param turns The turns the game is expected to have
+     * @return True if the game is archived on disk with these turns, so it survives a restart
+     */
+    public static boolean isArchived(String replayKey, List<Turn> turns){
+        return games.isPersisted(replayKey, turns);
+    }
+
     /**
      *
      * @param replayKey The unique String for the key of the Map
-     * @return Replay object that has all the moves/turns in it.
+     * @return Record shared by every viewer, that has all the moves/turns in it, read back from the archive if it is not in memory.
      */
-    public static Replay getReplayGame(String replayKey){
+    public static ReplayRecord getReplayGame(String replayKey){
         return games.get(replayKey);
     }
 
@@ -0,0 +1,198 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Turn;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The turns of a finished game, kept for its replay and shared by
+ * every viewer of it. Each viewer only holds a Replay cursor on it.
+ *
+ * <p>
+ * The moves are packed by the MoveCodec, one byte per move, and never
+ * change once the record is made. The board after each turn is made the
+ * first time a viewer reaches it and kept for every other viewer: the
+ * boards after every KEYFRAME_INTERVAL turns are made up front, so a
+ * missing board is at most KEYFRAME_INTERVAL - 1 turns away from one
+ * that is kept.
+ * </p>
+ */
+public final class ReplayRecord {
+
+	// number of turns between two boards made up front
+	static final int KEYFRAME_INTERVAL = 8;
+
+	// moves of every turn made throughout the game, one byte per move;
+	// read with absolute gets only, so viewers can share it
+	private final ByteBuffer hops;
+	// turnEnds[i]: number of moves in the first i + 1 turns
+	private final int[] turnEnds;
+	// snapshots.get(t): board after turn t, null until a viewer reaches it
+	private final AtomicReferenceArray<Board> snapshots;
+
+
+	/**
+	 * Packs the turns of a finished game.
+	 * @param turns Turns of the game, in order.
+	 */
+	public ReplayRecord(List<Turn> turns) {
+		this(pack(turns), endsOf(turns));
+	}
+
+
+	/**
+	 * Creates a record on moves that are already packed, such as a
+	 * slice of the replay archive, without copying them.
+	 * @param hops Moves of every turn, one byte per move.
+	 * @param turnEnds Number of moves in the first i + 1 turns, for each turn i.
+	 * @throws IllegalArgumentException If the moves are not packed moves.
+	 */
+	ReplayRecord(ByteBuffer hops, int[] turnEnds) {
+		this.hops = hops;
+		this.turnEnds = turnEnds;
+
+		// turn 0 is the starting board, before any turn was made
+		this.snapshots = new AtomicReferenceArray<>(turnEnds.length + 1);
+		Board board = new Board();
+		snapshots.set(0, copyOf(board));
+		for (int t = 1; t <= turnEnds.length; t++) {
+			board.playTurn(getTurn(t));
+			if (t % KEYFRAME_INTERVAL == 0) {
+				snapshots.set(t, copyOf(board));
+			}
+		}
+	}
+
+
+	private static ByteBuffer pack(List<Turn> turns) {
+		int[] ends = endsOf(turns);
+		ByteBuffer packed = ByteBuffer.allocate(ends.length == 0 ? 0 : ends[ends.length - 1]);
+		for (Turn turn : turns) {
+			packed.put(turn.toBytes());
+		}
+		return packed;
+	}
+
+
+	private static int[] endsOf(List<Turn> turns) {
+		int[] ends = new int[turns.size()];
+		int moves = 0;
+		for (int i = 0; i < ends.length; i++) {
+			moves += turns.get(i).getMoveCount();
+			ends[i] = moves;
+		}
+		return ends;
+	}
+
+
+	/**
+	 * Fetches the number of turns made in the game.
+	 * @return Number of turns.
+	 */
+	public int getTurnCount() {
+		return turnEnds.length;
+	}
+
+
+	/**
+	 * Fetches one turn of the game.
+	 * @param index Number of the turn, 1 for the first turn.
+	 * @return Turn unpacked from the record, null for turn 0 or past the last turn.
+	 */
+	public Turn getTurn(int index) {
+		if (index <= 0 || index > turnEnds.length) {
+			return null;
+		}
+		int start = index == 1 ? 0 : turnEnds[index - 2];
+		byte[] moves = new byte[turnEnds[index - 1] - start];
+		for (int i = 0; i < moves.length; i++) {
+			moves[i] = hops.get(start + i);
+		}
+		return Turn.fromBytes(moves);
+	}
+
+
+	/**
+	 * Fetches every turn of the game.
+	 * @return Turns unpacked from the record, in order.
+	 */
+	public List<Turn> getTurns() {
+		List<Turn> turns = new ArrayList<>(turnEnds.length);
+		for (int t = 1; t <= turnEnds.length; t++) {
+			turns.add(getTurn(t));
+		}
+		return turns;
+	}
+
+
+	/**
+	 * Determines if the record holds exactly the given turns.
+	 * @param turns Turns of a game, in order.
+	 * @return True if every turn has the same moves as in the record.
+	 */
+	public boolean hasTurns(List<Turn> turns) {
+		if (turns.size() != turnEnds.length) {
+			return false;
+		}
+		for (int t = 1; t <= turnEnds.length; t++) {
+			if (!Arrays.equals(getTurn(t).toBytes(), turns.get(t - 1).toBytes())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	/**
+	 * Estimates the memory taken by the record once a board is kept for every turn.
+	 * @return Estimated bytes.
+	 */
+	public long estimateBytes() {
+		// object headers and fields, the packed arrays, and a reference and Board per turn
+		return 64 + hops.capacity() + 4L * turnEnds.length + 48L * (turnEnds.length + 1);
+	}
+
+
+	/**
+	 * Fetches the board after a turn of the game. The board is shared
+	 * by every viewer and must not be changed.
+	 * @param turn Number of the turn, 0 for the starting board.
+	 * @return Board after the turn, null if the turn is not part of the game.
+	 */
+	public Board getBoard(int turn) {
+		if (turn < 0 || turn > turnEnds.length) {
+			return null;
+		}
+		Board board = snapshots.get(turn);
+		if (board != null) {
+			return board;
+		}
+		// play forward from the closest board kept before the turn,
+		// keeping the boards passed on the way
+		int kept = turn - 1;
+		while (snapshots.get(kept) == null) {
+			kept--;
+		}
+		board = snapshots.get(kept);
+		for (int t = kept + 1; t <= turn; t++) {
+			Board next = copyOf(board);
+			next.playTurn(getTurn(t));
+			// viewers racing for the same turn all end up with the first board kept
+			snapshots.compareAndSet(t, null, next);
+			board = snapshots.get(t);
+		}
+		return board;
+	}
+
+
+	private static Board copyOf(Board board) {
+		Board copy = new Board();
+		copy.copyFrom(board);
+		return copy;
+	}
+}
@@ -0,0 +1,338 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Turn;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+/**
+ * The replays of finished games, kept in memory up to a budget of bytes.
+ *
+ * <p>
+ * Every replay is appended to a ReplayArchive as soon as it is kept,
+ * without holding the store, so replays are watched while the disk
+ * writes; appends are made one at a time, in the order the replays are
+ * kept. A replay stays in memory until it is archived. Past the budget, the least recently watched replays are dropped from
+ * memory and read back from the archive the next time they are watched.
+ * The hits, misses and evictions are counted to tune the budget.
+ * </p>
+ */
+public class ReplayStore {
+	private static final Logger LOG = Logger.getLogger(ReplayStore.class.getName());
+
+	// Budget used when none is configured, room for tens of thousands of games.
+	public static final long DEFAULT_BUDGET = 64L << 20;
+
+	private final long budget;
+	// archive of every replay, opened in a temporary directory on the first replay if not given
+	private volatile ReplayArchive archive;
+	// true if the archive was given, so it survives a restart
+	private final boolean persistent;
+
+	// replays in memory, least recently watched first
+	private final LinkedHashMap<String, ReplayRecord> resident = new LinkedHashMap<>(16, 0.75f, true);
+	// replays being read back from the archive, completed once read
+	private final Map<String, CompletableFuture<ReplayRecord>> loading = new HashMap<>();
+	// replays not archived yet, which stay in memory, oldest first;
+	// every other replay kept is listed by the archive only
+	private final Map<String, ReplayRecord> unarchived = new LinkedHashMap<>();
+	// held while replays are appended to the archive, outside the store
+	private final Object archiving = new Object();
+	private long residentBytes;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+
+	/**
+	 * Creates a store of the games of an archive, none of them in memory yet.
+	 * @param budget Estimated bytes the replays in memory may take.
+	 * @param archive Archive to read replays from and append new ones to.
+	 */
+	public ReplayStore(long budget, ReplayArchive archive) {
+		this.budget = budget;
+		this.archive = archive;
+		this.persistent = true;
+	}
+
+
+	/**
+	 * Creates an empty store, archiving to a temporary directory.
+	 * @param budget Estimated bytes the replays in memory may take.
+	 */
+	public ReplayStore(long budget) {
+		this.budget = budget;
+		this.archive = null;
+		this.persistent = false;
+	}
+
+
+	/**
+	 * Keeps the replay of a finished game, replacing any replay kept under the same key.
+	 * Returns once the replay is archived, or could not be, but the replays
+	 * kept can be watched while it is written.
+	 * @param replayKey Key of the replay.
+	 * @param record Turns of the game.
+	 */
+	public void put(String replayKey, ReplayRecord record) {
+		synchronized (archiving) {
+			synchronized (this) {
+				// a replay being read back is the one replaced
+				loading.remove(replayKey);
+				ReplayRecord replaced = resident.put(replayKey, record);
+				if (replaced != null) {
+					residentBytes -= replaced.estimateBytes();
+				}
+				residentBytes += record.estimateBytes();
+				unarchived.remove(replayKey);
+				unarchived.put(replayKey, record);
+				evict();
+			}
+			archiveUnarchived();
+		}
+	}
+
+
+	/**
+	 * Appends the replays not archived yet, newest first, stopping at the
+	 * first one that cannot be archived, then drops the ones archived from
+	 * memory if the store is past its budget. The store is only held to
+	 * list the replays and to mark them archived.
+	 */
+	private void archiveUnarchived() {
+		List<Map.Entry<String, ReplayRecord>> pending;
+		synchronized (this) {
+			pending = new ArrayList<>(new LinkedHashMap<>(unarchived).entrySet());
+		}
+		List<Map.Entry<String, ReplayRecord>> archived = new ArrayList<>();
+		for (int i = pending.size() - 1; i >= 0; i--) {
+			Map.Entry<String, ReplayRecord> replay = pending.get(i);
+			if (!archive(replay.getKey(), replay.getValue())) {
+				break;
+			}
+			archived.add(replay);
+		}
+		synchronized (this) {
+			for (Map.Entry<String, ReplayRecord> replay : archived) {
+				unarchived.remove(replay.getKey(), replay.getValue());
+			}
+			evict();
+		}
+	}
+
+
+	/**
+	 * Fetches a replay, reading it back from the archive if it is not in memory.
+	 * The archive is read without holding the store, so other replays can
+	 * be watched meanwhile; viewers asking for the same replay wait for
+	 * the one read instead of reading it again.
+	 * @param replayKey Key of the replay.
+	 * @return Turns of the game, null if no replay is kept under the key
+	 *         or it could not be read back.
+	 */
+	public ReplayRecord get(String replayKey) {
+		CompletableFuture<ReplayRecord> load;
+		boolean reader = false;
+		synchronized (this) {
+			ReplayRecord record = resident.get(replayKey);
+			if (record != null) {
+				hits++;
+				return record;
+			}
+			if (!isArchived(replayKey)) {
+				return null;
+			}
+			load = loading.get(replayKey);
+			if (load == null) {
+				misses++;
+				load = new CompletableFuture<>();
+				loading.put(replayKey, load);
+				reader = true;
+			}
+		}
+		if (!reader) {
+			// being read back by another viewer
+			return load.join();
+		}
+
+		ReplayRecord record = null;
+		try {
+			record = archive.read(replayKey);
+		} catch (IOException e) {
+			LOG.warning("Could not read back the replay " + replayKey + ": " + e);
+		} finally {
+			synchronized (this) {
+				if (!loading.remove(replayKey, load)) {
+					// replaced while it was read, the newer replay wins
+					ReplayRecord kept = resident.get(replayKey);
+					record = kept != null ? kept : record;
+				} else if (record != null) {
+					resident.put(replayKey, record);
+					residentBytes += record.estimateBytes();
+					evict();
+				}
+			}
+			load.complete(record);
+		}
+		return record;
+	}
+
+
+	/**
+	 * Determines if a replay is kept, in memory or in the archive.
+	 * @param replayKey Key of the replay.
+	 * @return True if the replay can be watched.
+	 */
+	public synchronized boolean contains(String replayKey) {
+		return resident.containsKey(replayKey) || isArchived(replayKey);
+	}
+
+
+	/**
+	 * Determines if a replay is kept in an archive that survives a
+	 * restart, with the same turns as a game recorded elsewhere.
+	 * @param replayKey Key of the replay.
+	 * @param turns Turns of the game.
+	 * @return True if the archive holds the game under the key.
+	 */
+	public boolean isPersisted(String replayKey, List<Turn> turns) {
+		if (!persistent) {
+			return false;
+		}
+		try {
+			ReplayRecord archived = archive.read(replayKey);
+			return archived != null && archived.hasTurns(turns);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+
+	/**
+	 * Fetches the key of every replay kept, without reading any back.
+	 * @return Keys in the order the games were first archived, then
+	 *         the replays that could not be archived yet.
+	 */
+	public synchronized List<String> keys() {
+		List<String> keys = archive == null ? new ArrayList<>() : archive.keys();
+		for (String replayKey : unarchived.keySet()) {
+			if (!isArchived(replayKey)) {
+				keys.add(replayKey);
+			}
+		}
+		return keys;
+	}
+
+
+	/**
+	 * Fetches the number of replays kept, in memory or in the archive.
+	 * @return Number of replays.
+	 */
+	public synchronized int size() {
+		int size = archive == null ? 0 : archive.size();
+		for (String replayKey : unarchived.keySet()) {
+			if (!isArchived(replayKey)) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+
+	private boolean isArchived(String replayKey) {
+		return archive != null && archive.contains(replayKey);
+	}
+
+
+	/**
+	 * Fetches the estimated bytes taken by the replays in memory.
+	 * @return Estimated bytes, at most the budget unless one replay is larger.
+	 */
+	public synchronized long getResidentBytes() {
+		return residentBytes;
+	}
+
+
+	/**
+	 * Fetches the number of replays found in memory.
+	 * @return Number of hits.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+
+	/**
+	 * Fetches the number of replays read back from the archive.
+	 * @return Number of misses.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+
+	/**
+	 * Fetches the number of replays dropped from memory to stay in the budget.
+	 * @return Number of evictions.
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+
+	/**
+	 * Drops the least recently watched replays until the rest fit in the
+	 * budget. The replay just added or watched always stays, and so do
+	 * replays not archived yet, which are skipped rather than lost.
+	 */
+	private void evict() {
+		Iterator<Map.Entry<String, ReplayRecord>> eldest = resident.entrySet().iterator();
+		while (residentBytes > budget && eldest.hasNext()) {
+			Map.Entry<String, ReplayRecord> entry = eldest.next();
+			if (!eldest.hasNext()) {
+				return;
+			}
+			if (unarchived.containsKey(entry.getKey())) {
+				continue;
+			}
+			residentBytes -= entry.getValue().estimateBytes();
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+
+	/**
+	 * Appends a replay to the archive, opening a temporary one first if
+	 * needed. Only called while archiving is held.
+	 * @return True if the replay is archived.
+	 */
+	private boolean archive(String replayKey, ReplayRecord record) {
+		try {
+			if (archive == null) {
+				Path directory = Files.createTempDirectory("replays");
+				// deleted in the reverse order: the files, then the directory
+				directory.toFile().deleteOnExit();
+				directory.resolve(ReplayArchive.SEGMENT_FILE).toFile().deleteOnExit();
+				directory.resolve(ReplayArchive.INDEX_FILE).toFile().deleteOnExit();
+				directory.resolve(ReplayArchive.TABLE_FILE).toFile().deleteOnExit();
+				archive = ReplayArchive.open(directory);
+			}
+			archive.append(replayKey, record);
+			return true;
+		} catch (IOException | IllegalArgumentException e) {
+			LOG.warning("Could not archive the replay " + replayKey + ": " + e);
+			return false;
+		}
+	}
+}
@@ -1,18 +1,34 @@
 package com.webcheckers.view;
 
 
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Position;
+import com.webcheckers.model.Spot;
+
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 /**
  * Maintains the state of the checkers board.
  *
+ * <p>
+ * A BoardView built by BoardView.of is a snapshot: its pieces are
+ * detached from the board it was built from, so one view can be
+ * shared by every viewer until the board changes.
+ * </p>
+ *
  * @author <a href='mailto:cjn9414@rit.edu>Carter Nesbitt</a>
  */
 public class BoardView {
 	// Private data to maintain rows of checkers board.
 	private List<Row> rows;
 
+	// Number of rows and cells on the board.
+	private static final int BOARD_WIDTH = 8;
+
 	/**
 	 * Creates a new BoardView object by storing the rows
 	 * of the checkerboard internally.
@@ -30,4 +46,47 @@ public class BoardView {
 	public Iterator<Row> iterator() {
 		return this.rows.iterator();
 	}
+
+
+	/**
+	 * Builds a snapshot of a board as seen by one side. The board
+	 * is turned around by reading its spots in reverse order, so no
+	 * rotated copy of it is made.
+	 * @param board Board being shown.
+	 * @param rotated True to show the board turned around, as seen
+	 *                by the red player.
+	 * @param descendingCells True to list the spaces of each row from
+	 *                        the last cell to the first.
+	 * @return BoardView object of the board.
+	 */
+	public static BoardView of(Board board, boolean rotated, boolean descendingCells) {
+		int kings = board.getKings();
+		List<Row> boardRows = new ArrayList<>(BOARD_WIDTH);
+		for (int rowIdx = 0; rowIdx < BOARD_WIDTH; rowIdx++) {
+			List<Space> spaces = new ArrayList<>(BOARD_WIDTH);
+			for (int i = 0; i < BOARD_WIDTH; i++) {
+				int spaceIdx = descendingCells ? BOARD_WIDTH - 1 - i : i;
+				// Spot of the board shown at this space.
+				Position pos = rotated
+						? Position.of(BOARD_WIDTH - 1 - spaceIdx, BOARD_WIDTH - 1 - rowIdx)
+						: Position.of(spaceIdx, rowIdx);
+
+				// Alternate every spot to a different color; turning the board keeps the pattern.
+				Spot.Color color = board.getSpotColorAt(pos);
+
+				Piece piece = null;
+				Piece.PieceColor pieceColor = board.getColorAt(pos);
+				if (pieceColor != null) {
+					piece = new Piece(pieceColor);
+					piece.setKing((kings & (1 << Board.squareOf(pos))) != 0);
+				}
+
+				// Create new space and add it to the row of spaces.
+				spaces.add(new Space(spaceIdx, color, piece, rowIdx % 7 == 0));
+			}
+			// Create a new row and add it to the list of rows (board).
+			boardRows.add(new Row(rowIdx, Collections.unmodifiableList(spaces)));
+		}
+		return new BoardView(Collections.unmodifiableList(boardRows));
+	}
 }
@@ -148,6 +148,32 @@ define(function(require){
     $toCell.removeClass(SPACE_CLASS);
   }
 
+  /**
+   * Apply the changed squares of a board delta, received from the server,
+   * to the board in place: each square is emptied and given the piece now
+   * on it, if any.
+   *
+   * @param delta  the BoardDelta object; its squares are in board coordinates
+   */
+  BoardController.prototype.applyDelta = function applyDelta(delta) {
+    delta.squares.forEach(square => {
+      var $space = this.getSpace$(new Position(square.row, square.cell));
+      $space.find('div.' + PIECE_CLASS).remove();
+      if (square.color) {
+        jQuery('<div></div>')
+        .addClass(PIECE_CLASS)
+        .attr('id', 'piece-' + square.row + '-' + square.cell)
+        .attr('data-type', square.type)
+        .attr('data-color', square.color)
+        .appendTo($space);
+        $space.removeClass(SPACE_CLASS);
+      } else {
+        // only dark squares change, and an empty dark square is a Space
+        $space.addClass(SPACE_CLASS);
+      }
+    });
+  }
+
   /**
    * Gets a jQuery element for a specific position.
    */
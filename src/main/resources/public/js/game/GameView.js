@@ -56,7 +56,7 @@ define(function(require){
       break;
     case SPECTATOR_MODE:
       console.debug('Spectator mode');
-      this._modeController = new SpectatorController(this, this._gameState);
+      this._modeController = new SpectatorController(this, this._boardController, this._gameState);
       break;
     case REPLAY_MODE:
       console.debug('Replay mode');
@@ -25,6 +25,32 @@ define(function(require){
       return BrowserUtils.getParameterByName('gameID') || gameData.gameID;
     };
 
+    /**
+     * Get the token to subscribe to the events of this game with.
+     */
+    this.getEventsToken = function getEventsToken() {
+      return gameData.eventsToken;
+    };
+
+    /**
+     * Get the version of the game shown on the board; null if the
+     * board is not kept up to date in place.
+     */
+    this.getVersion = function getVersion() {
+      return gameData.version;
+    };
+
+    /**
+     * Record the changes of a board delta received from the server:
+     * the version now shown and whose turn it is.
+     *
+     * @param delta  the BoardDelta object applied to the board
+     */
+    this.update = function update(delta) {
+      gameData.version = delta.version;
+      gameData.activeColor = delta.activeColor;
+    };
+
     /**
      * Get the View mode for the Game View.
      * One of PLAY, SPECTATOR or REPLAY
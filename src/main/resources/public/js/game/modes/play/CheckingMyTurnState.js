@@ -12,6 +12,7 @@ define(function (require) {
   // imports
   const PlayModeConstants = require('./PlayModeConstants');
   const AjaxUtils = require('../../util/AjaxUtils');
+  const GameEventUtils = require('../../util/GameEventUtils');
 
   /**
    * Constructor function.
@@ -39,9 +40,13 @@ define(function (require) {
    * Method when entering this state.
    */
   CheckingMyTurnState.prototype.onEntry = function onEntry() {
-    this._controller.disableButton(PlayModeConstants.RESIGN_BUTTON_ID);
+    // the server holds this request until the turn changes, so the
+    // player must still be able to resign while it is pending
+    this._controller.enableButton(PlayModeConstants.RESIGN_BUTTON_ID);
+    // the answer covers every change pushed so far
+    GameEventUtils.clear();
     // query the server if it's my turn
-    AjaxUtils.callServer('/checkTurn',
+    AjaxUtils.callServerWithData('/checkTurn', PlayModeConstants.CHECK_TURN_LONG_POLL,
         // the handler method should be run in the context of 'this' State object
         handleResponse, this);
   };
@@ -55,6 +60,10 @@ define(function (require) {
       if (message.text === 'true') {
         // end the State machine by refreshing the Game View (via a browser page request)
         this._controller.refresh();
+      } else if (message.text === PlayModeConstants.CHECK_TURN_LATER) {
+        // the server is holding as many checks as it can; back off
+        setTimeout(() => this._controller.setState(PlayModeConstants.WAITING_TO_CHECK_MY_TURN),
+            PlayModeConstants.CHECK_TURN_LATER_DELAY);
       } else {
         this._controller.setState(PlayModeConstants.WAITING_TO_CHECK_MY_TURN);
       }
@@ -27,6 +27,18 @@ define(function () {
     // The "Game Over" singular state
     , GAME_OVER: 'Showing Game Over'
 
+    //
+    // Server actions
+    //
+
+    // asks /checkTurn to hold the request until the turn changes
+    , CHECK_TURN_LONG_POLL: 'longPoll'
+    // answer of /checkTurn when it holds no more requests
+    , CHECK_TURN_LATER: 'later'
+    // milliseconds to wait before checking again after that answer,
+    // as long as the timer that checked before long polls
+    , CHECK_TURN_LATER_DELAY: 5000
+
     //
     // Buttons
     //
@@ -4,13 +4,15 @@
  * This component is an concrete implementation of a state
  * for the Game view; this state represents the state in which
  * the view is waiting between calls to the server to check whether
- * it's the current player's turn.
+ * it's the current player's turn. The server pushes every change of
+ * the game, so the view only checks again once the game has changed.
  */
 define(function(require){
     'use strict';
 
     // imports
     const PlayModeConstants = require('./PlayModeConstants');
+    const GameEventUtils = require('../../util/GameEventUtils');
 
     /**
      * Constructor function.
@@ -39,8 +41,9 @@ define(function(require){
      */
     WaitingForMyTurnState.prototype.onEntry = function onEntry() {
         this._controller.enableButton(PlayModeConstants.RESIGN_BUTTON_ID);
-        // wait five seconds then check my turn
-        setTimeout(() => { this._controller.setState(PlayModeConstants.CHECKING_MY_TURN); }, 5000);
+        // check my turn once the game changes; without a WebSocket the
+        // (long-polling) check is repeated after a short pause
+        GameEventUtils.next(() => { this._controller.setState(PlayModeConstants.CHECKING_MY_TURN); }, 500);
     }
 
     // export class constructor
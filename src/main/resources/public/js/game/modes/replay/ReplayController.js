@@ -54,6 +54,10 @@ define(function(require){
         'Move to the next turn.', this.requestNextTurn);
     this.addButton(ReplayModeConstants.PREVIOUS_BUTTON_ID, 'Previous', true,
         'Move to the previous turn.', this.requestPreviousTurn);
+    this.addButton(ReplayModeConstants.FIRST_BUTTON_ID, 'First', true,
+        'Move to the start of the game.', this.requestFirstTurn);
+    this.addButton(ReplayModeConstants.LAST_BUTTON_ID, 'Last', true,
+        'Move to the end of the game.', this.requestLastTurn);
     this.addButton(ReplayModeConstants.EXIT_BUTTON_ID, 'Exit', true,
         'Exit to the Home page.', this.exitGame);
 
@@ -88,6 +92,8 @@ define(function(require){
     //
     this.disableButton(ReplayModeConstants.NEXT_BUTTON_ID);
     this.disableButton(ReplayModeConstants.PREVIOUS_BUTTON_ID);
+    this.disableButton(ReplayModeConstants.FIRST_BUTTON_ID);
+    this.disableButton(ReplayModeConstants.LAST_BUTTON_ID);
     this.disableButton(ReplayModeConstants.EXIT_BUTTON_ID);
   };
 
@@ -98,9 +104,11 @@ define(function(require){
     //
     if (!this.getOption(ReplayModeConstants.HAS_NEXT_OPTION)) {
       this.disableButton(ReplayModeConstants.NEXT_BUTTON_ID);
+      this.disableButton(ReplayModeConstants.LAST_BUTTON_ID);
     }
     if (!this.getOption(ReplayModeConstants.HAS_PREVIOUS_OPTION)) {
       this.disableButton(ReplayModeConstants.PREVIOUS_BUTTON_ID);
+      this.disableButton(ReplayModeConstants.FIRST_BUTTON_ID);
     }
     this.enableButton(ReplayModeConstants.EXIT_BUTTON_ID);
   };
@@ -123,6 +131,25 @@ define(function(require){
     this.setState(ReplayModeConstants.WAITING_FOR_SERVER_RESPONSE, "/replay/previousTurn");
   };
 
+  /**
+   * Send the 'Seek' action for the starting board to the WAITING_FOR_SERVER_RESPONSE state.
+   */
+  ReplayController.prototype.requestFirstTurn = function requestFirstTurn() {
+    //
+    this.checkInState(ReplayModeConstants.WAITING_FOR_USER_ACTION);
+    this.setState(ReplayModeConstants.WAITING_FOR_SERVER_RESPONSE, "/replay/seek?turn=0");
+  };
+
+  /**
+   * Send the 'Seek' action for the last turn to the WAITING_FOR_SERVER_RESPONSE state.
+   */
+  ReplayController.prototype.requestLastTurn = function requestLastTurn() {
+    //
+    this.checkInState(ReplayModeConstants.WAITING_FOR_USER_ACTION);
+    this.setState(ReplayModeConstants.WAITING_FOR_SERVER_RESPONSE,
+        "/replay/seek?turn=" + this.getOption(ReplayModeConstants.TURN_COUNT_OPTION));
+  };
+
   /**
    * Queries whether the Game View can be deactivated; usually from
    * navigating way from the page.
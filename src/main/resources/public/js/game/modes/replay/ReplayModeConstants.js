@@ -20,6 +20,8 @@ define(function(){
 
       ,NEXT_BUTTON_ID: 'nextBtn'
       ,PREVIOUS_BUTTON_ID: 'previousBtn'
+      ,FIRST_BUTTON_ID: 'firstBtn'
+      ,LAST_BUTTON_ID: 'lastBtn'
       ,EXIT_BUTTON_ID: 'exitBtn'
 
       //
@@ -28,6 +30,7 @@ define(function(){
 
       ,HAS_NEXT_OPTION: 'hasNext'
       ,HAS_PREVIOUS_OPTION: 'hasPrevious'
+      ,TURN_COUNT_OPTION: 'turnCount'
 
     };
 });
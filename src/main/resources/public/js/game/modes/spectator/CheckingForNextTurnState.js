@@ -54,8 +54,8 @@ define(function(require){
     if (message.type === 'INFO') {
       // check for special case messages
       if (message.text === 'true') {
-        // tell the browser to redisplay the Game View to get the updated board
-        window.location.reload(true);
+        // fetch the squares that changed to update the board in place
+        this._controller.setState(SpectatorModeConstants.UPDATING_BOARD);
       }
       // otherwise, check to see if there is a message to display
       else {
@@ -21,11 +21,12 @@ define(function(require){
   const StartingSpectatorModeState = require('./StartingSpectatorModeState');
   const WaitingForNextTurnState = require('./WaitingForNextTurnState');
   const CheckingForNextTurnState = require('./CheckingForNextTurnState');
+  const UpdatingBoardState = require('./UpdatingBoardState');
 
   /**
    * Constructor function.
    */
-  function SpectatorController(view, gameState) {
+  function SpectatorController(view, boardController, gameState) {
 
     // expose read-only Game data
     this.getGameID = function () {
@@ -41,6 +42,8 @@ define(function(require){
         new WaitingForNextTurnState(this));
     this.addStateDefinition(SpectatorModeConstants.CHECKING_FOR_NEXT_TURN,
         new CheckingForNextTurnState(this));
+    this.addStateDefinition(SpectatorModeConstants.UPDATING_BOARD,
+        new UpdatingBoardState(this, view, boardController, gameState));
     
     // Add the ModeControls mixin
     ControlsToolbarMixin.call(this);
@@ -17,6 +17,7 @@ define(function(){
       STARTING_SPECTATOR_MODE: 'Starting Spectator Mode'
       ,WAITING_FOR_NEXT_TURN: 'Waiting for the Next Turn'
       ,CHECKING_FOR_NEXT_TURN: 'Checking for the Next Turn'
+      ,UPDATING_BOARD: 'Updating the Board'
 
       //
       // Buttons
@@ -0,0 +1,78 @@
+/**
+ * This module exports the UpdatingBoardState class constructor.
+ *
+ * This component is an concrete implementation of a state
+ * for the Game view; this state represents the state in which
+ * the view makes the Ajax call to the server to fetch the squares
+ * that changed since the board was shown, and updates the board
+ * in place.
+ */
+define(function(require){
+  'use strict';
+
+  // imports
+  const SpectatorModeConstants = require('./SpectatorModeConstants');
+  const AjaxUtils = require('../../util/AjaxUtils');
+
+  /**
+   * Constructor function.
+   *
+   * @param {SpectatorController} controller
+   *    The Spectator mode controller object.
+   * @param {GameView} view
+   *    The Game view object.
+   * @param {BoardController} boardController
+   *    The controller of the board being updated.
+   * @param {GameState} gameState
+   *    The state of the game.
+   */
+  function UpdatingBoardState(controller, view, boardController, gameState) {
+    // private attributes
+    this._controller = controller;
+    this._view = view;
+    this._boardController = boardController;
+    this._gameState = gameState;
+  }
+
+  //
+  // Public (external) methods
+  //
+
+  /**
+   * Get the name of this state.
+   */
+  UpdatingBoardState.prototype.getName = function getName() {
+    return SpectatorModeConstants.UPDATING_BOARD;
+  };
+
+  /**
+   * Method when entering this state.
+   */
+  UpdatingBoardState.prototype.onEntry = function onEntry() {
+    // ask the server for the squares changed since the version shown
+    AjaxUtils.callServerWithData('/game/delta', String(this._gameState.getVersion()),
+        // the handler method should be run in the context of 'this' State object
+        handleResponse, this);
+  };
+
+  //
+  // Private methods
+  //
+
+  function handleResponse(delta) {
+    // a finished game, or changes the server cannot list, need the whole Game View
+    if (!delta.complete || delta.gameOver) {
+      window.location.reload(true);
+      return;
+    }
+    this._boardController.applyDelta(delta);
+    this._gameState.update(delta);
+    this._view.setTurnFlasher();
+    // start over to show whose turn it is now and wait for the next change
+    this._controller.setState(SpectatorModeConstants.STARTING_SPECTATOR_MODE);
+  }
+
+  // export class constructor
+  return UpdatingBoardState;
+
+});
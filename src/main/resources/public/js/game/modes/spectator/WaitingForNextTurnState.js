@@ -3,14 +3,15 @@
  * 
  * This component is an concrete implementation of a state
  * for the Game view; this state represents the state in which
- * the view is waiting between calls to the server to check whether
- * the next turn has been made in the game being spectated.
+ * the view is waiting for the server to push the next change of the
+ * game being spectated.
  */
 define(function(require){
   'use strict';
 
   // imports
   const SpectatorModeConstants = require('./SpectatorModeConstants');
+  const GameEventUtils = require('../../util/GameEventUtils');
 
   /**
    * Constructor function.
@@ -24,6 +25,11 @@ define(function(require){
     this._checkNextTurn = function () {
       controller.setState(SpectatorModeConstants.CHECKING_FOR_NEXT_TURN);
     }
+    // a function to change the Spectator controller's
+    // state to fetch the changes of the board.
+    this._updateBoard = function () {
+      controller.setState(SpectatorModeConstants.UPDATING_BOARD);
+    }
   }
 
   //
@@ -41,8 +47,15 @@ define(function(require){
    * Method when entering this state.
    */
   WaitingForNextTurnState.prototype.onEntry = function onEntry() {
-    // wait five seconds then check my turn
-    setTimeout(this._checkNextTurn, 5000);
+    // update the board as soon as the server pushes a change; without
+    // a WebSocket, check the server every five seconds instead
+    GameEventUtils.next((event) => {
+      if (event !== null) {
+        this._updateBoard();
+      } else {
+        this._checkNextTurn();
+      }
+    }, 5000);
   };
 
   // export class constructor
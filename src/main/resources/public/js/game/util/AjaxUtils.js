@@ -36,6 +36,15 @@ define(function (require) {
       return AjaxUtils._gameState.getGameID();
     },
 
+    /**
+     * Get the token to subscribe to the events of the game being viewed.
+     *
+     * @return {string} the token handed out with the game page
+     */
+    getEventsToken: function() {
+      return AjaxUtils._gameState.getEventsToken();
+    },
+
     /**
      * Make an Ajax call to the server.
      *
@@ -0,0 +1,116 @@
+/**
+ * This module exports a map of functions used to receive the changes
+ * of the game being viewed, pushed by the server over a WebSocket.
+ */
+define(function (require) {
+  'use strict';
+
+  // imports
+  const AjaxUtils = require('./AjaxUtils');
+  const LangUtils = require('./LangUtils');
+
+  /**
+   * Utility object holding the single event channel of the Game View.
+   */
+  const GameEventUtils = {
+
+    /**
+     * The WebSocket connected to the server; null until it is opened
+     * and false once it has closed.
+     */
+    _socket: null,
+
+    /**
+     * An event received while no one was waiting for it.
+     */
+    _pendingEvent: null,
+
+    /**
+     * The callback waiting for the next event.
+     */
+    _callback: null,
+
+    /**
+     * Wait for the next change of the game.  If the browser cannot keep a
+     * WebSocket open the callback is called after a delay instead, with no
+     * event, and should check the server itself.
+     *
+     * @param callback  the function called with the GameEvent object (or null)
+     * @param fallbackDelay  milliseconds to wait when no WebSocket is available
+     */
+    next: function (callback, fallbackDelay) {
+      if (!openSocket()) {
+        setTimeout(() => callback(null), fallbackDelay);
+        return;
+      }
+      if (GameEventUtils._pendingEvent !== null) {
+        const event = GameEventUtils._pendingEvent;
+        GameEventUtils._pendingEvent = null;
+        setTimeout(() => callback(event), 0);
+        return;
+      }
+      GameEventUtils._callback = { run: callback, fallbackDelay: fallbackDelay };
+    },
+
+    /**
+     * Forget any event received so far; called before asking the server
+     * directly, whose answer already reflects those events.
+     */
+    clear: function () {
+      GameEventUtils._pendingEvent = null;
+    }
+  };
+
+  //
+  // Private functions
+  //
+
+  /**
+   * Open the WebSocket to the server if it is not open yet.
+   *
+   * @return {boolean}  false if the browser cannot open a WebSocket
+   */
+  function openSocket() {
+    if (GameEventUtils._socket === false) {
+      return false;
+    }
+    if (GameEventUtils._socket !== null) {
+      return true;
+    }
+    const gameID = AjaxUtils.getGameID();
+    if (typeof WebSocket === 'undefined' || !LangUtils.exists(gameID)) {
+      return false;
+    }
+    const protocol = (window.location.protocol === 'https:') ? 'wss:' : 'ws:';
+    const token = encodeURIComponent(AjaxUtils.getEventsToken());
+    const socket = new WebSocket(`${protocol}//${window.location.host}/events?gameID=${gameID}&token=${token}`);
+    socket.onmessage = (message) => deliver(JSON.parse(message.data));
+    // once closed, fall back to checking the server on a timer
+    socket.onclose = () => {
+      GameEventUtils._socket = false;
+      const waiting = GameEventUtils._callback;
+      GameEventUtils._callback = null;
+      if (waiting !== null) {
+        setTimeout(() => waiting.run(null), waiting.fallbackDelay);
+      }
+    };
+    GameEventUtils._socket = socket;
+    return true;
+  }
+
+  /**
+   * Hand an event to the waiting callback, or keep it for the next one.
+   */
+  function deliver(event) {
+    const waiting = GameEventUtils._callback;
+    if (waiting === null) {
+      GameEventUtils._pendingEvent = event;
+    } else {
+      GameEventUtils._callback = null;
+      waiting.run(event);
+    }
+  }
+
+  // export the utility object
+  return GameEventUtils;
+});
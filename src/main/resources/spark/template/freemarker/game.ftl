@@ -8,6 +8,8 @@
   <script>
   window.gameData = {
     "gameID" : ${gameID!'null'},
+    "version" : ${(version?c)!'null'},
+    "eventsToken" : "${eventsToken!''}",
     "currentUser" : "${currentUser.getUsername()}",
     "viewMode" : "${viewMode}",
     "modeOptions" : ${modeOptionsAsJSON!'{}'},
@@ -75,9 +75,13 @@
     </ul>
 
     <h1> Previous Matches </h1>
+    <form action="/" method="GET">
+        <input type="text" name="replaySearch" value="${(replaySearch!'')?html}" placeholder="Player">
+        <input type=submit value="Search">
+    </form>
     <ul>
-        <#if replays??>
-            <#list replays as opponents, replay>
+        <#if replays?has_content>
+            <#list replays as opponents>
                 <li>
                     <form action = "/replay/game" method="POST">
                         <input type=submit name=replay-match value="${opponents}">
@@ -88,6 +92,9 @@
             <li> There are no replays to watch. </li>
         </#if>
     </ul>
+    <#if nextReplayCursor??>
+        <a href="/?replayCursor=${nextReplayCursor?c}&replaySearch=${(replaySearch!'')?url('UTF-8')}">Older matches</a>
+    </#if>
   </div>
 
 </div>
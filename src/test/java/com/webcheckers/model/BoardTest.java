@@ -102,4 +102,58 @@ class BoardTest {
         assertNotEquals(board, newBoard);
         assertNotEquals(board, newPosition);
     }
+
+    @Test
+    void squareOf() {
+        assertEquals(0, Board.squareOf(0, 0));
+        assertEquals(4, Board.squareOf(1, 1));
+        assertEquals(31, Board.squareOf(7, 7));
+        assertEquals(-1, Board.squareOf(1, 0));
+        assertEquals(-1, Board.squareOf(8, 0));
+        for (int square = 0; square < Board.SQUARES; square++) {
+            assertEquals(square, Board.squareOf(Board.cellOf(square), Board.rowOf(square)));
+        }
+    }
+
+    @Test
+    void removeJumpedPiece() {
+        Move jump = new Move(new Position(2, 2), new Position(4, 4));
+        assertEquals(Board.squareOf(3, 3), Board.jumpedSquare(jump));
+        assertNull(board.removeJumpedPiece(jump));
+        assertNull(board.removeJumpedPiece(new Move(new Position(2, 2), new Position(3, 3))));
+        Move over = new Move(new Position(0, 0), new Position(2, 2));
+        assertEquals(new Piece(Piece.PieceColor.RED), board.removeJumpedPiece(over));
+        assertTrue(board.spotEmpty(new Position(1, 1)));
+    }
+
+    @Test
+    void setKingThroughView() {
+        Position pos = new Position(0, 0);
+        board.getPieceAt(pos).setKing(true);
+        assertEquals(Piece.Type.KING, board.getPieceAt(pos).getType());
+        assertNotEquals(0, board.getKings());
+        Board copy = new Board();
+        copy.copyFrom(board);
+        assertEquals(board, copy);
+    }
+
+    @Test
+    void getHash() {
+        Board other = new Board();
+        assertEquals(other.getHash(), board.getHash());
+        assertEquals(other.hashCode(), board.hashCode());
+
+        board.updateBoard(new Move(new Position(2, 2), new Position(3, 3)), false);
+        assertNotEquals(other.getHash(), board.getHash());
+        board.updateBoard(new Move(new Position(2, 2), new Position(3, 3)), true);
+        assertEquals(other.getHash(), board.getHash());
+
+        board.getPieceAt(new Position(0, 0)).setKing(true);
+        assertNotEquals(other.getHash(), board.getHash());
+        board.getPieceAt(new Position(0, 0)).setKing(false);
+        assertEquals(other.getHash(), board.getHash());
+
+        assertNotEquals(board.getHash(), board.copyAndRotateBoard().getHash());
+        assertEquals(board.getHash(), board.copyAndRotateBoard().copyAndRotateBoard().getHash());
+    }
 }
@@ -0,0 +1,100 @@
+package com.webcheckers.model;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the MoveCodec and the packed Turn built on it.
+ */
+@Tag("Model-tier")
+class MoveCodecTest {
+
+    /**
+     * Every step and jump along a diagonal from a dark spot.
+     */
+    private static List<Move> everyHop() {
+        List<Move> hops = new ArrayList<>();
+        for (int square = 0; square < Board.SQUARES; square++) {
+            Position start = Position.of(Board.cellOf(square), Board.rowOf(square));
+            for (int distance = 1; distance <= 2; distance++) {
+                for (int dirRow = -1; dirRow <= 1; dirRow += 2) {
+                    for (int dirCell = -1; dirCell <= 1; dirCell += 2) {
+                        Position end = Position.of(start.getCell() + distance * dirCell,
+                                start.getRow() + distance * dirRow);
+                        if (Position.inBounds(end)) {
+                            hops.add(Move.of(start, end));
+                        }
+                    }
+                }
+            }
+        }
+        return hops;
+    }
+
+    @Test
+    void everyHopFitsInOneDistinctByte() {
+        Set<Byte> seen = new HashSet<>();
+        for (Move move : everyHop()) {
+            byte hop = MoveCodec.encode(move);
+            assertTrue(seen.add(hop), "two moves share a byte: " + move);
+            // decoding hands out the shared instance
+            assertSame(move, MoveCodec.decode(hop));
+        }
+        assertEquals(170, seen.size());
+    }
+
+    @Test
+    void encodeRejectsMovesThatAreNotHops() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveCodec.encode(new Move(new Position(2, 2), new Position(5, 5))));
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveCodec.encode(new Move(new Position(2, 2), new Position(2, 3))));
+        assertThrows(IllegalArgumentException.class,
+                () -> MoveCodec.encode(new Move(new Position(1, 2), new Position(2, 3))));
+    }
+
+    @Test
+    void decodeRejectsHopsOffTheBoard() {
+        // square 0 (cell 0, row 0) heading down and left
+        assertThrows(IllegalArgumentException.class, () -> MoveCodec.decode((byte) 0));
+    }
+
+    @Test
+    void listRoundTrip() {
+        List<Move> moves = Arrays.asList(
+                Move.of(Position.of(2, 2), Position.of(4, 4)),
+                Move.of(Position.of(4, 4), Position.of(6, 6)),
+                Move.of(Position.of(6, 6), Position.of(7, 7)));
+        byte[] hops = MoveCodec.encode(moves);
+        assertEquals(3, hops.length);
+        assertEquals(moves, MoveCodec.decode(hops));
+        assertTrue(MoveCodec.decode(new byte[0]).isEmpty());
+    }
+
+    @Test
+    void turnIsPacked() {
+        Turn turn = new Turn();
+        Move first = Move.of(Position.of(2, 2), Position.of(4, 4));
+        Move second = Move.of(Position.of(4, 4), Position.of(6, 6));
+        turn.addMove(first);
+        turn.addMove(second);
+        assertEquals(2, turn.getMoveCount());
+        assertArrayEquals(MoveCodec.encode(Arrays.asList(first, second)), turn.toBytes());
+
+        Turn copy = Turn.fromBytes(turn.toBytes());
+        assertSame(second, copy.getMove(1));
+        assertTrue(copy.removeMove(first));
+        assertFalse(copy.removeMove(first));
+        assertEquals(1, copy.getMoveCount());
+        assertSame(second, copy.getMove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> copy.getMove(1));
+    }
+}
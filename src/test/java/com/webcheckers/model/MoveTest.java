@@ -60,4 +60,23 @@ class MoveTest {
     void testToString() {
         assertEquals(move.toString(), "The piece was moved from " + originalPosition + " to " + newPosition);
     }
-}
\ No newline at end of file
+
+    @Test
+    void of() {
+        assertSame(Move.of(originalPosition, newPosition), Move.of(move));
+        assertEquals(move, Move.of(originalPosition, newPosition));
+        assertSame(move.invertMove(), move.invertMove());
+        assertSame(move.reverseMove().reverseMove(), Move.of(move));
+
+        // moves that are not a diagonal step or jump are not shared
+        Move longMove = Move.of(Position.of(0, 0), Position.of(5, 5));
+        assertEquals(new Move(new Position(0, 0), new Position(5, 5)), longMove);
+        assertSame(Position.of(0, 0), longMove.getStart());
+    }
+
+    @Test
+    void testHashCode() {
+        assertEquals(move.hashCode(), Move.of(move).hashCode());
+        assertNotEquals(move.hashCode(), move.reverseMove().hashCode());
+    }
+}
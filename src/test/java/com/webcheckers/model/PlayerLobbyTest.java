@@ -3,6 +3,8 @@ package com.webcheckers.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -138,4 +140,95 @@ class PlayerLobbyTest {
         //Try to remove player 1 if they aren't in the lobby anymore
         assertFalse(lobby.removePlayer(p1.getUsername()), "Correctly handled trying to remove non-existent player via username");
     }
+
+    /**
+     * Tests signing in, reserving a username until signing out
+     */
+    @Test
+    void sign_in_and_out() {
+        //A new player signs in and joins the lobby
+        Player player = lobby.signIn("player 3");
+        assertNotNull(player, "Signed in with a free username");
+        assertTrue(lobby.playerExists(player), "New player joined the lobby");
+        assertTrue(lobby.isSignedIn("player 3"), "Username is reserved");
+
+        //Nobody else can sign in with the username
+        assertNull(lobby.signIn("player 3"), "Username already taken");
+
+        //Leaving the lobby for a game keeps the username reserved
+        lobby.removePlayer(player);
+        assertTrue(lobby.isSignedIn("player 3"), "Username is still reserved");
+
+        //Signing out frees the username but keeps the player's record
+        lobby.signOut(player);
+        assertFalse(lobby.isSignedIn("player 3"), "Username is free");
+        assertSame(player, lobby.fetchKnownPlayer("player 3"), "Player is still known");
+
+        //Signing in again returns the same player, without joining the lobby yet
+        assertSame(player, lobby.signIn("player 3"), "Returning player keeps their record");
+        assertFalse(lobby.playerExists(player), "Returning player joins from the home page");
+    }
+
+    /**
+     * Tests registering players known from before without signing them in
+     */
+    @Test
+    void register_known_player() {
+        assertSame(p1, lobby.register(p1), "Player is registered");
+        assertSame(p1, lobby.register(new Player(p1.getUsername())), "First record is kept");
+        assertFalse(lobby.isSignedIn(p1.getUsername()), "Registered player is not signed in");
+        assertNull(lobby.fetchByUsername(p1.getUsername()), "Registered player is not in the lobby");
+        assertSame(p1, lobby.signIn(p1.getUsername()), "Registered player signs in with their record");
+        assertNull(lobby.fetchKnownPlayer("nobody"), "Unknown player is not found");
+    }
+
+    /**
+     * Tests signing out and forgetting the players that left
+     */
+    @Test
+    void sign_out_idle() {
+        Player player = lobby.signIn("player 3");
+        lobby.playerJoin(p1);
+        long now = System.currentTimeMillis();
+
+        //Nobody was idle before signing in
+        assertTrue(lobby.signOutIdle(now - 60_000).isEmpty(), "Nobody is idle");
+        assertTrue(lobby.isSignedIn("player 3"), "Player is still signed in");
+
+        //Everybody is idle later on
+        List<Player> idle = lobby.signOutIdle(now + 60_000);
+        assertEquals(2, idle.size(), "Both players are idle");
+        assertTrue(idle.contains(player), "Player is signed out");
+        assertFalse(lobby.isSignedIn("player 3"), "Username is free");
+        assertFalse(lobby.playerExists(p1), "Idle player left the lobby");
+        assertSame(player, lobby.fetchKnownPlayer("player 3"), "Player is still known");
+
+        //Players still in a game stay known
+        assertEquals(1, lobby.forgetSignedOut(p -> p.equals(p1)), "One player is forgotten");
+        assertNull(lobby.fetchKnownPlayer("player 3"), "Player is forgotten");
+        assertSame(p1, lobby.fetchKnownPlayer(p1.getUsername()), "Player in a game is kept");
+    }
+
+    /**
+     * Tests that a sign in only holds for who signed in, with the record they signed in with
+     */
+    @Test
+    void sign_in_owner() {
+        Player player = lobby.signIn("player 3", "session 1");
+        assertTrue(lobby.isSignedIn(player, "session 1"), "Owner is signed in");
+        assertFalse(lobby.isSignedIn(player, "session 2"), "Someone else is not signed in");
+
+        //The username is taken by someone else once freed
+        lobby.signOut(player);
+        lobby.forgetSignedOut(p -> false);
+        Player other = lobby.signIn("player 3", "session 2");
+        assertFalse(lobby.isSignedIn(player, "session 1"), "Old sign in no longer holds");
+        assertFalse(lobby.isSignedIn(player, "session 2"), "Old record is not signed in");
+        assertTrue(lobby.isSignedIn(other, "session 2"), "New owner is signed in");
+
+        //The old record does not join in place of the new one
+        assertFalse(lobby.playerJoin(player), "Old record does not join");
+        assertSame(other, lobby.fetchByUsername("player 3"), "New record stays in the lobby");
+        assertTrue(lobby.isSignedIn(other, "session 2"), "New owner is still signed in");
+    }
 }
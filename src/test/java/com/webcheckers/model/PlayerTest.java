@@ -43,4 +43,11 @@ class PlayerTest {
         assertEquals(copyPlayer, firstPlayer);
         assertEquals(firstPlayer, firstPlayer);
     }
+
+    @Test
+    void testHashCode() {
+        Player samePlayer = new Player(firstPlayer.getUsername());
+        assertEquals(firstPlayer, samePlayer);
+        assertEquals(firstPlayer.hashCode(), samePlayer.hashCode());
+    }
 }
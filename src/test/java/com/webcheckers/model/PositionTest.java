@@ -50,4 +50,20 @@ class PositionTest {
         assertEquals(validPosition, validPosition2);
         assertEquals(invalidPosition, invalidPosition2);
     }
-}
\ No newline at end of file
+
+    @Test
+    void of() {
+        assertSame(Position.of(2, 0), Position.of(2, 0));
+        assertSame(Position.of(2, 0), Position.of(validPosition));
+        assertEquals(validPosition, Position.of(2, 0));
+        assertEquals(invalidPosition, Position.of(9, 10));
+        assertSame(invalidPosition, Position.of(invalidPosition));
+    }
+
+    @Test
+    void testHashCode() {
+        assertEquals(validPosition.hashCode(), new Position(2, 0).hashCode());
+        assertEquals(invalidPosition.hashCode(), new Position(9, 10).hashCode());
+        assertNotEquals(Position.of(0, 1).hashCode(), Position.of(1, 0).hashCode());
+    }
+}
@@ -1,19 +1,91 @@
 package com.webcheckers.ui;
 
+import com.google.gson.Gson;
+import com.webcheckers.model.Player;
+import com.webcheckers.util.GameEvent;
+import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.GameSession;
+import com.webcheckers.util.Message;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import spark.*;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
+/**
+ * Test class to test UI Component CheckTurnRoute
+ */
 @Tag("UI-tier")
 class CheckTurnRouteTest {
 
+    private Request request;
+    private Session session;
+    private Response response;
+    private GameSession gameSession;
+    private final Gson gson = new Gson();
+
     @BeforeEach
     void setUp() {
+        request = mock(Request.class);
+        session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        response = mock(Response.class);
+
+        new GameHelper();
+        Player red = new Player("red");
+        Player white = new Player("white");
+        gameSession = GameHelper.addMatch(white, red);
+        when(session.attribute(GameRoute.GAME_ID_ATTR)).thenReturn(gameSession.getGameID());
+        when(session.attribute(GameRoute.GAME_SESSION_ATTR)).thenReturn(gameSession);
+        // red moves first, so white waits
+        when(session.attribute(GameRoute.CURRENT_USER_ATTR)).thenReturn(white);
+        when(request.queryParams("actionData")).thenReturn(CheckTurnRoute.LONG_POLL);
+    }
+
+    private Message check(CheckTurnRoute route) {
+        return gson.fromJson((String) route.handle(request, response), Message.class);
+    }
+
+    @Test
+    void answersAtOnceWhenNoLongPollIsLeft() {
+        CheckTurnRoute route = new CheckTurnRoute(mock(TemplateEngine.class), 0);
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertEquals(CheckTurnRoute.LATER, check(route).getText()));
+    }
+
+    @Test
+    void longPollsTakeHalfTheThreads() {
+        assertEquals(WebServer.DEFAULT_MAX_THREADS / 2, CheckTurnRoute.maxLongPollsFor(WebServer.DEFAULT_MAX_THREADS));
+        assertEquals(0, CheckTurnRoute.maxLongPollsFor(1));
     }
 
     @Test
-    void handle() {
+    void holdsUntilTheGameChanges() throws Exception {
+        CheckTurnRoute route = new CheckTurnRoute(mock(TemplateEngine.class), 1);
+        ExecutorService client = Executors.newSingleThreadExecutor();
+        try {
+            Future<Message> held = client.submit(() -> check(route));
+            Thread.sleep(100);
+            assertFalse(held.isDone());
+
+            GameHelper.markChanged(gameSession.getGameID(), GameEvent.Type.RESIGN);
+            assertNotNull(held.get(5, TimeUnit.SECONDS));
+            // the permit is given back
+            held = client.submit(() -> check(route));
+            Thread.sleep(100);
+            assertFalse(held.isDone());
+            GameHelper.markChanged(gameSession.getGameID(), GameEvent.Type.RESIGN);
+            assertNotNull(held.get(5, TimeUnit.SECONDS));
+        } finally {
+            client.shutdownNow();
+        }
     }
-}
\ No newline at end of file
+}
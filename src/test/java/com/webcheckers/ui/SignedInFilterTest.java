@@ -0,0 +1,94 @@
+package com.webcheckers.ui;
+
+import com.webcheckers.model.Player;
+import com.webcheckers.model.PlayerLobby;
+import com.webcheckers.util.GameHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test UI Component SignedInFilter
+ */
+@Tag("UI-tier")
+class SignedInFilterTest {
+
+    private SignedInFilter CuT;
+    private PlayerLobby lobby;
+    private Request request;
+    private Session session;
+    private Response response;
+
+    @BeforeEach
+    void setup() {
+        new GameHelper();
+        lobby = new PlayerLobby();
+        WebServer.lobby = lobby;
+
+        request = mock(Request.class);
+        session = mock(Session.class);
+        when(request.session(false)).thenReturn(session);
+        when(session.id()).thenReturn("first browser");
+        response = mock(Response.class);
+        CuT = new SignedInFilter();
+    }
+
+    /**
+     * Signs out and forgets players as the idle sweep does, once the
+     * session TTL has passed since they were last seen.
+     */
+    private void sweepIdle() {
+        lobby.signOutIdle(System.currentTimeMillis() + 1);
+        lobby.forgetSignedOut(GameHelper::isInGame);
+    }
+
+    @Test
+    void keepsSignedInPlayerSeen() {
+        Player player = lobby.signIn("ann", "first browser");
+        when(session.attribute(GameRoute.CURRENT_USER_ATTR)).thenReturn(player);
+
+        CuT.handle(request, response);
+        verify(session, never()).invalidate();
+        assertTrue(lobby.isSignedIn("ann"));
+    }
+
+    @Test
+    void staleSessionAfterUsernameIsTaken() {
+        Player stale = lobby.signIn("ann", "first browser");
+        when(session.attribute(GameRoute.CURRENT_USER_ATTR)).thenReturn(stale);
+        sweepIdle();
+        assertFalse(lobby.isSignedIn("ann"));
+
+        // someone else signs in with the username that was freed
+        Player newcomer = lobby.signIn("ann", "second browser");
+        assertNotNull(newcomer);
+
+        // the first browser comes back and is signed out, not given the newcomer's identity
+        CuT.handle(request, response);
+        verify(session).invalidate();
+        assertNotSame(stale, newcomer);
+        assertFalse(lobby.playerJoin(stale));
+        assertTrue(lobby.isSignedIn(newcomer, "second browser"));
+        assertSame(newcomer, lobby.fetchKnownPlayer("ann"));
+    }
+
+    @Test
+    void staleSessionOfAPlayerKeptForTheirGame() {
+        Player stale = lobby.signIn("ann", "first browser");
+        when(session.attribute(GameRoute.CURRENT_USER_ATTR)).thenReturn(stale);
+        GameHelper.addMatch(stale, lobby.signIn("bob"));
+        sweepIdle();
+
+        // the record is kept for the game, so the newcomer gets the same one
+        Player newcomer = lobby.signIn("ann", "second browser");
+        assertSame(stale, newcomer);
+
+        CuT.handle(request, response);
+        verify(session).invalidate();
+        assertTrue(lobby.isSignedIn(newcomer, "second browser"));
+    }
+}
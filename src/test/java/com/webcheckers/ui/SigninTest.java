@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import spark.*;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -255,4 +256,25 @@ class SigninTest {
 
     }
 
+    /**
+     * Tests that signing in sets how long the session lasts and who signed in
+     */
+    @Test
+    void sign_in_sets_session_timeout() {
+        WebServer.lobby = new PlayerLobby();
+        signInRoute = new SigninRoute(engine, 1800);
+        when(request.requestMethod()).thenReturn("POST");
+        when(request.queryParams("userName")).thenReturn(USERNAME_2);
+        when(session.id()).thenReturn("session 1");
+
+        try {
+            signInRoute.handle(request, response);
+        } catch(HaltException e) {
+            //Expected
+        }
+
+        verify(session).maxInactiveInterval(1800);
+        assertTrue(WebServer.lobby.isSignedIn(WebServer.lobby.fetchKnownPlayer(USERNAME_2), "session 1"));
+    }
+
 }
@@ -0,0 +1,71 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.model.Game;
+import com.webcheckers.model.Player;
+import com.webcheckers.util.GameEvent;
+import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.*;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test UI Component SpectateCheckTurnRoute
+ */
+@Tag("UI-tier")
+class SpectateCheckTurnRouteTest {
+
+    private SpectateCheckTurnRoute CuT;
+    private Request request;
+    private Session session;
+    private Response response;
+    private final Gson gson = new Gson();
+
+    @BeforeEach
+    void setup() {
+        request = mock(Request.class);
+        session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        response = mock(Response.class);
+        CuT = new SpectateCheckTurnRoute(mock(TemplateEngine.class));
+
+        new GameHelper();
+        GameHelper.startGame("0", new Game(new Player("red"), new Player("white")));
+        when(session.attribute(GetSpectatorGame.SPECTATE_GAME_ID)).thenReturn("0");
+    }
+
+    private Message check() throws Exception {
+        return gson.fromJson((String) CuT.handle(request, response), Message.class);
+    }
+
+    @Test
+    void unchangedWhileVersionIsSeen() throws Exception {
+        when(session.attribute(GetSpectatorGame.SPECTATE_VERSION_ATTR)).thenReturn(0L);
+        assertEquals("false", check().getText());
+        assertEquals("false", check().getText());
+    }
+
+    @Test
+    void changedAfterTurnOrResignation() throws Exception {
+        when(session.attribute(GetSpectatorGame.SPECTATE_VERSION_ATTR)).thenReturn(0L);
+        GameHelper.markChanged("0", GameEvent.Type.RESIGN);
+        assertEquals("true", check().getText());
+
+        when(session.attribute(GetSpectatorGame.SPECTATE_VERSION_ATTR)).thenReturn(1L);
+        assertEquals("false", check().getText());
+    }
+
+    @Test
+    void changedOnceGameIsTornDown() throws Exception {
+        when(session.attribute(GetSpectatorGame.SPECTATE_VERSION_ATTR)).thenReturn(0L);
+        GameHelper.clearGameData("0", new Player("white"), new Player("red"));
+        assertEquals("true", check().getText());
+    }
+}
@@ -0,0 +1,88 @@
+package com.webcheckers.ui;
+
+import com.google.gson.Gson;
+import com.webcheckers.model.*;
+import com.webcheckers.util.GameHelper;
+import com.webcheckers.util.Message;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import spark.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test UI Component SubmitWholeTurnRoute
+ */
+@Tag("UI-tier")
+class SubmitWholeTurnRouteTest {
+
+    private SubmitWholeTurnRoute CuT;
+    private Request request;
+    private Session session;
+    private Response response;
+    private Player red;
+    private Player white;
+    private final Gson gson = new Gson();
+
+    @BeforeEach
+    void setup() {
+        request = mock(Request.class);
+        session = mock(Session.class);
+        when(request.session()).thenReturn(session);
+        response = mock(Response.class);
+        CuT = new SubmitWholeTurnRoute(mock(TemplateEngine.class));
+
+        new GameHelper();
+        red = new Player("red");
+        white = new Player("white");
+        GameHelper.startGame("0", new Game(red, white));
+        when(request.queryParams(GameRoute.GAME_ID_ATTR)).thenReturn("0");
+        when(session.attribute("player")).thenReturn(red);
+    }
+
+    /**
+     * Submits a turn, given in board coordinates, as the red player sees it.
+     */
+    private Message submit(Move... moves) throws Exception {
+        Move[] shown = new Move[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            shown[i] = moves[i].invertMove();
+        }
+        when(request.queryParams("actionData")).thenReturn(gson.toJson(shown));
+        return gson.fromJson((String) CuT.handle(request, response), Message.class);
+    }
+
+    @Test
+    void legalTurnIsCommitted() throws Exception {
+        Message message = submit(Move.of(Position.of(2, 2), Position.of(3, 3)));
+        assertEquals(Message.Type.INFO, message.getType());
+
+        Board live = GameHelper.fetchBoard("0").getLive();
+        assertEquals(Piece.PieceColor.RED, live.getColorAt(Position.of(3, 3)));
+        assertNull(live.getColorAt(Position.of(2, 2)));
+        assertEquals(1, GameHelper.fetchSession("0").getVersion());
+        assertEquals(Piece.PieceColor.WHITE, GameHelper.fetchGame("0").getActiveColor());
+        assertEquals(0, GameHelper.numberOfMoves("0"));
+        verify(session).attribute(GameRoute.ACTIVE_COLOR_ATTR, Piece.PieceColor.WHITE);
+    }
+
+    @Test
+    void illegalTurnLeavesTheGameUntouched() throws Exception {
+        Message message = submit(Move.of(Position.of(2, 2), Position.of(4, 4)));
+        assertEquals(Message.Type.ERROR, message.getType());
+        assertEquals(0, GameHelper.fetchSession("0").getVersion());
+        assertEquals(Piece.PieceColor.RED, GameHelper.fetchBoard("0").getLive().getColorAt(Position.of(2, 2)));
+
+        assertEquals(Message.Type.ERROR, submit().getType());
+    }
+
+    @Test
+    void onlyTheActivePlayerMayPlay() throws Exception {
+        when(session.attribute("player")).thenReturn(white);
+        Message message = submit(Move.of(Position.of(2, 2), Position.of(3, 3)));
+        assertEquals(Message.Type.ERROR, message.getType());
+        assertEquals(0, GameHelper.fetchSession("0").getVersion());
+    }
+}
@@ -0,0 +1,187 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the GameJournal and the games GameHelper restores from it.
+ */
+@Tag("Application-tier")
+class GameJournalTest {
+
+    private static final String REPLAY_KEY = "white challenged by red";
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private static Turn turnOf(Move... moves) {
+        Turn turn = new Turn();
+        for (Move move : moves) {
+            turn.addMove(move);
+        }
+        return turn;
+    }
+
+    private void recordGames() throws IOException {
+        try (GameJournal journal = GameJournal.open(directory)) {
+            journal.recordStart("3", "red", "white");
+            journal.recordTurn("3", turnOf(Move.of(Position.of(2, 2), Position.of(3, 3))));
+            journal.recordStart("4", "ann", "bob");
+            journal.recordResignation("4", "bob");
+            journal.recordStart("5", "red2", "white2");
+            journal.recordTurn("5", turnOf(Move.of(Position.of(0, 2), Position.of(1, 3))));
+            journal.recordEnd("5", REPLAY_KEY);
+        }
+    }
+
+    @Test
+    void recoversGamesAndReplays() throws IOException {
+        recordGames();
+        // opening twice also recovers from a compacted snapshot
+        for (int i = 0; i < 2; i++) {
+            try (GameJournal journal = GameJournal.open(directory)) {
+                assertEquals(2, journal.getActiveGames().size());
+                GameJournal.GameRecord game = journal.getActiveGames().get("3");
+                assertEquals("red", game.getRedPlayer());
+                assertEquals("white", game.getWhitePlayer());
+                assertEquals(1, game.getTurns().size());
+                assertEquals(Move.of(Position.of(2, 2), Position.of(3, 3)), game.getTurns().get(0).getMove(0));
+                assertNull(game.getResignedPlayer());
+                assertEquals("bob", journal.getActiveGames().get("4").getResignedPlayer());
+
+                List<Turn> replay = journal.getReplays().get(REPLAY_KEY);
+                assertEquals(1, replay.size());
+                assertEquals(Move.of(Position.of(0, 2), Position.of(1, 3)), replay.get(0).getMove(0));
+            }
+        }
+    }
+
+    @Test
+    void archivedReplaysLeaveTheSnapshot() throws IOException {
+        recordGames();
+        try (GameJournal journal = GameJournal.open(directory, (replayKey, turns) -> true)) {
+            assertTrue(journal.getReplays().isEmpty());
+            assertEquals(2, journal.getActiveGames().size());
+        }
+        // the compacted snapshot holds the active games only
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertTrue(journal.getReplays().isEmpty());
+            assertEquals(2, journal.getActiveGames().size());
+        }
+    }
+
+    @Test
+    void tornTailIsIgnored() throws IOException {
+        recordGames();
+        try (OutputStream out = Files.newOutputStream(directory.resolve(GameJournal.JOURNAL_FILE),
+                StandardOpenOption.APPEND)) {
+            // a frame announcing 40 bytes, cut short by a crash
+            out.write(new byte[] {0, 0, 0, 40, 2, 0, 1});
+        }
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertEquals(2, journal.getActiveGames().size());
+            assertEquals(1, journal.getReplays().size());
+        }
+    }
+
+    @Test
+    void concurrentRecordsAreAllKept() throws Exception {
+        try (GameJournal journal = GameJournal.open(directory)) {
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            for (int g = 0; g < 8; g++) {
+                String gameID = String.valueOf(g);
+                pool.execute(() -> {
+                    journal.recordStart(gameID, "red" + gameID, "white" + gameID);
+                    for (int t = 0; t < 50; t++) {
+                        journal.recordTurn(gameID, turnOf(Move.of(Position.of(2, 2), Position.of(3, 3))));
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        }
+        try (GameJournal journal = GameJournal.open(directory)) {
+            assertEquals(8, journal.getActiveGames().size());
+            for (GameJournal.GameRecord game : journal.getActiveGames().values()) {
+                assertEquals(50, game.getTurns().size());
+            }
+        }
+    }
+
+    @Test
+    void failedWriteDisablesTheJournal() throws IOException {
+        new GameHelper();
+        GameJournal journal = GameJournal.open(directory);
+        GameHelper.recover(journal);
+        GameSession session = GameHelper.addMatch(new Player("white"), new Player("red"));
+        assertFalse(journal.isFailed());
+
+        // the disk goes away: the turn is still played, and nothing is recorded from then on
+        journal.close();
+        Move move = Move.of(Position.of(2, 2), Position.of(3, 3));
+        session.getBoardDraft().updateDraft(move, false);
+        session.pushMove(move);
+        GameHelper.commitTurn(session);
+        assertTrue(journal.isFailed());
+        assertEquals(1, session.getVersion());
+        assertEquals(Piece.PieceColor.WHITE, session.getGame().getActiveColor());
+
+        GameHelper.resign(session, session.getWhitePlayer());
+        assertTrue(session.getGame().isOver());
+    }
+
+    @Test
+    void gameHelperRestoresTheGames() throws IOException {
+        recordGames();
+        new GameHelper();
+        try (GameJournal journal = GameJournal.open(directory)) {
+            List<Player> players = GameHelper.recover(journal);
+            assertEquals(4, players.size());
+
+            Board live = GameHelper.fetchBoard("3").getLive();
+            assertEquals(Piece.PieceColor.RED, live.getColorAt(Position.of(3, 3)));
+            assertEquals(Piece.PieceColor.WHITE, GameHelper.fetchGame("3").getActiveColor());
+            assertTrue(GameHelper.fetchGame("4").isOver());
+            assertNotNull(GameHelper.getReplay(REPLAY_KEY));
+
+            Player red = players.get(0);
+            assertEquals(3, GameHelper.getGameID(red));
+            assertEquals(red, GameHelper.fetchCompetitor(players.get(1)));
+            assertEquals(-1, GameHelper.getGameID(new Player("new")));
+            // new games never reuse a restored ID
+            GameSession created = GameHelper.addMatch(new Player("new"), new Player("other"));
+            assertTrue(Integer.parseInt(created.getGameID()) > 4);
+            // what was read is not held once the games are restored
+            assertTrue(journal.getActiveGames().isEmpty());
+            assertTrue(journal.getReplays().isEmpty());
+        }
+    }
+}
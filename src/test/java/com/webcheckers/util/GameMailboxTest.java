@@ -0,0 +1,76 @@
+package com.webcheckers.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the per-game command queue GameMailbox.
+ */
+@Tag("Application-tier")
+class GameMailboxTest {
+
+    private ExecutorService pool;
+    private GameMailbox mailbox;
+
+    @BeforeEach
+    void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        mailbox = new GameMailbox(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void returnsResult() {
+        assertEquals("done", mailbox.call(() -> "done"));
+    }
+
+    @Test
+    void commandsNeverOverlap() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        int[] counter = {0};
+        ExecutorService senders = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 500; i++) {
+            senders.execute(() -> mailbox.call(() -> {
+                if (running.incrementAndGet() != 1) {
+                    overlaps.incrementAndGet();
+                }
+                // unsynchronized on purpose: only safe if commands run one at a time
+                counter[0]++;
+                running.decrementAndGet();
+                return null;
+            }));
+        }
+        senders.shutdown();
+        assertTrue(senders.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+        assertEquals(500, counter[0]);
+    }
+
+    @Test
+    void nestedCallRunsInline() {
+        assertEquals(Integer.valueOf(2), mailbox.call(() -> mailbox.call(() -> 1) + 1));
+    }
+
+    @Test
+    void rethrowsRuntimeException() {
+        assertThrows(IllegalArgumentException.class, () -> mailbox.call(() -> {
+            throw new IllegalArgumentException();
+        }));
+        // the mailbox keeps working after a failed command
+        assertEquals("ok", mailbox.call(() -> "ok"));
+    }
+}
@@ -0,0 +1,271 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.*;
+import com.webcheckers.view.BoardView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the GameRegistry and the GameSession it holds.
+ */
+@Tag("Model-tier")
+class GameRegistryTest {
+
+    private GameRegistry registry;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        registry = new GameRegistry();
+        game = new Game(new Player("red"), new Player("white"));
+    }
+
+    @Test
+    void createAndFetch() {
+        assertNull(registry.fetch("0"));
+        assertNull(registry.fetch(null));
+        GameSession session = registry.create("0", game, new BoardDraft());
+        assertSame(session, registry.fetch("0"));
+        assertSame(game, session.getGame());
+        assertTrue(session.getMoves().isEmpty());
+        assertEquals(1, registry.fetchAll().size());
+    }
+
+    @Test
+    void remove() {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        assertSame(session, registry.remove("0"));
+        assertNull(registry.fetch("0"));
+        assertNull(registry.remove("0"));
+        assertNull(registry.remove(null));
+    }
+
+    @Test
+    void removeClosesSession() {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        assertFalse(session.isClosed());
+        registry.remove("0");
+        assertTrue(session.isClosed());
+
+        GameSession replaced = registry.create("1", game, new BoardDraft());
+        registry.create("1", game, new BoardDraft());
+        assertTrue(replaced.isClosed());
+        assertFalse(registry.fetch("1").isClosed());
+    }
+
+    @Test
+    void players() {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        Player red = new Player("red");
+        Player white = new Player("white");
+        assertEquals(red, session.getRedPlayer());
+        assertEquals(white, session.getWhitePlayer());
+        assertEquals(white, session.getOpponent(red));
+        assertEquals(red, session.getOpponent(white));
+        assertNull(session.getOpponent(new Player("other")));
+    }
+
+    @Test
+    void moveStackAndTurnLog() {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        Move move = Move.of(Position.of(2, 2), Position.of(3, 3));
+        assertNull(session.popMove());
+        session.pushMove(move);
+        assertSame(move, session.peekMove());
+        assertEquals(1, session.numberOfMoves());
+
+        session.storeMoves();
+        session.turnOver();
+        assertEquals(0, session.numberOfMoves());
+        assertEquals(1, session.getTurns().size());
+        assertEquals(move, session.getTurns().get(0).getMove(0));
+    }
+
+    @Test
+    void nextGameIDIsUniqueAcrossThreads() throws InterruptedException {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            pool.execute(() -> ids.add(registry.nextGameID()));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1000, ids.size());
+    }
+
+    @Test
+    void awaitChange() throws InterruptedException {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        long seen = session.getVersion();
+        assertFalse(session.awaitChange(seen, 10));
+
+        Thread submitter = new Thread(() -> {
+            session.storeMoves();
+            session.turnOver();
+        });
+        submitter.start();
+        assertTrue(session.awaitChange(seen, 5000));
+        assertEquals(seen + 1, session.getVersion());
+        submitter.join();
+
+        // a change made before the wait starts is not missed
+        session.markChanged(GameEvent.Type.RESIGN, Collections.emptyList());
+        assertTrue(session.awaitChange(seen + 1, 0));
+    }
+
+    @Test
+    void subscribersArePushedEveryChange() {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        List<String> received = new ArrayList<>();
+        Consumer<String> subscriber = received::add;
+        session.subscribe(subscriber);
+        session.subscribe(event -> {
+            throw new IllegalStateException("connection closed");
+        });
+
+        session.pushMove(Move.of(Position.of(2, 2), Position.of(3, 3)));
+        session.storeMoves();
+        session.turnOver();
+        session.markChanged(GameEvent.Type.RESIGN, Collections.emptyList());
+        assertEquals(2, received.size());
+        assertTrue(received.get(0).contains("\"type\":\"TURN\""));
+        assertTrue(received.get(0).contains("\"version\":1"));
+        assertTrue(received.get(1).contains("\"type\":\"RESIGN\""));
+
+        session.unsubscribe(subscriber);
+        session.markChanged(GameEvent.Type.GAME_OVER, Collections.emptyList());
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    void subscribersNeedTheTokenAndAreLetGoOnceTornDown() {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        List<String> received = new ArrayList<>();
+        List<String> closed = new ArrayList<>();
+        assertFalse(session.subscribe(received::add, null, () -> closed.add("no token")));
+        assertFalse(session.subscribe(received::add, "guess", () -> closed.add("wrong token")));
+        assertNotEquals(session.getEventsToken(), registry.create("1", game, new BoardDraft()).getEventsToken());
+
+        assertTrue(session.subscribe(received::add, session.getEventsToken(), () -> closed.add("subscriber")));
+        session.markChanged(GameEvent.Type.TURN, Collections.emptyList());
+        assertEquals(1, received.size());
+        assertTrue(closed.isEmpty());
+
+        // the end of the game is pushed, then the subscriber is let go
+        registry.remove("0");
+        assertEquals(2, received.size());
+        assertTrue(received.get(1).contains("\"type\":\"GAME_OVER\""));
+        assertEquals(Collections.singletonList("subscriber"), closed);
+        session.markChanged(GameEvent.Type.GAME_OVER, Collections.emptyList());
+        assertEquals(2, received.size());
+        assertFalse(session.subscribe(received::add, session.getEventsToken(), () -> { }));
+    }
+
+    @Test
+    void readsDoNotWaitOnTheMailbox() throws InterruptedException {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        playTurn(session, Move.of(Position.of(2, 2), Position.of(3, 3)));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread command = new Thread(() -> session.execute(() -> {
+            running.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        }));
+        command.start();
+        try {
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            // the mailbox is busy, yet the game is read as of its last change
+            assertEquals(1, session.getVersion());
+            assertNotNull(session.getBoardView(true, false));
+            assertEquals(2, session.getBoardDelta(0, false).getSquares().size());
+            assertEquals(1, session.getTurns().size());
+            assertFalse(session.awaitChange(1, 0));
+        } finally {
+            release.countDown();
+            command.join();
+        }
+    }
+
+    @Test
+    void boardViewIsSharedUntilTheBoardChanges() {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        BoardView live = session.getBoardView(true, false);
+        assertSame(live, session.getBoardView(true, false));
+        assertNotSame(live, session.getBoardView(false, false));
+
+        BoardView draft = session.getBoardView(false, true);
+        session.getBoardDraft().updateDraft(Move.of(Position.of(2, 2), Position.of(3, 3)), false);
+        assertNotSame(draft, session.getBoardView(false, true));
+        assertSame(live, session.getBoardView(true, false));
+
+        session.getBoardDraft().hardBoardUpdate(false);
+        session.storeMoves();
+        session.turnOver();
+        assertNotSame(live, session.getBoardView(true, false));
+    }
+
+    /**
+     * Plays a turn of one move on the boards and commits it.
+     */
+    private void playTurn(GameSession session, Move move) {
+        session.getBoardDraft().updateDraft(move, false);
+        session.getBoardDraft().getDraft().removeJumpedPiece(move);
+        session.getBoardDraft().hardBoardUpdate(false);
+        session.pushMove(move);
+        session.storeMoves();
+        session.turnOver();
+    }
+
+    @Test
+    void boardDeltaListsTheSquaresOfMissedTurns() {
+        GameSession session = registry.create("0", game, new BoardDraft());
+        BoardDelta unchanged = session.getBoardDelta(0, false);
+        assertTrue(unchanged.isComplete());
+        assertTrue(unchanged.getSquares().isEmpty());
+        assertFalse(session.getBoardDelta(1, false).isComplete());
+        assertFalse(session.getBoardDelta(-1, false).isComplete());
+
+        playTurn(session, Move.of(Position.of(2, 2), Position.of(3, 3)));
+        BoardDelta delta = session.getBoardDelta(0, false);
+        assertEquals(1, delta.getVersion());
+        assertEquals(2, delta.getSquares().size());
+        BoardDelta.Square from = delta.getSquares().get(0);
+        BoardDelta.Square to = delta.getSquares().get(1);
+        assertEquals(2, from.getRow());
+        assertEquals(2, from.getCell());
+        assertNull(from.getColor());
+        assertEquals(3, to.getRow());
+        assertEquals(3, to.getCell());
+        assertEquals(Piece.PieceColor.RED, to.getColor());
+        assertEquals(Piece.Type.SINGLE, to.getType());
+
+        // the red player sees the board turned around
+        BoardDelta.Square rotated = session.getBoardDelta(0, true).getSquares().get(1);
+        assertEquals(4, rotated.getRow());
+        assertEquals(4, rotated.getCell());
+
+        // a jump lists the captured square too, and only missed turns are listed
+        playTurn(session, Move.of(Position.of(5, 5), Position.of(4, 4)));
+        playTurn(session, Move.of(Position.of(3, 3), Position.of(5, 5)));
+        BoardDelta jump = session.getBoardDelta(2, false);
+        assertEquals(3, jump.getSquares().size());
+        BoardDelta.Square captured = jump.getSquares().get(2);
+        assertEquals(4, captured.getRow());
+        assertNull(captured.getColor());
+        assertEquals(4, session.getBoardDelta(0, false).getSquares().size());
+    }
+}
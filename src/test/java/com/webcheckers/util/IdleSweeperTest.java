@@ -0,0 +1,120 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Player;
+import com.webcheckers.model.PlayerLobby;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the IdleSweeper ending idle games and signing out idle players.
+ */
+@Tag("Model-tier")
+class IdleSweeperTest {
+
+    private static final long GAME_TTL = 60_000;
+    private static final long SESSION_TTL = 30_000;
+
+    private PlayerLobby lobby;
+    private IdleSweeper sweeper;
+    private Player red;
+    private Player white;
+
+    @BeforeEach
+    void setUp() {
+        new GameHelper();
+        lobby = new PlayerLobby();
+        sweeper = new IdleSweeper(lobby, GAME_TTL, SESSION_TTL);
+        red = lobby.signIn("red");
+        white = lobby.signIn("white");
+        red.inMatch = true;
+        white.inMatch = true;
+    }
+
+    @Test
+    void keepsActiveGamesAndPlayers() {
+        GameSession session = GameHelper.addMatch(white, red);
+        sweeper.sweep(System.currentTimeMillis());
+        assertFalse(session.isClosed());
+        assertTrue(lobby.isSignedIn("red"));
+        assertEquals(0, sweeper.getGamesReaped());
+        assertEquals(0, sweeper.getPlayersSignedOut());
+    }
+
+    @Test
+    void endsIdleGames() {
+        GameSession session = GameHelper.addMatch(white, red);
+        sweeper.sweep(session.getLastActivity() + GAME_TTL + 1);
+
+        assertTrue(session.isClosed());
+        assertEquals(red, session.getGame().getResignedPlayer());
+        assertFalse(GameHelper.isInGame(red));
+        assertFalse(GameHelper.isInGame(white));
+        assertFalse(red.inMatch);
+        assertEquals(1, sweeper.getGamesReaped());
+        // both players were idle as long as their game
+        assertEquals(2, sweeper.getPlayersSignedOut());
+        assertNull(lobby.fetchKnownPlayer("red"));
+    }
+
+    @Test
+    void keepsAGamePlayedWhileItIsEnded() throws InterruptedException {
+        GameSession session = GameHelper.addMatch(white, red);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // holds the mailbox so the sweep waits behind it
+        Thread busy = new Thread(() -> session.execute(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        }));
+        busy.start();
+        started.await();
+        long idleSince = session.getLastActivity() + 1;
+        while (System.currentTimeMillis() < idleSince) {
+            Thread.sleep(1);
+        }
+
+        AtomicInteger reaped = new AtomicInteger(-1);
+        Thread reaper = new Thread(() -> reaped.set(GameHelper.reapIdleGames(idleSince)));
+        reaper.start();
+        while (reaper.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        // a move is sent after the game was found idle
+        Thread move = new Thread(() -> session.execute(() -> null));
+        move.start();
+        while (session.getLastActivity() < idleSince) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        reaper.join();
+        move.join();
+        busy.join();
+
+        assertEquals(0, reaped.get());
+        assertFalse(session.isClosed());
+        assertTrue(GameHelper.isInGame(red));
+        assertTrue(red.inMatch);
+        assertTrue(white.inMatch);
+    }
+
+    @Test
+    void signsOutIdlePlayers() {
+        GameSession session = GameHelper.addMatch(white, red);
+        sweeper.sweep(System.currentTimeMillis() + SESSION_TTL + 1);
+
+        assertFalse(session.isClosed());
+        assertFalse(lobby.isSignedIn("red"));
+        assertFalse(lobby.isSignedIn("white"));
+        // still in their game, so they can sign in again to come back to it
+        assertSame(red, lobby.fetchKnownPlayer("red"));
+        assertEquals(0, sweeper.getGamesReaped());
+        assertEquals(2, sweeper.getPlayersSignedOut());
+    }
+}
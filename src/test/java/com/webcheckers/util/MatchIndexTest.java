@@ -0,0 +1,66 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.Piece;
+import com.webcheckers.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the lookups of the MatchIndex from either player.
+ */
+@Tag("Model-tier")
+class MatchIndexTest {
+
+    private MatchIndex index;
+    private Player red;
+    private Player white;
+
+    @BeforeEach
+    void setUp() {
+        index = new MatchIndex();
+        red = new Player("red");
+        white = new Player("white");
+        index.add(white, red, 7);
+    }
+
+    @Test
+    void indexesBothPlayers() {
+        MatchIndex.Match challenger = index.get(red);
+        assertEquals(white, challenger.getOpponent());
+        assertEquals(MatchIndex.Role.CHALLENGER, challenger.getRole());
+        assertEquals(Piece.PieceColor.RED, challenger.getColor());
+        assertEquals(7, challenger.getGameID());
+
+        MatchIndex.Match challenged = index.get(new Player("white"));
+        assertEquals(red, challenged.getOpponent());
+        assertEquals(MatchIndex.Role.CHALLENGED, challenged.getRole());
+        assertEquals(Piece.PieceColor.WHITE, challenged.getColor());
+        assertEquals(7, challenged.getGameID());
+
+        assertEquals(red, index.matches().get(white));
+        assertNull(index.get(new Player("nobody")));
+        assertNull(index.get(null));
+    }
+
+    @Test
+    void removesBothPlayers() {
+        assertEquals(MatchIndex.Role.CHALLENGED, index.remove(white).getRole());
+        assertNull(index.get(red));
+        assertNull(index.get(white));
+        assertTrue(index.matches().isEmpty());
+        assertNull(index.remove(red));
+    }
+
+    @Test
+    void replacesEarlierMatch() {
+        Player other = new Player("other");
+        index.add(other, white, 8);
+        assertNull(index.get(red));
+        assertEquals(MatchIndex.Role.CHALLENGER, index.get(white).getRole());
+        assertEquals(8, index.get(other).getGameID());
+        assertEquals(1, index.matches().size());
+    }
+}
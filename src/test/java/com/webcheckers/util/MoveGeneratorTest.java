@@ -0,0 +1,130 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.webcheckers.model.Piece.PieceColor.RED;
+import static com.webcheckers.model.Piece.PieceColor.WHITE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the rules engine component MoveGenerator.
+ */
+@Tag("Model-tier")
+class MoveGeneratorTest {
+
+    private Board board;
+    private Board empty;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board();
+        empty = new Board();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                empty.getPosition(new Position(col, row)).moveFrom();
+            }
+        }
+    }
+
+    /**
+     * Places a piece on the empty fixture board.
+     */
+    private void place(int cell, int row, Piece.PieceColor color, boolean king) {
+        Piece piece = new Piece(color);
+        piece.setKing(king);
+        empty.getPosition(new Position(cell, row)).moveTo(piece);
+    }
+
+    private Move move(int startCell, int startRow, int endCell, int endRow) {
+        return new Move(new Position(startCell, startRow), new Position(endCell, endRow));
+    }
+
+    @Test
+    void openingMoves() {
+        LegalMoves red = MoveGenerator.generate(board, RED);
+        LegalMoves white = MoveGenerator.generate(board, WHITE);
+        assertEquals(7, red.size());
+        assertEquals(7, white.size());
+        assertFalse(red.isCaptureRequired());
+        assertNull(red.findCapture());
+        assertTrue(red.isComplete(Collections.singletonList(move(2, 2, 3, 3))));
+        assertFalse(red.isPrefix(Collections.singletonList(move(2, 2, 2, 3))));
+        assertTrue(white.isComplete(Collections.singletonList(move(1, 5, 0, 4))));
+        assertFalse(white.isPrefix(Collections.singletonList(move(1, 5, 2, 6))));
+    }
+
+    @Test
+    void forcedMultiJump() {
+        place(2, 2, RED, false);
+        place(6, 0, RED, false);
+        place(3, 3, WHITE, false);
+        place(5, 5, WHITE, false);
+        LegalMoves red = MoveGenerator.generate(empty, RED);
+        assertTrue(red.isCaptureRequired());
+        assertEquals(1, red.size());
+        assertEquals(new Position(2, 2), red.findCapture());
+        assertEquals(Arrays.asList(move(2, 2, 4, 4), move(4, 4, 6, 6)), red.getTurn(0));
+        assertTrue(red.isPrefix(Collections.singletonList(move(2, 2, 4, 4))));
+        assertFalse(red.isComplete(Collections.singletonList(move(2, 2, 4, 4))));
+        assertTrue(red.isComplete(Arrays.asList(move(2, 2, 4, 4), move(4, 4, 6, 6))));
+        assertFalse(red.isPrefix(Collections.singletonList(move(6, 0, 7, 1))));
+    }
+
+    @Test
+    void singleCannotJumpBackward() {
+        place(4, 4, RED, false);
+        place(3, 3, WHITE, false);
+        LegalMoves red = MoveGenerator.generate(empty, RED);
+        assertFalse(red.isCaptureRequired());
+        assertEquals(2, red.size());
+    }
+
+    @Test
+    void kingJumpsInEveryDirection() {
+        place(4, 4, RED, true);
+        place(3, 3, WHITE, false);
+        place(3, 5, WHITE, false);
+        LegalMoves red = MoveGenerator.generate(empty, RED);
+        assertTrue(red.isCaptureRequired());
+        assertEquals(2, red.size());
+        assertTrue(red.isComplete(Collections.singletonList(move(4, 4, 2, 2))));
+        assertTrue(red.isComplete(Collections.singletonList(move(4, 4, 2, 6))));
+    }
+
+    @Test
+    void jumpedPieceCannotBeJumpedTwice() {
+        place(2, 2, RED, true);
+        place(3, 3, WHITE, false);
+        LegalMoves red = MoveGenerator.generate(empty, RED);
+        assertEquals(1, red.size());
+        assertEquals(1, red.getTurn(0).size());
+    }
+
+    @Test
+    void noMoves() {
+        place(0, 0, RED, false);
+        place(1, 1, WHITE, false);
+        place(2, 2, WHITE, false);
+        assertEquals(0, MoveGenerator.generate(empty, RED).size());
+    }
+
+    @Test
+    void branchingChainsShareAPrefix() {
+        place(2, 2, RED, false);
+        place(3, 3, WHITE, false);
+        place(3, 5, WHITE, false);
+        place(5, 5, WHITE, false);
+        LegalMoves red = MoveGenerator.generate(empty, RED);
+        assertEquals(2, red.size());
+        assertTrue(red.isPrefix(Collections.singletonList(move(2, 2, 4, 4))));
+        assertTrue(red.isComplete(Arrays.asList(move(2, 2, 4, 4), move(4, 4, 2, 6))));
+        assertTrue(red.isComplete(Arrays.asList(move(2, 2, 4, 4), move(4, 4, 6, 6))));
+        assertFalse(red.isPrefix(Arrays.asList(move(2, 2, 4, 4), move(2, 2, 4, 4))));
+    }
+}
@@ -0,0 +1,176 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the memory-mapped ReplayArchive.
+ */
+@Tag("Application-tier")
+class ReplayArchiveTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("archive");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private static List<Turn> turnsOf(Move... moves) {
+        List<Turn> turns = new ArrayList<>();
+        for (Move move : moves) {
+            Turn turn = new Turn();
+            turn.addMove(move);
+            turns.add(turn);
+        }
+        return turns;
+    }
+
+    private static final List<Turn> OPENING = turnsOf(
+            Move.of(Position.of(2, 2), Position.of(3, 3)),
+            Move.of(Position.of(5, 5), Position.of(4, 4)));
+    private static final List<Turn> OTHER = turnsOf(
+            Move.of(Position.of(0, 2), Position.of(1, 3)));
+
+    @Test
+    void readsBackWhatWasAppended() throws IOException {
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertTrue(archive.keys().isEmpty());
+            archive.append("a", new ReplayRecord(OPENING));
+            archive.append("b", new ReplayRecord(OTHER));
+
+            ReplayRecord a = archive.read("a");
+            assertTrue(a.hasTurns(OPENING));
+            assertTrue(archive.read("b").hasTurns(OTHER));
+            assertNull(archive.read("c"));
+            // boards are played from the moves in the mapped segment
+            assertEquals(Piece.PieceColor.WHITE, colorAt(a.getBoard(2), 4, 4));
+        }
+    }
+
+    private static Piece.PieceColor colorAt(Board board, int cell, int row) {
+        return board.getPieceAt(Position.of(cell, row)).getColor();
+    }
+
+    @Test
+    void reopensFromTheIndex() throws IOException {
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            archive.append("a", new ReplayRecord(OPENING));
+            archive.append("b", new ReplayRecord(OTHER));
+            archive.append("a", new ReplayRecord(OTHER));
+        }
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertEquals(Arrays.asList("a", "b"), archive.keys());
+            // the later entry of a key replaces the earlier one
+            assertTrue(archive.read("a").hasTurns(OTHER));
+            assertTrue(archive.contains("b"));
+        }
+    }
+
+    @Test
+    void dropsAnEntryTornByACrash() throws IOException {
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            archive.append("a", new ReplayRecord(OPENING));
+        }
+        try (OutputStream out = Files.newOutputStream(directory.resolve(ReplayArchive.INDEX_FILE),
+                StandardOpenOption.APPEND)) {
+            out.write(new byte[] {0, 1, 'b', 0, 0});
+        }
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertEquals(Arrays.asList("a"), archive.keys());
+            archive.append("c", new ReplayRecord(OTHER));
+        }
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertEquals(Arrays.asList("a", "c"), archive.keys());
+            assertTrue(archive.read("c").hasTurns(OTHER));
+        }
+    }
+
+    @Test
+    void dropsAnEntryPointingPastTheSegment() throws IOException {
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            archive.append("a", new ReplayRecord(OPENING));
+            archive.append("b", new ReplayRecord(OTHER));
+        }
+        // the segment lost the last game, as if the disk never wrote it
+        Path segment = directory.resolve(ReplayArchive.SEGMENT_FILE);
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 1));
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertEquals(Arrays.asList("a"), archive.keys());
+            assertTrue(archive.read("a").hasTurns(OPENING));
+        }
+    }
+
+    @Test
+    void findsGamesThroughTheTableAsItGrows() throws IOException {
+        int games = ReplayArchive.FIRST_SLOTS;
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            for (int i = 0; i < games; i++) {
+                archive.append("game " + i, new ReplayRecord(i % 2 == 0 ? OPENING : OTHER));
+            }
+            assertEquals(games, archive.size());
+            assertTrue(archive.read("game 7").hasTurns(OTHER));
+        }
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertEquals(games, archive.size());
+            assertEquals(games, archive.keys().size());
+            for (int i = 0; i < games; i++) {
+                assertTrue(archive.read("game " + i).hasTurns(i % 2 == 0 ? OPENING : OTHER));
+            }
+            assertFalse(archive.contains("game " + games));
+        }
+    }
+
+    @Test
+    void makesAMissingTableAgainFromTheIndex() throws IOException {
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            archive.append("a", new ReplayRecord(OPENING));
+            archive.append("b", new ReplayRecord(OTHER));
+            archive.append("a", new ReplayRecord(OTHER));
+        }
+        Files.delete(directory.resolve(ReplayArchive.TABLE_FILE));
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertEquals(Arrays.asList("a", "b"), archive.keys());
+            assertEquals(2, archive.size());
+            assertTrue(archive.read("a").hasTurns(OTHER));
+        }
+    }
+
+    @Test
+    void rejectsAKeyTooLongForTheIndex() throws IOException {
+        char[] name = new char[ReplayArchive.MAX_KEY_BYTES + 1];
+        Arrays.fill(name, 'x');
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> archive.append(new String(name), new ReplayRecord(OPENING)));
+            archive.append("a", new ReplayRecord(OPENING));
+        }
+        try (ReplayArchive archive = ReplayArchive.open(directory)) {
+            assertEquals(Arrays.asList("a"), archive.keys());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.webcheckers.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the paging and search of the ReplayCatalogue.
+ */
+@Tag("Model-tier")
+class ReplayCatalogueTest {
+
+    private ReplayCatalogue catalogue;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = new ReplayCatalogue();
+        catalogue.add(ReplayCatalogue.keyOf("ann", "bob"));
+        catalogue.add(ReplayCatalogue.keyOf("carl", "ann"));
+        catalogue.add(ReplayCatalogue.keyOf("bob", "dave"));
+        catalogue.add(ReplayCatalogue.keyOf("anna", "carl"));
+        catalogue.add(ReplayCatalogue.keyOf("dave", "carl"));
+    }
+
+    private static List<String> keysOf(ReplayCatalogue.Page page) {
+        List<String> keys = new ArrayList<>();
+        for (ReplayCatalogue.Entry entry : page.getEntries()) {
+            keys.add(entry.getReplayKey());
+        }
+        return keys;
+    }
+
+    @Test
+    void pagesThroughTheNewestFirst() {
+        ReplayCatalogue.Page first = catalogue.latest(ReplayCatalogue.FIRST_PAGE, 2);
+        assertEquals(Arrays.asList("dave challenged by carl", "anna challenged by carl"), keysOf(first));
+        assertTrue(first.hasNext());
+
+        ReplayCatalogue.Page second = catalogue.latest(first.getNextCursor(), 2);
+        assertEquals(Arrays.asList("bob challenged by dave", "carl challenged by ann"), keysOf(second));
+
+        ReplayCatalogue.Page last = catalogue.latest(second.getNextCursor(), 2);
+        assertEquals(Arrays.asList("ann challenged by bob"), keysOf(last));
+        assertFalse(last.hasNext());
+        assertEquals(ReplayCatalogue.NO_MORE_PAGES, last.getNextCursor());
+    }
+
+    @Test
+    void indexesBothPlayers() {
+        assertEquals(Arrays.asList("carl challenged by ann", "ann challenged by bob"),
+                keysOf(catalogue.gamesOf("ann", ReplayCatalogue.FIRST_PAGE, 10)));
+        assertEquals(3, catalogue.gamesOf("carl", ReplayCatalogue.FIRST_PAGE, 10).getEntries().size());
+        assertTrue(catalogue.gamesOf("eve", ReplayCatalogue.FIRST_PAGE, 10).getEntries().isEmpty());
+
+        assertTrue(catalogue.hasGameBetween("bob", "ann"));
+        assertTrue(catalogue.hasGameBetween("ann", "bob"));
+        assertFalse(catalogue.hasGameBetween("ann", "dave"));
+    }
+
+    @Test
+    void searchesByTheStartOfAUsername() {
+        // "ann" and "anna" match; the game between ann and carl is listed once
+        ReplayCatalogue.Page page = catalogue.search("an", ReplayCatalogue.FIRST_PAGE, 2);
+        assertEquals(Arrays.asList("anna challenged by carl", "carl challenged by ann"), keysOf(page));
+        assertEquals(Arrays.asList("ann challenged by bob"), keysOf(catalogue.search("an", page.getNextCursor(), 2)));
+
+        assertEquals(5, catalogue.search("", ReplayCatalogue.FIRST_PAGE, 10).getEntries().size());
+        assertTrue(catalogue.search("z", ReplayCatalogue.FIRST_PAGE, 10).getEntries().isEmpty());
+    }
+
+    @Test
+    void searchPagesThroughManyMatchingPlayers() {
+        catalogue = new ReplayCatalogue();
+        for (int i = 0; i < 500; i++) {
+            catalogue.add(ReplayCatalogue.keyOf("player" + i, "zed"));
+        }
+        catalogue.add(ReplayCatalogue.keyOf("quinn", "zed"));
+
+        ReplayCatalogue.Page page = catalogue.search("p", ReplayCatalogue.FIRST_PAGE, 10);
+        assertEquals(Arrays.asList("player499 challenged by zed", "player498 challenged by zed"),
+                keysOf(page).subList(0, 2));
+        int found = page.getEntries().size();
+        while (page.hasNext()) {
+            page = catalogue.search("p", page.getNextCursor(), 10);
+            assertTrue(page.getEntries().size() == 10 || !page.hasNext());
+            found += page.getEntries().size();
+        }
+        assertEquals(500, found);
+        assertEquals(501, catalogue.search("z", ReplayCatalogue.FIRST_PAGE, 1000).getEntries().size());
+
+        // past the indexed prefix, a page looks at MAX_SCANNED replays at most
+        catalogue.add(ReplayCatalogue.keyOf("player12345", "zed"));
+        for (int i = 0; i < ReplayCatalogue.MAX_SCANNED; i++) {
+            catalogue.add(ReplayCatalogue.keyOf("player120" + i, "zed"));
+        }
+        page = catalogue.search("player12345", ReplayCatalogue.FIRST_PAGE, 10);
+        List<String> keys = new ArrayList<>(keysOf(page));
+        int pages = 1;
+        while (page.hasNext()) {
+            page = catalogue.search("player12345", page.getNextCursor(), 10);
+            keys.addAll(keysOf(page));
+            pages++;
+        }
+        assertEquals(Arrays.asList("player12345 challenged by zed"), keys);
+        assertTrue(pages > 1);
+    }
+
+    @Test
+    void replacingAReplayMakesItTheNewest() {
+        catalogue.add(ReplayCatalogue.keyOf("ann", "bob"));
+        assertEquals(5, catalogue.size());
+        assertEquals(Arrays.asList("ann challenged by bob"),
+                keysOf(catalogue.latest(ReplayCatalogue.FIRST_PAGE, 1)));
+        assertEquals(Arrays.asList("ann challenged by bob", "bob challenged by dave"),
+                keysOf(catalogue.gamesOf("bob", ReplayCatalogue.FIRST_PAGE, 10)));
+
+        catalogue.remove(ReplayCatalogue.keyOf("bob", "dave"));
+        assertFalse(catalogue.contains("bob challenged by dave"));
+        assertEquals(Arrays.asList("ann challenged by bob"),
+                keysOf(catalogue.gamesOf("bob", ReplayCatalogue.FIRST_PAGE, 10)));
+    }
+}
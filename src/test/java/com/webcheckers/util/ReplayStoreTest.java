@@ -0,0 +1,199 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the bounded ReplayStore and the ReplayArchive behind it.
+ */
+@Tag("Application-tier")
+class ReplayStoreTest {
+
+    private Path directory;
+    private ReplayRecord first;
+    private ReplayRecord second;
+    private ReplayRecord third;
+    private ReplayArchive archive;
+    private ReplayStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("replays");
+        first = recordOf(Move.of(Position.of(2, 2), Position.of(3, 3)));
+        second = recordOf(Move.of(Position.of(0, 2), Position.of(1, 3)));
+        third = recordOf(Move.of(Position.of(4, 2), Position.of(5, 3)));
+        // room for two of the records
+        archive = ReplayArchive.open(directory);
+        store = new ReplayStore(2 * first.estimateBytes(), archive);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        archive.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    private static ReplayRecord recordOf(Move move) {
+        Turn turn = new Turn();
+        turn.addMove(move);
+        List<Turn> turns = new ArrayList<>();
+        turns.add(turn);
+        return new ReplayRecord(turns);
+    }
+
+    private static void assertSameTurns(ReplayRecord expected, ReplayRecord actual) {
+        assertEquals(expected.getTurnCount(), actual.getTurnCount());
+        for (int t = 1; t <= expected.getTurnCount(); t++) {
+            assertArrayEquals(expected.getTurn(t).toBytes(), actual.getTurn(t).toBytes());
+        }
+    }
+
+    @Test
+    void staysWithinBudget() {
+        store.put("a", first);
+        store.put("b", second);
+        assertEquals(0, store.getEvictions());
+        // archived as soon as they are kept
+        assertEquals(Arrays.asList("a", "b"), archive.keys());
+
+        store.put("c", third);
+        assertEquals(1, store.getEvictions());
+        assertTrue(store.getResidentBytes() <= 2 * first.estimateBytes());
+        assertEquals(3, store.size());
+        assertEquals(Arrays.asList("a", "b", "c"), store.keys());
+        assertTrue(store.contains("a"));
+        assertNull(store.get("d"));
+    }
+
+    @Test
+    void readsBackArchivedReplays() {
+        store.put("a", first);
+        store.put("b", second);
+        store.put("c", third);
+
+        assertSame(third, store.get("c"));
+        assertEquals(1, store.getHits());
+        assertEquals(0, store.getMisses());
+
+        ReplayRecord readBack = store.get("a");
+        assertNotSame(first, readBack);
+        assertSameTurns(first, readBack);
+        assertEquals(1, store.getMisses());
+        // reading it back pushed out the least recently watched replay
+        assertEquals(2, store.getEvictions());
+        assertSame(third, store.get("c"));
+        assertEquals(2, store.getHits());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyWatched() {
+        store.put("a", first);
+        store.put("b", second);
+        store.get("a");
+        store.put("c", third);
+
+        assertSame(first, store.get("a"));
+        assertSame(third, store.get("c"));
+        assertEquals(0, store.getMisses());
+        assertSameTurns(second, store.get("b"));
+        assertEquals(1, store.getMisses());
+    }
+
+    @Test
+    void replacingAReplayReadsBackTheNewOne() {
+        store.put("a", first);
+        store.put("b", second);
+        store.put("c", third);
+        store.put("a", second);
+
+        assertSameTurns(second, store.get("a"));
+        assertEquals(Arrays.asList("a", "b", "c"), store.keys());
+    }
+
+    @Test
+    void keepsEvictingPastAReplayThatCannotBeArchived() {
+        char[] name = new char[ReplayArchive.MAX_KEY_BYTES + 1];
+        Arrays.fill(name, 'x');
+        String unarchivable = new String(name);
+        store.put(unarchivable, first);
+        store.put("b", second);
+        store.put("c", third);
+
+        // the replay that cannot be archived stays, the archived one behind it is dropped
+        assertEquals(1, store.getEvictions());
+        assertSame(first, store.get(unarchivable));
+        assertSameTurns(second, store.get("b"));
+        assertEquals(1, store.getMisses());
+        assertEquals(Arrays.asList("b", "c", unarchivable), store.keys());
+    }
+
+    @Test
+    void viewersShareOneReadBack() throws Exception {
+        store.put("a", first);
+        store.put("b", second);
+        store.put("c", third);
+
+        ExecutorService viewers = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<ReplayRecord>> watched = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                watched.add(viewers.submit(() -> {
+                    start.await();
+                    return store.get("a");
+                }));
+            }
+            start.countDown();
+            ReplayRecord readBack = watched.get(0).get(10, TimeUnit.SECONDS);
+            assertSameTurns(first, readBack);
+            for (Future<ReplayRecord> viewer : watched) {
+                assertSame(readBack, viewer.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, store.getMisses());
+        } finally {
+            viewers.shutdownNow();
+        }
+    }
+
+    @Test
+    void startsWithTheGamesOfTheArchive() throws IOException {
+        store.put("a", first);
+        store.put("b", second);
+        archive.close();
+
+        archive = ReplayArchive.open(directory);
+        store = new ReplayStore(2 * first.estimateBytes(), archive);
+        assertEquals(Arrays.asList("a", "b"), store.keys());
+        assertEquals(0, store.getResidentBytes());
+        assertSameTurns(second, store.get("b"));
+        assertEquals(1, store.getMisses());
+
+        assertTrue(store.isPersisted("b", second.getTurns()));
+        assertFalse(store.isPersisted("b", first.getTurns()));
+        assertFalse(store.isPersisted("c", third.getTurns()));
+        ReplayStore memoryOnly = new ReplayStore(2 * first.estimateBytes());
+        memoryOnly.put("a", first);
+        assertFalse(memoryOnly.isPersisted("a", first.getTurns()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.webcheckers.util;
+
+import com.webcheckers.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.webcheckers.model.Piece.PieceColor.RED;
+import static com.webcheckers.model.Piece.PieceColor.WHITE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class to test the shared ReplayRecord and the Replay cursors on it.
+ */
+@Tag("Model-tier")
+class ReplayTest {
+
+    private ReplayRecord record;
+    private Replay replay;
+    // boards.get(t): board after turn t of the fixture game
+    private List<Board> boards;
+
+    /**
+     * Plays a game of legal turns, picking a different turn each time,
+     * and keeps the board after every turn.
+     */
+    @BeforeEach
+    void setUp() {
+        List<Turn> turns = new ArrayList<>();
+        boards = new ArrayList<>();
+        Board board = new Board();
+        boards.add(copy(board));
+        Piece.PieceColor color = RED;
+        for (int t = 0; t < 60; t++) {
+            LegalMoves legalMoves = MoveGenerator.generate(board, color);
+            if (legalMoves.size() == 0) {
+                break;
+            }
+            Turn turn = new Turn();
+            for (Move move : legalMoves.getTurn((t * 7) % legalMoves.size())) {
+                turn.addMove(move);
+            }
+            board.playTurn(turn);
+            turns.add(turn);
+            boards.add(copy(board));
+            color = color == RED ? WHITE : RED;
+        }
+        record = new ReplayRecord(turns);
+        replay = new Replay(record);
+    }
+
+    private static Board copy(Board board) {
+        Board copy = new Board();
+        copy.copyFrom(board);
+        return copy;
+    }
+
+    @Test
+    void fixtureSpansSeveralKeyframes() {
+        assertTrue(replay.getTurnCount() > 2 * ReplayRecord.KEYFRAME_INTERVAL);
+        assertEquals(boards.size() - 1, replay.getTurnCount());
+    }
+
+    @Test
+    void steppingMatchesTheGame() {
+        for (int t = 1; t < boards.size(); t++) {
+            assertTrue(replay.takeTurnNext());
+            assertEquals(boards.get(t), replay.getBoard());
+        }
+        assertTrue(replay.reachedEnd());
+        assertFalse(replay.takeTurnNext());
+        assertEquals(boards.size() - 1, replay.getReplayIndex());
+
+        for (int t = boards.size() - 2; t >= 0; t--) {
+            assertTrue(replay.takeTurnPrevious());
+            assertEquals(boards.get(t), replay.getBoard());
+        }
+        assertTrue(replay.atStart());
+        assertFalse(replay.takeTurnPrevious());
+    }
+
+    @Test
+    void seekRestoresAnyTurn() {
+        // backwards, so every seek moves away from the previous one
+        for (int t = boards.size() - 1; t >= 0; t--) {
+            assertTrue(replay.seek(t));
+            assertEquals(t, replay.getReplayIndex());
+            assertEquals(boards.get(t), replay.getBoard());
+        }
+        assertFalse(replay.seek(-1));
+        assertFalse(replay.seek(boards.size()));
+        assertTrue(replay.atStart());
+    }
+
+    @Test
+    void viewersShareBoardsAndKeepTheirOwnPosition() {
+        Replay viewer = new Replay(record);
+        int last = record.getTurnCount();
+        assertTrue(viewer.seek(last));
+        assertEquals(boards.get(last), viewer.getBoard());
+        assertTrue(replay.atStart());
+        assertEquals(new Board(), replay.getBoard());
+
+        // the second viewer to reach a turn is handed the board kept for the first
+        assertTrue(replay.seek(last));
+        assertSame(viewer.getBoard(), replay.getBoard());
+        assertSame(record.getBoard(3), record.getBoard(3));
+        assertNull(record.getBoard(last + 1));
+
+        viewer.resetReplay();
+        assertTrue(viewer.atStart());
+        assertTrue(replay.reachedEnd());
+    }
+}
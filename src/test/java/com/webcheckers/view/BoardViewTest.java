@@ -1,6 +1,9 @@
 package com.webcheckers.view;
 
+import com.webcheckers.model.Board;
+import com.webcheckers.model.Move;
 import com.webcheckers.model.Piece;
+import com.webcheckers.model.Position;
 import com.webcheckers.model.Spot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
@@ -57,4 +60,49 @@ class BoardViewTest {
         assertNotEquals(row3, iterator.next());
         assertEquals(row3, iterator.next());
     }
-}
\ No newline at end of file
+
+    /**
+     * Lists the piece colors (or "-") and kings of a view, row by row.
+     */
+    private String describe(BoardView view) {
+        StringBuilder text = new StringBuilder();
+        for (Iterator<Row> rows = view.iterator(); rows.hasNext(); ) {
+            Row row = rows.next();
+            for (Iterator<Space> spaces = row.iterator(); spaces.hasNext(); ) {
+                Space space = spaces.next();
+                Piece piece = space.getPiece();
+                text.append(space.getIndex())
+                        .append(piece == null ? "-" : piece.getColor() + ":" + piece.getType())
+                        .append(space.isValid() ? "v" : "")
+                        .append(' ');
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    @Test
+    void ofRotatesByIndex() {
+        Board board = new Board();
+        board.updateBoard(new Move(new Position(2, 2), new Position(3, 3)), false);
+        board.getPieceAt(new Position(0, 0)).setKing(true);
+
+        // turning the board by index matches building from a rotated copy
+        Board rotated = board.copyAndRotateBoard();
+        assertEquals(describe(BoardView.of(rotated, false, true)),
+                describe(BoardView.of(board, true, true)));
+        assertEquals(describe(BoardView.of(rotated, false, false)),
+                describe(BoardView.of(board, true, false)));
+        assertNotEquals(describe(BoardView.of(board, false, true)),
+                describe(BoardView.of(board, true, true)));
+    }
+
+    @Test
+    void ofDetachesPieces() {
+        Board board = new Board();
+        BoardView view = BoardView.of(board, false, false);
+        Piece piece = view.iterator().next().iterator().next().getPiece();
+        piece.setKing(true);
+        assertEquals(Piece.Type.SINGLE, board.getPieceAt(new Position(0, 0)).getType());
+    }
+}